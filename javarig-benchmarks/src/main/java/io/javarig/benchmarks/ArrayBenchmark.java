@@ -0,0 +1,53 @@
+package io.javarig.benchmarks;
+
+import io.javarig.RandomInstanceGenerator;
+import io.javarig.config.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * generation of primitive and object arrays
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ArrayBenchmark {
+    /**
+     * binary names of the array classes, as accepted by Class.forName
+     */
+    @Param({"[I", "[J", "[D", "[Z", "[B", "[C", "[Ljava.lang.Integer;", "[Ljava.lang.String;"})
+    private String arrayType;
+    @Param({"10", "1000"})
+    private int size;
+
+    private Class<?> arrayClass;
+    private RandomInstanceGenerator randomInstanceGenerator;
+
+    @Setup
+    public void setUp() throws ClassNotFoundException {
+        arrayClass = Class.forName(arrayType);
+        randomInstanceGenerator = new RandomInstanceGenerator(Configuration.builder()
+                .minSizeInclusive(size)
+                .maxSizeExclusive(size + 1)
+                .build());
+    }
+
+    @Benchmark
+    public Object generate() {
+        return randomInstanceGenerator.generate(arrayClass);
+    }
+}
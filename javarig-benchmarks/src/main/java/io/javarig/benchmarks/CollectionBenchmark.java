@@ -0,0 +1,53 @@
+package io.javarig.benchmarks;
+
+import io.javarig.ParameterizedTypeImpl;
+import io.javarig.RandomInstanceGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * generation of collections and maps of several sizes, the size is set with withSize on every generation
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CollectionBenchmark {
+    @Param({"java.util.List", "java.util.Set", "java.util.LinkedHashSet", "java.util.TreeSet", "java.util.Map", "java.util.TreeMap"})
+    private String collectionType;
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private Type type;
+    private RandomInstanceGenerator randomInstanceGenerator;
+
+    @Setup
+    public void setUp() throws ClassNotFoundException {
+        Class<?> collectionClass = Class.forName(collectionType);
+        Type[] typeArguments = Map.class.isAssignableFrom(collectionClass)
+                ? new Type[]{Integer.class, String.class}
+                : new Type[]{Integer.class};
+        type = new ParameterizedTypeImpl(typeArguments, collectionClass);
+        randomInstanceGenerator = new RandomInstanceGenerator();
+    }
+
+    @Benchmark
+    public Object generate() {
+        return randomInstanceGenerator.withSize(size).generate(type);
+    }
+}
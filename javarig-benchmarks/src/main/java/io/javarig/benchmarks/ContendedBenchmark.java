@@ -0,0 +1,62 @@
+package io.javarig.benchmarks;
+
+import io.javarig.RandomInstanceGenerator;
+import io.javarig.benchmarks.model.Order;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * a single generator shared by as many threads as there are cores, the throughput should grow linearly with the
+ * threads (compare with -t 1)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(Threads.MAX)
+@State(Scope.Benchmark)
+public class ContendedBenchmark {
+    private RandomInstanceGenerator randomInstanceGenerator;
+
+    @Setup
+    public void setUp() {
+        randomInstanceGenerator = new RandomInstanceGenerator();
+    }
+
+    @Benchmark
+    public String generateString() {
+        return randomInstanceGenerator.generate(String.class);
+    }
+
+    @Benchmark
+    public Order generateNestedObject() {
+        return randomInstanceGenerator.generate(Order.class);
+    }
+
+    @Benchmark
+    public String generateStringWithOneTimeSize() {
+        return randomInstanceGenerator.withSize(8).generate(String.class);
+    }
+
+    /**
+     * the bulk generation runs on the common pool, on top of the benchmark threads
+     */
+    @Benchmark
+    @Threads(1)
+    public List<Order> generateMany() {
+        return randomInstanceGenerator.generateMany(Order.class, 1000);
+    }
+}
@@ -0,0 +1,68 @@
+package io.javarig.benchmarks;
+
+import io.javarig.RandomInstanceGenerator;
+import io.javarig.benchmarks.model.Customer;
+import io.javarig.config.DelimitedFormat;
+import io.javarig.config.DelimitedWriterConfig;
+import io.javarig.sink.DelimitedWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * a million rows of a flat type written as PostgreSQL COPY text, by one worker or sharded across several
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DelimitedBenchmark {
+    private static final long ROWS = 1_000_000;
+
+    @Param({"1", "4"})
+    private int workers;
+
+    private DelimitedWriter writer;
+    private Path directory;
+
+    @Setup
+    public void setUp() throws IOException {
+        writer = new DelimitedWriter(new RandomInstanceGenerator(), DelimitedWriterConfig.builder()
+                .format(DelimitedFormat.POSTGRES_COPY)
+                .workers(workers)
+                .build());
+        directory = Files.createTempDirectory("javarig-delimited");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (var files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    @Benchmark
+    public List<Path> writeCustomers() throws IOException {
+        return writer.write(Customer.class, ROWS, directory.resolve("customers.copy"));
+    }
+}
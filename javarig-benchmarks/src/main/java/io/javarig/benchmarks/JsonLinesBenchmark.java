@@ -0,0 +1,61 @@
+package io.javarig.benchmarks;
+
+import io.javarig.RandomInstanceGenerator;
+import io.javarig.benchmarks.model.Order;
+import io.javarig.config.Configuration;
+import io.javarig.sink.JsonLinesWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON Lines records of an object graph written by the sink, without creating the objects. compare with
+ * ObjectGraphBenchmark.generateNestedObject, that only creates them
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class JsonLinesBenchmark {
+    /**
+     * the size of the nested collections and maps
+     */
+    @Param({"5", "50"})
+    private int size;
+
+    private JsonLinesWriter writer;
+
+    @Setup
+    public void setUp() {
+        RandomInstanceGenerator randomInstanceGenerator = new RandomInstanceGenerator(Configuration.builder()
+                .minSizeInclusive(size)
+                .maxSizeExclusive(size + 1)
+                .build());
+        writer = new JsonLinesWriter(randomInstanceGenerator, OutputStream.nullOutputStream());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        writer.close();
+    }
+
+    @Benchmark
+    public void writeNestedObject() throws IOException {
+        writer.write(Order.class);
+    }
+}
@@ -0,0 +1,67 @@
+package io.javarig.benchmarks;
+
+import io.javarig.ParameterizedTypeImpl;
+import io.javarig.RandomInstanceGenerator;
+import io.javarig.benchmarks.model.Customer;
+import io.javarig.benchmarks.model.Order;
+import io.javarig.benchmarks.model.OrderLine;
+import io.javarig.benchmarks.model.Page;
+import io.javarig.config.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Type;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * generation of objects by the reflective ObjectGenerator : a flat object, a nested object graph and a generic object
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ObjectGraphBenchmark {
+    private static final Type PAGE_OF_ORDER_LINES = new ParameterizedTypeImpl(new Type[]{OrderLine.class}, Page.class);
+
+    /**
+     * the size of the nested collections and maps
+     */
+    @Param({"5", "50"})
+    private int size;
+
+    private RandomInstanceGenerator randomInstanceGenerator;
+
+    @Setup
+    public void setUp() {
+        randomInstanceGenerator = new RandomInstanceGenerator(Configuration.builder()
+                .minSizeInclusive(size)
+                .maxSizeExclusive(size + 1)
+                .build());
+    }
+
+    @Benchmark
+    public Customer generateFlatObject() {
+        return randomInstanceGenerator.generate(Customer.class);
+    }
+
+    @Benchmark
+    public Order generateNestedObject() {
+        return randomInstanceGenerator.generate(Order.class);
+    }
+
+    @Benchmark
+    public Page<OrderLine> generateGenericObject() {
+        return randomInstanceGenerator.generate(PAGE_OF_ORDER_LINES);
+    }
+}
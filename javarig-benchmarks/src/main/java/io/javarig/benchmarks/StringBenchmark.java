@@ -0,0 +1,63 @@
+package io.javarig.benchmarks;
+
+import io.javarig.RandomInstanceGenerator;
+import io.javarig.config.Configuration;
+import io.javarig.config.DefaultConfigValues;
+import io.javarig.config.RegexEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * string generation with the default and custom regexes, on both regex engines
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StringBenchmark {
+    /**
+     * "default" stands for the default regex pattern, the others are a character class sequence,
+     * a pattern with alternatives and a pattern with an unbounded repetition
+     */
+    @Param({"default", "[a-z]{16}", "[A-Z][a-z]{3,8}@[a-z]{2,6}\\.(com|org|net)", "(ab|cd)*e"})
+    private String regexPattern;
+    @Param({"GENEREX", "UNIFORM"})
+    private RegexEngine regexEngine;
+
+    private RandomInstanceGenerator randomInstanceGenerator;
+
+    @Setup
+    public void setUp() {
+        String pattern = regexPattern.equals("default") ? DefaultConfigValues.DEFAULT_REGEX_PATTERN : regexPattern;
+        randomInstanceGenerator = new RandomInstanceGenerator(Configuration.builder()
+                .regexPattern(pattern)
+                .regexEngine(regexEngine)
+                .build());
+    }
+
+    @Benchmark
+    public String generate() {
+        return randomInstanceGenerator.generate(String.class);
+    }
+
+    /**
+     * a one time regex pattern, as set by withRegexPattern for a single generation
+     */
+    @Benchmark
+    public String generateWithOneTimeRegexPattern() {
+        return randomInstanceGenerator.withRegexPattern("[0-9]{4}-[0-9]{2}").generate(String.class);
+    }
+}
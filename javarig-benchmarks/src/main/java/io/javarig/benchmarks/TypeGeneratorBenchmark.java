@@ -0,0 +1,46 @@
+package io.javarig.benchmarks;
+
+import io.javarig.RandomInstanceGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * generation of the leaf types : primitives, strings with the default regex, time types and enums
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TypeGeneratorBenchmark {
+    @Param({"java.lang.Integer", "java.lang.Long", "java.lang.Short", "java.lang.Byte", "java.lang.Double",
+            "java.lang.Float", "java.lang.Boolean", "java.lang.Character", "java.lang.String",
+            "java.time.Instant", "java.util.Date", "java.time.LocalDate", "io.javarig.benchmarks.model.Color"})
+    private String type;
+
+    private Class<?> typeClass;
+    private RandomInstanceGenerator randomInstanceGenerator;
+
+    @Setup
+    public void setUp() throws ClassNotFoundException {
+        typeClass = Class.forName(type);
+        randomInstanceGenerator = new RandomInstanceGenerator();
+    }
+
+    @Benchmark
+    public Object generate() {
+        return randomInstanceGenerator.generate(typeClass);
+    }
+}
@@ -0,0 +1,5 @@
+package io.javarig.benchmarks.model;
+
+public enum Color {
+    RED, GREEN, BLUE, CYAN, MAGENTA, YELLOW, BLACK, WHITE
+}
@@ -0,0 +1,34 @@
+package io.javarig.benchmarks.model;
+
+import java.time.LocalDate;
+
+/**
+ * a flat object, only having leaf fields
+ */
+public class Customer {
+    private String name;
+    private String email;
+    private Integer age;
+    private LocalDate birthDate;
+    private boolean active;
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public void setAge(Integer age) {
+        this.age = age;
+    }
+
+    public void setBirthDate(LocalDate birthDate) {
+        this.birthDate = birthDate;
+    }
+
+    public void setActive(boolean active) {
+        this.active = active;
+    }
+}
@@ -0,0 +1,41 @@
+package io.javarig.benchmarks.model;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * a nested object graph : a nested object, a list of objects, a map and an enum
+ */
+public class Order {
+    private Long id;
+    private Instant createdAt;
+    private Color color;
+    private Customer customer;
+    private List<OrderLine> lines;
+    private Map<String, String> attributes;
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public void setColor(Color color) {
+        this.color = color;
+    }
+
+    public void setCustomer(Customer customer) {
+        this.customer = customer;
+    }
+
+    public void setLines(List<OrderLine> lines) {
+        this.lines = lines;
+    }
+
+    public void setAttributes(Map<String, String> attributes) {
+        this.attributes = attributes;
+    }
+}
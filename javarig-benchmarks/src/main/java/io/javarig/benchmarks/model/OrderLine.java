@@ -0,0 +1,19 @@
+package io.javarig.benchmarks.model;
+
+public class OrderLine {
+    private String product;
+    private int quantity;
+    private Double price;
+
+    public void setProduct(String product) {
+        this.product = product;
+    }
+
+    public void setQuantity(int quantity) {
+        this.quantity = quantity;
+    }
+
+    public void setPrice(Double price) {
+        this.price = price;
+    }
+}
@@ -0,0 +1,24 @@
+package io.javarig.benchmarks.model;
+
+import java.util.List;
+
+/**
+ * a generic object, its field types are resolved from the type arguments
+ */
+public class Page<T> {
+    private List<T> items;
+    private T first;
+    private int number;
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public void setFirst(T first) {
+        this.first = first;
+    }
+
+    public void setNumber(int number) {
+        this.number = number;
+    }
+}
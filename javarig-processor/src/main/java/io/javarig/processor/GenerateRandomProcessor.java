@@ -0,0 +1,198 @@
+package io.javarig.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * emits, for every class annotated with io.javarig.annotation.GenerateRandom, a generator implementing
+ * io.javarig.spi.CompiledGenerator that creates the object with {@code new} and calls every setter directly.
+ * the emitted generators are registered in META-INF/services, so javaRIG picks them up instead of its reflective generator.
+ * <p>
+ * setters are discovered the same way the reflective generator does : public methods named setXxx having a field xxx
+ * (declared or inherited), the field type is the type of the generated value
+ */
+@SupportedAnnotationTypes(GenerateRandomProcessor.GENERATE_RANDOM_ANNOTATION)
+public class GenerateRandomProcessor extends AbstractProcessor {
+    static final String GENERATE_RANDOM_ANNOTATION = "io.javarig.annotation.GenerateRandom";
+    static final String COMPILED_GENERATOR_INTERFACE = "io.javarig.spi.CompiledGenerator";
+    private static final String SERVICE_FILE = "META-INF/services/" + COMPILED_GENERATOR_INTERFACE;
+    private static final String SETTER_PREFIX = "set";
+
+    private final Set<String> compiledGenerators = new TreeSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element instanceof TypeElement typeElement) {
+                    compile(typeElement);
+                }
+            }
+        }
+        if (roundEnv.processingOver() && !compiledGenerators.isEmpty()) {
+            writeServiceFile();
+        }
+        return true;
+    }
+
+    private void compile(TypeElement typeElement) {
+        Optional<String> invalidityReason = getInvalidityReason(typeElement);
+        if (invalidityReason.isPresent()) {
+            error(typeElement, "@GenerateRandom can't be used on %s : %s".formatted(typeElement.getQualifiedName(), invalidityReason.get()));
+            return;
+        }
+        List<SetterBinding> setterBindings = bindSetters(typeElement);
+        for (SetterBinding setterBinding : setterBindings) {
+            if (!GeneratorSourceWriter.isSupported(setterBinding.fieldType())) {
+                error(typeElement, "field type %s of setter %s is not supported".formatted(setterBinding.fieldType(), setterBinding.setterName()));
+                return;
+            }
+        }
+        GeneratorSourceWriter sourceWriter = new GeneratorSourceWriter(processingEnv, typeElement, setterBindings);
+        try {
+            JavaFileObject sourceFile = processingEnv.getFiler().createSourceFile(sourceWriter.getGeneratorQualifiedName(), typeElement);
+            try (Writer writer = sourceFile.openWriter()) {
+                writer.write(sourceWriter.write());
+            }
+            compiledGenerators.add(sourceWriter.getGeneratorQualifiedName());
+        } catch (IOException e) {
+            error(typeElement, "generator of %s can't be written : %s".formatted(typeElement.getQualifiedName(), e.getMessage()));
+        }
+    }
+
+    private Optional<String> getInvalidityReason(TypeElement typeElement) {
+        if (typeElement.getKind() != ElementKind.CLASS) {
+            return Optional.of("it is not a class");
+        }
+        if (typeElement.getModifiers().contains(Modifier.ABSTRACT)) {
+            return Optional.of("it is abstract");
+        }
+        if (!typeElement.getTypeParameters().isEmpty()) {
+            return Optional.of("generic classes are not supported");
+        }
+        if (typeElement.getModifiers().contains(Modifier.PRIVATE)) {
+            return Optional.of("it is private");
+        }
+        if (typeElement.getNestingKind() != NestingKind.TOP_LEVEL
+                && (typeElement.getNestingKind() != NestingKind.MEMBER || !typeElement.getModifiers().contains(Modifier.STATIC))) {
+            return Optional.of("it is neither a top level class nor a static nested class");
+        }
+        if (!hasPublicDefaultConstructor(typeElement)) {
+            return Optional.of("it does not have a public default constructor");
+        }
+        return Optional.empty();
+    }
+
+    private static boolean hasPublicDefaultConstructor(TypeElement typeElement) {
+        return ElementFilter.constructorsIn(typeElement.getEnclosedElements()).stream()
+                .anyMatch(constructor -> constructor.getParameters().isEmpty() && constructor.getModifiers().contains(Modifier.PUBLIC));
+    }
+
+    private List<SetterBinding> bindSetters(TypeElement typeElement) {
+        DeclaredType declaredType = (DeclaredType) typeElement.asType();
+        List<SetterBinding> setterBindings = new ArrayList<>();
+        for (ExecutableElement method : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(typeElement))) {
+            String methodName = method.getSimpleName().toString();
+            if (!isSetter(method, methodName)) {
+                continue;
+            }
+            String fieldName = getFieldNameFromSetterMethodName(methodName);
+            Optional<VariableElement> field = getOwnOrInheritedFieldByName(typeElement, fieldName);
+            if (field.isEmpty()) {
+                warning(method, "no such field with name %s for setter %s, it will not be generated".formatted(fieldName, methodName));
+                continue;
+            }
+            TypeMirror fieldType = processingEnv.getTypeUtils().asMemberOf(declaredType, field.get());
+            setterBindings.add(new SetterBinding(methodName, fieldType));
+        }
+        return setterBindings;
+    }
+
+    private static boolean isSetter(ExecutableElement method, String methodName) {
+        return methodName.startsWith(SETTER_PREFIX)
+                && methodName.length() > SETTER_PREFIX.length()
+                && method.getModifiers().contains(Modifier.PUBLIC)
+                && !method.getModifiers().contains(Modifier.STATIC)
+                && method.getParameters().size() == 1;
+    }
+
+    private static String getFieldNameFromSetterMethodName(String setterMethodName) {
+        String fieldName = setterMethodName.substring(SETTER_PREFIX.length());
+        return Character.toLowerCase(fieldName.charAt(0)) + fieldName.substring(1);
+    }
+
+    private static Optional<VariableElement> getOwnOrInheritedFieldByName(TypeElement typeElement, String fieldName) {
+        for (TypeElement type = typeElement; type != null; type = getSuperclass(type)) {
+            Optional<VariableElement> field = ElementFilter.fieldsIn(type.getEnclosedElements()).stream()
+                    .filter(variable -> variable.getSimpleName().contentEquals(fieldName))
+                    .findFirst();
+            if (field.isPresent()) return field;
+        }
+        return Optional.empty();
+    }
+
+    private static TypeElement getSuperclass(TypeElement typeElement) {
+        TypeMirror superclass = typeElement.getSuperclass();
+        if (superclass.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        return (TypeElement) ((DeclaredType) superclass).asElement();
+    }
+
+    private void writeServiceFile() {
+        try {
+            FileObject serviceFile = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE);
+            try (Writer writer = serviceFile.openWriter()) {
+                for (String compiledGenerator : compiledGenerators) {
+                    writer.write(compiledGenerator);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "%s can't be written : %s".formatted(SERVICE_FILE, e.getMessage()));
+        }
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    private void warning(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, message, element);
+    }
+
+    /**
+     * a setter of the annotated class and the type of the field it sets
+     */
+    record SetterBinding(String setterName, TypeMirror fieldType) {
+    }
+}
@@ -0,0 +1,161 @@
+package io.javarig.processor;
+
+import io.javarig.processor.GenerateRandomProcessor.SetterBinding;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * writes the source of the compiled generator of an annotated class
+ */
+class GeneratorSourceWriter {
+    private static final String GENERATOR_SUFFIX = "_JavaRIGGenerator";
+    private static final String PARAMETERIZED_TYPE_IMPL = "io.javarig.ParameterizedTypeImpl";
+
+    private final ProcessingEnvironment processingEnv;
+    private final TypeElement typeElement;
+    private final List<SetterBinding> setterBindings;
+    private final String packageName;
+    private final String generatorSimpleName;
+
+    GeneratorSourceWriter(ProcessingEnvironment processingEnv, TypeElement typeElement, List<SetterBinding> setterBindings) {
+        this.processingEnv = processingEnv;
+        this.typeElement = typeElement;
+        this.setterBindings = setterBindings;
+        this.packageName = processingEnv.getElementUtils().getPackageOf(typeElement).getQualifiedName().toString();
+        this.generatorSimpleName = getFlatName(typeElement) + GENERATOR_SUFFIX;
+    }
+
+    /**
+     * @return whether a value of the type can be generated by a compiled generator,
+     * i.e. the type doesn't contain type variables, wildcards or generic arrays
+     */
+    static boolean isSupported(TypeMirror type) {
+        return switch (type.getKind()) {
+            case BOOLEAN, BYTE, SHORT, INT, LONG, CHAR, FLOAT, DOUBLE -> true;
+            case ARRAY -> isRaw(((ArrayType) type).getComponentType());
+            case DECLARED -> ((DeclaredType) type).getTypeArguments().stream()
+                    .allMatch(typeArgument -> typeArgument.getKind() != TypeKind.WILDCARD && isSupported(typeArgument));
+            default -> false;
+        };
+    }
+
+    private static boolean isRaw(TypeMirror type) {
+        return switch (type.getKind()) {
+            case BOOLEAN, BYTE, SHORT, INT, LONG, CHAR, FLOAT, DOUBLE -> true;
+            case ARRAY -> isRaw(((ArrayType) type).getComponentType());
+            case DECLARED -> ((DeclaredType) type).getTypeArguments().isEmpty();
+            default -> false;
+        };
+    }
+
+    String getGeneratorQualifiedName() {
+        return packageName.isEmpty() ? generatorSimpleName : packageName + "." + generatorSimpleName;
+    }
+
+    String write() {
+        String className = typeElement.getQualifiedName().toString();
+        String binaryName = processingEnv.getElementUtils().getBinaryName(typeElement).toString();
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("@javax.annotation.processing.Generated(\"").append(GenerateRandomProcessor.class.getName()).append("\")\n");
+        source.append("public final class ").append(generatorSimpleName)
+                .append(" implements ").append(GenerateRandomProcessor.COMPILED_GENERATOR_INTERFACE).append("<").append(className).append("> {\n");
+
+        List<String> valueTypeExpressions = new ArrayList<>();
+        for (int i = 0; i < setterBindings.size(); i++) {
+            TypeMirror fieldType = setterBindings.get(i).fieldType();
+            if (fieldType.getKind() == TypeKind.DECLARED && !((DeclaredType) fieldType).getTypeArguments().isEmpty()) {
+                // parameterized types are created once, not on every generation
+                String constantName = "TYPE_" + i;
+                source.append("    private static final java.lang.reflect.Type ").append(constantName)
+                        .append(" = ").append(typeExpression(fieldType)).append(";\n");
+                valueTypeExpressions.add(constantName);
+            } else {
+                valueTypeExpressions.add(typeExpression(fieldType));
+            }
+        }
+
+        source.append("\n    @Override\n");
+        source.append("    public java.lang.Class<").append(className).append("> getGeneratedType() {\n");
+        source.append("        return ").append(className).append(".class;\n");
+        source.append("    }\n\n");
+
+        source.append("    @Override\n");
+        source.append("    public ").append(className).append(" generate(io.javarig.RandomInstanceGenerator randomInstanceGenerator) {\n");
+        source.append("        ").append(className).append(" generated;\n");
+        source.append("        try {\n");
+        source.append("            generated = new ").append(className).append("();\n");
+        source.append("        } catch (java.lang.Exception e) {\n");
+        source.append("            throw new io.javarig.exception.InstanceGenerationException(new java.lang.reflect.InvocationTargetException(e));\n");
+        source.append("        }\n");
+        for (int i = 0; i < setterBindings.size(); i++) {
+            SetterBinding setterBinding = setterBindings.get(i);
+            String valueType = boxedTypeName(setterBinding.fieldType());
+            String valueName = "value" + i;
+            // truncated fields are left unset, like the reflective generator leaves them (TRUNCATE policy)
+            source.append("        if (!randomInstanceGenerator.isTruncated(").append(valueTypeExpressions.get(i)).append(")) {\n");
+            source.append("            ").append(valueType).append(" ").append(valueName)
+                    .append(" = randomInstanceGenerator.<").append(valueType).append(">generate(")
+                    .append(valueTypeExpressions.get(i)).append(");\n");
+            source.append("            try {\n");
+            source.append("                generated.").append(setterBinding.setterName()).append("(").append(valueName).append(");\n");
+            source.append("            } catch (java.lang.Exception e) {\n");
+            source.append("                throw new io.javarig.exception.InvocationSetterException(\"").append(setterBinding.setterName())
+                    .append("\", \"").append(binaryName).append("\", new java.lang.reflect.InvocationTargetException(e));\n");
+            source.append("            }\n");
+            source.append("        }\n");
+        }
+        source.append("        return generated;\n");
+        source.append("    }\n");
+        source.append("}\n");
+        return source.toString();
+    }
+
+    /**
+     * @return a java expression creating the java.lang.reflect.Type of the given type
+     */
+    private String typeExpression(TypeMirror type) {
+        if (type instanceof DeclaredType declaredType && !declaredType.getTypeArguments().isEmpty()) {
+            String typeArguments = declaredType.getTypeArguments().stream()
+                    .map(this::typeExpression)
+                    .collect(Collectors.joining(", "));
+            return "new %s(new java.lang.reflect.Type[]{%s}, %s.class)"
+                    .formatted(PARAMETERIZED_TYPE_IMPL, typeArguments, processingEnv.getTypeUtils().erasure(type));
+        }
+        return processingEnv.getTypeUtils().erasure(type) + ".class";
+    }
+
+    private String boxedTypeName(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return processingEnv.getTypeUtils().boxedClass((PrimitiveType) type).getQualifiedName().toString();
+        }
+        return type.toString();
+    }
+
+    /**
+     * @return the simple names of the type and its enclosing types, joined with '_'
+     */
+    private static String getFlatName(TypeElement typeElement) {
+        StringBuilder flatName = new StringBuilder(typeElement.getSimpleName());
+        for (Element enclosing = typeElement.getEnclosingElement();
+             enclosing.getKind() == ElementKind.CLASS || enclosing.getKind() == ElementKind.INTERFACE
+                     || enclosing.getKind() == ElementKind.ENUM || enclosing.getKind() == ElementKind.RECORD;
+             enclosing = enclosing.getEnclosingElement()) {
+            flatName.insert(0, enclosing.getSimpleName() + "_");
+        }
+        return flatName.toString();
+    }
+}
@@ -0,0 +1,237 @@
+package io.javarig.processor;
+
+import com.google.common.truth.Truth;
+import com.google.testing.compile.Compilation;
+import com.google.testing.compile.JavaFileObjects;
+import io.javarig.RandomInstanceGenerator;
+import io.javarig.config.Configuration;
+import io.javarig.config.RecursionPolicy;
+import io.javarig.generator.CompiledObjectGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static com.google.testing.compile.CompilationSubject.assertThat;
+import static com.google.testing.compile.Compiler.javac;
+
+public class GenerateRandomProcessorTest {
+    @TempDir
+    private Path directory;
+
+    private static final String SERVICE_FILE = "META-INF/services/io.javarig.spi.CompiledGenerator";
+
+    private static final JavaFileObject PERSON = JavaFileObjects.forSourceLines("test.Person",
+            "package test;",
+            "",
+            "import io.javarig.annotation.GenerateRandom;",
+            "import java.util.List;",
+            "",
+            "@GenerateRandom",
+            "public class Person {",
+            "    private String name;",
+            "    private int age;",
+            "    private List<String> nicknames;",
+            "",
+            "    public void setName(String name) {",
+            "        this.name = name;",
+            "    }",
+            "",
+            "    public void setAge(int age) {",
+            "        this.age = age;",
+            "    }",
+            "",
+            "    public void setNicknames(List<String> nicknames) {",
+            "        this.nicknames = nicknames;",
+            "    }",
+            "",
+            "    public void setUnknown(String unknown) {",
+            "    }",
+            "}");
+
+    @Test
+    public void shouldEmitAGeneratorCallingTheSettersDirectly() {
+        //when
+        Compilation compilation = compile(PERSON);
+        //then
+        assertThat(compilation).succeeded();
+        assertThat(compilation).hadWarningContaining("no such field with name unknown for setter setUnknown");
+        assertThat(compilation).generatedSourceFile("test.Person_JavaRIGGenerator")
+                .contentsAsUtf8String()
+                .contains("public final class Person_JavaRIGGenerator implements io.javarig.spi.CompiledGenerator<test.Person>");
+        assertThat(compilation).generatedSourceFile("test.Person_JavaRIGGenerator")
+                .contentsAsUtf8String()
+                .contains("generated = new test.Person();");
+        assertThat(compilation).generatedSourceFile("test.Person_JavaRIGGenerator")
+                .contentsAsUtf8String()
+                .contains("if (!randomInstanceGenerator.isTruncated(int.class)) {\n"
+                        + "            java.lang.Integer value1 = randomInstanceGenerator.<java.lang.Integer>generate(int.class);");
+        assertThat(compilation).generatedSourceFile("test.Person_JavaRIGGenerator")
+                .contentsAsUtf8String()
+                .contains("private static final java.lang.reflect.Type TYPE_2 = new io.javarig.ParameterizedTypeImpl("
+                        + "new java.lang.reflect.Type[]{java.lang.String.class}, java.util.List.class);");
+        assertThat(compilation).generatedSourceFile("test.Person_JavaRIGGenerator")
+                .contentsAsUtf8String()
+                .doesNotContain("setUnknown");
+    }
+
+    @Test
+    public void shouldRegisterTheGeneratorsInMetaInfServices() {
+        //given
+        JavaFileObject nested = JavaFileObjects.forSourceLines("test.Outer",
+                "package test;",
+                "",
+                "public class Outer {",
+                "    @io.javarig.annotation.GenerateRandom",
+                "    public static class Inner {",
+                "    }",
+                "}");
+        //when
+        Compilation compilation = compile(PERSON, nested);
+        //then
+        assertThat(compilation).succeeded();
+        assertThat(compilation).generatedSourceFile("test.Outer_Inner_JavaRIGGenerator");
+        assertThat(compilation).generatedFile(StandardLocation.CLASS_OUTPUT, SERVICE_FILE)
+                .contentsAsUtf8String()
+                .isEqualTo("test.Outer_Inner_JavaRIGGenerator\ntest.Person_JavaRIGGenerator\n");
+    }
+
+    @Test
+    public void shouldFailOnNonPublicClasses() {
+        //given
+        JavaFileObject privateNested = JavaFileObjects.forSourceLines("test.Outer",
+                "package test;",
+                "",
+                "public class Outer {",
+                "    @io.javarig.annotation.GenerateRandom",
+                "    private static class Hidden {",
+                "    }",
+                "}");
+        //when
+        Compilation compilation = compile(privateNested);
+        //then
+        assertThat(compilation).failed();
+        assertThat(compilation).hadErrorContaining("@GenerateRandom can't be used on test.Outer.Hidden : it is private")
+                .inFile(privateNested)
+                .onLine(5);
+    }
+
+    @Test
+    public void shouldFailOnAbstractClasses() {
+        //given
+        JavaFileObject abstractClass = JavaFileObjects.forSourceLines("test.Shape",
+                "package test;",
+                "",
+                "@io.javarig.annotation.GenerateRandom",
+                "public abstract class Shape {",
+                "}");
+        //when
+        Compilation compilation = compile(abstractClass);
+        //then
+        assertThat(compilation).failed();
+        assertThat(compilation).hadErrorContaining("@GenerateRandom can't be used on test.Shape : it is abstract")
+                .inFile(abstractClass)
+                .onLine(4);
+    }
+
+    @Test
+    public void shouldFailOnClassesWithoutAPublicDefaultConstructor() {
+        //given
+        JavaFileObject noDefaultConstructor = JavaFileObjects.forSourceLines("test.Point",
+                "package test;",
+                "",
+                "@io.javarig.annotation.GenerateRandom",
+                "public class Point {",
+                "    public Point(int x) {",
+                "    }",
+                "}");
+        //when
+        Compilation compilation = compile(noDefaultConstructor);
+        //then
+        assertThat(compilation).failed();
+        assertThat(compilation).hadErrorContaining(
+                        "@GenerateRandom can't be used on test.Point : it does not have a public default constructor")
+                .inFile(noDefaultConstructor)
+                .onLine(4);
+    }
+
+    @Test
+    public void shouldLeaveTheTruncatedFieldsUnsetLikeTheReflectiveGenerator() throws Exception {
+        //given
+        JavaFileObject node = JavaFileObjects.forSourceLines("test.Node",
+                "package test;",
+                "",
+                "@io.javarig.annotation.GenerateRandom",
+                "public class Node {",
+                "    private int value;",
+                "    private Node next;",
+                "",
+                "    public void setValue(int value) {",
+                "        this.value = value;",
+                "    }",
+                "",
+                "    public Node getNext() {",
+                "        return next;",
+                "    }",
+                "",
+                "    public void setNext(Node next) {",
+                "        this.next = next;",
+                "    }",
+                "}");
+        Compilation compilation = compile(node);
+        assertThat(compilation).succeeded();
+        RandomInstanceGenerator randomInstanceGenerator = new RandomInstanceGenerator(Configuration.builder()
+                .maxDepth(2)
+                .maxSameTypeDepth(2)
+                .recursionPolicy(RecursionPolicy.TRUNCATE)
+                .build());
+        Thread thread = Thread.currentThread();
+        ClassLoader contextClassLoader = thread.getContextClassLoader();
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{writeClassOutput(compilation).toUri().toURL()},
+                getClass().getClassLoader())) {
+            // the compiled generators are loaded (once) from the context class loader of the first generation
+            thread.setContextClassLoader(classLoader);
+            Class<?> nodeClass = classLoader.loadClass("test.Node");
+            //when
+            Object generated = randomInstanceGenerator.generate(nodeClass);
+            //then
+            Truth.assertThat(randomInstanceGenerator.getTypeGeneratorFactory().getGenerator(nodeClass, randomInstanceGenerator))
+                    .isInstanceOf(CompiledObjectGenerator.class);
+            Method getNext = nodeClass.getMethod("getNext");
+            Object next = getNext.invoke(generated);
+            Truth.assertThat(next).isNotNull();
+            Truth.assertThat(getNext.invoke(next)).isNull();
+        } finally {
+            thread.setContextClassLoader(contextClassLoader);
+        }
+    }
+
+    private Path writeClassOutput(Compilation compilation) throws IOException {
+        Path classOutput = Files.createDirectories(directory.resolve("classes"));
+        for (JavaFileObject generatedFile : compilation.generatedFiles()) {
+            String path = generatedFile.toUri().getPath();
+            String classOutputPrefix = "/" + StandardLocation.CLASS_OUTPUT.getName() + "/";
+            if (!path.startsWith(classOutputPrefix)) {
+                continue;
+            }
+            Path target = classOutput.resolve(path.substring(classOutputPrefix.length()));
+            Files.createDirectories(target.getParent());
+            try (InputStream inputStream = generatedFile.openInputStream()) {
+                Files.copy(inputStream, target);
+            }
+        }
+        return classOutput;
+    }
+
+    private static Compilation compile(JavaFileObject... sources) {
+        return javac().withProcessors(new GenerateRandomProcessor()).compile(sources);
+    }
+}
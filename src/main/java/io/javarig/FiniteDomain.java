@@ -0,0 +1,18 @@
+package io.javarig;
+
+/**
+ * implemented by the generators of types having a small number of values, so distinct values can be sampled
+ * from the domain without replacement instead of being generated until they are distinct
+ */
+public interface FiniteDomain {
+    /**
+     * @return the number of distinct values the generator can generate
+     */
+    int getDomainSize();
+
+    /**
+     * @param index an index between 0 (inclusive) and the domain size (exclusive)
+     * @return the value of the domain at the index, every index has a different value
+     */
+    Object getDomainValue(int index);
+}
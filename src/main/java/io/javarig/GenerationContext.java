@@ -0,0 +1,71 @@
+package io.javarig;
+
+import io.javarig.config.Configuration;
+import io.javarig.listener.GenerationListener;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.lang.reflect.Type;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * the state of the generations running on a thread : the path of the types being generated,
+ * the one time configuration and the listener of the current top level generation and the random stream of the thread
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+class GenerationContext {
+    @Setter(AccessLevel.NONE)
+    private final Deque<Type> path = new ArrayDeque<>();
+    /**
+     * the number of times every type of the path is in it
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final Map<Type, Integer> occurrences = new HashMap<>();
+    /**
+     * the random stream of the thread, replaced by the stream of a chunk while a bulk generation chunk runs on the thread
+     */
+    private Random random;
+    private Configuration oneTimeConfig;
+    /**
+     * the listener of the current top level generation, null when it is not traced
+     */
+    private GenerationListener listener;
+
+    /**
+     * @return whether no generation is running on the thread, i.e. the next generation is a top level one
+     */
+    boolean isIdle() {
+        return path.isEmpty();
+    }
+
+    int getDepth() {
+        return path.size();
+    }
+
+    /**
+     * @return the number of times the type is in the path
+     */
+    int getOccurrences(Type type) {
+        Integer count = occurrences.get(type);
+        return count == null ? 0 : count;
+    }
+
+    void enter(Type type) {
+        path.push(type);
+        occurrences.merge(type, 1, Integer::sum);
+    }
+
+    void exit() {
+        Type type = path.pop();
+        occurrences.computeIfPresent(type, (key, count) -> count == 1 ? null : count - 1);
+    }
+}
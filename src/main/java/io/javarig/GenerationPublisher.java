@@ -0,0 +1,166 @@
+package io.javarig;
+
+import io.javarig.config.Configuration;
+import io.javarig.config.PublisherConfig;
+import io.javarig.random.RandomSources;
+import lombok.NonNull;
+import org.apache.commons.lang3.Validate;
+
+import java.lang.reflect.Type;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * a publisher of random instances honouring the demand of its subscribers.
+ * every subscription generates its own instances (with its own random stream) on the executor of the configuration,
+ * by batches, and never more than the prefetch ahead of the demand of the subscriber
+ */
+class GenerationPublisher<T> implements Flow.Publisher<T> {
+    static final long UNBOUNDED = -1;
+
+    private final RandomInstanceGenerator randomInstanceGenerator;
+    private final Type objectType;
+    private final long size;
+    private final PublisherConfig publisherConfig;
+    private final Configuration oneTimeConfig;
+
+    GenerationPublisher(RandomInstanceGenerator randomInstanceGenerator, Type objectType, long size, PublisherConfig publisherConfig) {
+        Validate.isTrue(publisherConfig.getBatchSize() > 0, "Batch size must be positive.");
+        Validate.isTrue(publisherConfig.getPrefetch() >= 0, "Prefetch must be non-negative.");
+        this.randomInstanceGenerator = randomInstanceGenerator;
+        this.objectType = objectType;
+        this.size = size;
+        this.publisherConfig = publisherConfig;
+        this.oneTimeConfig = randomInstanceGenerator.takeOneTimeConfig();
+    }
+
+    @Override
+    public void subscribe(@NonNull Flow.Subscriber<? super T> subscriber) {
+        GenerationSubscription subscription = new GenerationSubscription(subscriber,
+                RandomSources.fork(randomInstanceGenerator.forkRandomSource()));
+        subscriber.onSubscribe(subscription);
+        // completes empty publishers and prefetches without waiting for a request
+        subscription.scheduleDrain();
+    }
+
+    private class GenerationSubscription implements Flow.Subscription {
+        private final Flow.Subscriber<? super T> subscriber;
+        private final Random random;
+        private final AtomicLong requested = new AtomicLong();
+        /**
+         * the number of pending drains, a drain is only scheduled when it goes from 0 to 1 so drains never run concurrently
+         */
+        private final AtomicInteger pendingDrains = new AtomicInteger();
+        // only accessed by the drains
+        private final Queue<T> buffer = new ArrayDeque<>();
+        private long generated;
+        private long emitted;
+        private volatile boolean cancelled;
+        private volatile Throwable invalidRequest;
+
+        GenerationSubscription(Flow.Subscriber<? super T> subscriber, Random random) {
+            this.subscriber = subscriber;
+            this.random = random;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalidRequest = new IllegalArgumentException("non-positive request : " + n);
+            } else {
+                requested.getAndAccumulate(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            }
+            scheduleDrain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            scheduleDrain();
+        }
+
+        void scheduleDrain() {
+            if (pendingDrains.getAndIncrement() == 0) {
+                publisherConfig.getExecutor().execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            int missed = 1;
+            while (true) {
+                if (cancelled) {
+                    buffer.clear();
+                    return;
+                }
+                if (invalidRequest != null) {
+                    fail(invalidRequest);
+                    return;
+                }
+                long demand = requested.get();
+                while (emitted != demand && !cancelled) {
+                    if (buffer.isEmpty() && (isExhausted() || !generateBatch(demand - emitted))) {
+                        break;
+                    }
+                    subscriber.onNext(buffer.poll());
+                    emitted++;
+                }
+                if (cancelled) {
+                    buffer.clear();
+                    return;
+                }
+                if (buffer.isEmpty() && isExhausted()) {
+                    cancelled = true;
+                    subscriber.onComplete();
+                    return;
+                }
+                if (buffer.size() < publisherConfig.getPrefetch() && !isExhausted() && !generateBatch(0)) {
+                    return;
+                }
+                missed = pendingDrains.addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * generates the next batch of instances, no more than the demand (or the prefetch if it is greater)
+         *
+         * @return false if an instance can't be generated, the subscriber is then notified of the error
+         */
+        private boolean generateBatch(long demand) {
+            long count = Math.min(publisherConfig.getBatchSize(), Math.max(demand, publisherConfig.getPrefetch() - buffer.size()));
+            if (size != UNBOUNDED) {
+                count = Math.min(count, size - generated);
+            }
+            try {
+                for (long i = 0; i < count && !cancelled; i++) {
+                    T instance = randomInstanceGenerator.generate(objectType, random, oneTimeConfig);
+                    if (instance == null) {
+                        throw new NullPointerException("a null instance of %s was generated".formatted(objectType.getTypeName()));
+                    }
+                    buffer.add(instance);
+                    generated++;
+                }
+                return true;
+            } catch (RuntimeException e) {
+                fail(e);
+                return false;
+            }
+        }
+
+        private boolean isExhausted() {
+            return size != UNBOUNDED && generated == size;
+        }
+
+        private void fail(Throwable error) {
+            cancelled = true;
+            buffer.clear();
+            subscriber.onError(error);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package io.javarig;
+
+import io.javarig.config.Configuration;
+import io.javarig.random.RandomSources;
+
+import java.lang.reflect.Type;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.random.RandomGenerator;
+
+/**
+ * a spliterator generating random instances on demand, with its own random stream.
+ * splitting it also splits the random stream : the new spliterator gets a random source forked from the source
+ * of this one, so parallel streams don't share (nor synchronize on) a random stream
+ */
+class GenerationSpliterator<T> implements Spliterator<T> {
+    static final long UNBOUNDED = -1;
+
+    private final RandomInstanceGenerator randomInstanceGenerator;
+    private final Type objectType;
+    private final Configuration oneTimeConfig;
+    private final RandomGenerator randomSource;
+    private final Random random;
+    /**
+     * the number of instances still to generate, UNBOUNDED if the spliterator is infinite
+     */
+    private long remaining;
+    /**
+     * the estimated size of an infinite spliterator, halved on every split so parallel streams stop splitting
+     */
+    private long unboundedEstimate = Long.MAX_VALUE;
+
+    GenerationSpliterator(RandomInstanceGenerator randomInstanceGenerator, Type objectType, long size) {
+        this(randomInstanceGenerator, objectType, randomInstanceGenerator.takeOneTimeConfig(),
+                randomInstanceGenerator.forkRandomSource(), size);
+    }
+
+    private GenerationSpliterator(RandomInstanceGenerator randomInstanceGenerator, Type objectType, Configuration oneTimeConfig,
+                                  RandomGenerator randomSource, long size) {
+        this.randomInstanceGenerator = randomInstanceGenerator;
+        this.objectType = objectType;
+        this.oneTimeConfig = oneTimeConfig;
+        this.randomSource = randomSource;
+        this.random = RandomSources.fork(randomSource);
+        this.remaining = size;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        if (remaining == 0) {
+            return false;
+        }
+        if (remaining != UNBOUNDED) {
+            remaining--;
+        }
+        action.accept(randomInstanceGenerator.generate(objectType, random, oneTimeConfig));
+        return true;
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        if (remaining == UNBOUNDED) {
+            GenerationSpliterator<T> split = new GenerationSpliterator<>(randomInstanceGenerator, objectType, oneTimeConfig,
+                    RandomSources.forkSource(randomSource), UNBOUNDED);
+            unboundedEstimate >>>= 1;
+            split.unboundedEstimate = unboundedEstimate;
+            return split;
+        }
+        if (remaining < 2) {
+            return null;
+        }
+        long splitSize = remaining / 2;
+        remaining -= splitSize;
+        return new GenerationSpliterator<>(randomInstanceGenerator, objectType, oneTimeConfig,
+                RandomSources.forkSource(randomSource), splitSize);
+    }
+
+    @Override
+    public long estimateSize() {
+        return remaining == UNBOUNDED ? unboundedEstimate : remaining;
+    }
+
+    @Override
+    public int characteristics() {
+        return remaining == UNBOUNDED ? 0 : SIZED | SUBSIZED;
+    }
+}
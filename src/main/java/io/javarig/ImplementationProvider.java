@@ -1,6 +1,26 @@
 package io.javarig;
 
 
+import io.javarig.exception.JavaRIGInternalException;
+
+import java.util.function.IntFunction;
+
 public interface ImplementationProvider<T> {
     Class<? extends T> getImplementationType();
+
+    /**
+     * the default factory calls the default constructor of the implementation type, implementations should return a
+     * factory presizing the instance when the implementation type supports it
+     *
+     * @return a factory of new instances of the implementation type, taking the number of elements the instance will hold
+     */
+    default IntFunction<? extends T> getImplementationFactory() {
+        return expectedSize -> {
+            try {
+                return getImplementationType().getConstructor().newInstance();
+            } catch (ReflectiveOperationException e) {
+                throw new JavaRIGInternalException(e);
+            }
+        };
+    }
 }
@@ -1,21 +1,64 @@
 package io.javarig;
 
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
+/**
+ * a parameterized type, equal to the JDK's parameterized types of the same raw type, owner type and type arguments.
+ * the array of the type arguments is copied on creation and returned as a copy, as the canonical instances are shared
+ */
 public class ParameterizedTypeImpl implements ParameterizedType {
+    /**
+     * canonical instances, weakly referenced so that the types (and their classes) can be unloaded
+     */
+    private static final Interner<ParameterizedTypeImpl> CANONICAL_TYPES = Interners.newWeakInterner();
+
     private final Type[] actualTypeArguments;
     private final Class<?>  rawType;
     private final Type   ownerType;
+    private final int hashCode;
 
+    /**
+     * the owner type is the declaring class of the raw type (null for top level classes), as in the JDK
+     */
     public ParameterizedTypeImpl(Type[] actualTypeArguments, Class<?> rawType) {
-        this.actualTypeArguments = actualTypeArguments;
+        this(actualTypeArguments, rawType, rawType.getDeclaringClass());
+    }
+
+    public ParameterizedTypeImpl(Type[] actualTypeArguments, Class<?> rawType, Type ownerType) {
+        this.actualTypeArguments = actualTypeArguments.clone();
         this.rawType = rawType;
-        this.ownerType = null;
+        this.ownerType = ownerType;
+        this.hashCode = Arrays.hashCode(this.actualTypeArguments) ^ Objects.hashCode(ownerType) ^ Objects.hashCode(rawType);
     }
+
+    /**
+     * @return the canonical instance of the parameterized type : equal types are the same instance,
+     * so looking them up in the caches of the generators is cheap
+     */
+    public static ParameterizedTypeImpl of(Class<?> rawType, Type... actualTypeArguments) {
+        return new ParameterizedTypeImpl(actualTypeArguments, rawType).intern();
+    }
+
+    /**
+     * @return the canonical instance equal to this type
+     */
+    public ParameterizedTypeImpl intern() {
+        return CANONICAL_TYPES.intern(this);
+    }
+
+    /**
+     * @return a copy of the type arguments, as the JDK's parameterized types return
+     */
     @Override
     public Type[] getActualTypeArguments() {
-        return actualTypeArguments;
+        return actualTypeArguments.clone();
     }
 
     @Override
@@ -27,4 +70,35 @@ public class ParameterizedTypeImpl implements ParameterizedType {
     public Type getOwnerType() {
         return ownerType;
     }
+
+    /**
+     * equality is the one of the JDK's parameterized types, so this type can be used as a key alongside the types
+     * returned by the reflection api (Field::getGenericType ...)
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ParameterizedType that)) return false;
+        if (o instanceof ParameterizedTypeImpl other) {
+            return hashCode == other.hashCode
+                    && Objects.equals(ownerType, other.ownerType)
+                    && Objects.equals(rawType, other.rawType)
+                    && Arrays.equals(actualTypeArguments, other.actualTypeArguments);
+        }
+        return Objects.equals(ownerType, that.getOwnerType())
+                && Objects.equals(rawType, that.getRawType())
+                && Arrays.equals(actualTypeArguments, that.getActualTypeArguments());
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return rawType.getTypeName() + Arrays.stream(actualTypeArguments)
+                .map(Type::getTypeName)
+                .collect(Collectors.joining(", ", "<", ">"));
+    }
 }
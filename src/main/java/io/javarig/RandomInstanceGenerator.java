@@ -1,34 +1,157 @@
 package io.javarig;
 
 import io.javarig.config.Configuration;
+import io.javarig.config.PublisherConfig;
+import io.javarig.config.RecursionPolicy;
+import io.javarig.exception.GenerationDepthExceededException;
 import io.javarig.exception.InstanceGenerationException;
 import io.javarig.exception.NestedObjectRecursionException;
+import io.javarig.generator.InPlaceGenerator;
+import io.javarig.generator.PooledGenerator;
 import io.javarig.generator.TypeGenerator;
+import io.javarig.generator.VariantGenerator;
+import io.javarig.listener.CompositeGenerationListener;
+import io.javarig.listener.GenerationListener;
+import io.javarig.metrics.GenerationMetrics;
+import io.javarig.random.RandomSources;
 import io.javarig.util.Utils;
 import io.javarig.util.Validators;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
 
 import java.lang.reflect.Type;
-import java.util.Stack;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.random.RandomGenerator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-@RequiredArgsConstructor
+/**
+ * generates random instances of any type.
+ * an instance can be shared by several threads : the generators (generation plans) of the types are shared, while
+ * every thread has its own generation context (path of the types being generated, one time configuration,
+ * random stream forked from the source of the instance). generations take no lock, so the throughput of a shared
+ * instance grows linearly with the number of threads, up to the number of cores.
+ * instances derived with withSize, withRegexPattern ... apply their configuration to their next generation only
+ */
 @Getter
 public class RandomInstanceGenerator {
+    /**
+     * the number of objects generated with the same random stream by generateMany, it must not depend on the
+     * number of threads, so that the generated objects only depend on the seed
+     */
+    private static final int BULK_CHUNK_SIZE = 256;
+    private static final Generation NEW_INSTANCE = TypeGenerator::generate;
+    private static final Generation UNPOOLED_INSTANCE = generator -> generator instanceof PooledGenerator pooledGenerator
+            ? pooledGenerator.getDelegate().generate()
+            : generator.generate();
+    /**
+     * the result of a run when its type is truncated
+     */
+    private static final Object TRUNCATED_RUN = new Object();
 
-    private final Stack<Type> objectStack = new Stack<>();
-    private final TypeGeneratorFactory typeGeneratorFactory = new TypeGeneratorFactory();
+    private final TypeGeneratorFactory typeGeneratorFactory;
     private final Configuration generalConfig;
-    private Configuration oneTimeConfig = null;
+    /**
+     * the one time configuration of the next generation of this instance, taken (atomically) by it
+     */
+    @Getter(AccessLevel.NONE)
+    private final AtomicReference<Configuration> pendingOneTimeConfig;
+    /**
+     * the random source of the instance, created from the general configuration (algorithm and seed), the sources of
+     * the bulk generations, streams, sinks and pools are forked from it (see forkRandomSource)
+     */
+    @Getter(AccessLevel.NONE)
+    private final RandomGenerator randomSource;
+    /**
+     * the source the random streams of the threads are forked from, forked once from the random source so that the
+     * threads using the instance (their number and order) don't change the sources forked later by forkRandomSource
+     */
+    @Getter(AccessLevel.NONE)
+    private final RandomGenerator contextRandomSource;
+    @Getter(AccessLevel.NONE)
+    private final ThreadLocal<GenerationContext> contexts;
+    /**
+     * the instance the generators are bound to, instances derived using withSize, withRegexPattern ... share the
+     * generators (and their cache) of the instance they were derived from
+     */
+    @Getter(AccessLevel.NONE)
+    private final RandomInstanceGenerator owner;
+    /**
+     * the metrics of the generations, null when they are disabled
+     */
+    private final GenerationMetrics metrics;
+    /**
+     * the listener of the sampled top level generations (the listener of the configuration and the metrics),
+     * and the one of the other generations (the metrics)
+     */
+    @Getter(AccessLevel.NONE)
+    private final GenerationListener sampledListener;
+    @Getter(AccessLevel.NONE)
+    private final GenerationListener unsampledListener;
 
     public RandomInstanceGenerator() {
-        this.generalConfig = Configuration.builder().build();
+        this(Configuration.builder().build());
+    }
+
+    public RandomInstanceGenerator(Configuration generalConfig) {
+        this(generalConfig, null);
     }
 
     public RandomInstanceGenerator(Configuration generalConfig, Configuration oneTimeConfig) {
+        Validators.validateDepthLimits(generalConfig.getMaxDepth(), generalConfig.getMaxSameTypeDepth());
+        Validators.validatePools(generalConfig.getPools(), generalConfig.getMaxPooledInstances());
         this.generalConfig = generalConfig;
-        this.oneTimeConfig = oneTimeConfig;
+        this.pendingOneTimeConfig = new AtomicReference<>(oneTimeConfig);
+        this.typeGeneratorFactory = new TypeGeneratorFactory();
+        this.randomSource = RandomSources.create(generalConfig);
+        this.contextRandomSource = RandomSources.forkSource(randomSource);
+        this.contexts = ThreadLocal.withInitial(() -> new GenerationContext(RandomSources.fork(contextRandomSource), null, null));
+        this.owner = this;
+        this.metrics = generalConfig.isMetricsEnabled() ? new GenerationMetrics() : null;
+        this.unsampledListener = metrics;
+        this.sampledListener = combineListeners(generalConfig.getGenerationListener(), metrics);
+    }
+
+    private RandomInstanceGenerator(RandomInstanceGenerator derivedFrom, Configuration oneTimeConfig) {
+        this.generalConfig = derivedFrom.generalConfig;
+        this.pendingOneTimeConfig = new AtomicReference<>(oneTimeConfig);
+        this.typeGeneratorFactory = derivedFrom.typeGeneratorFactory;
+        this.randomSource = derivedFrom.randomSource;
+        this.contextRandomSource = derivedFrom.contextRandomSource;
+        this.contexts = derivedFrom.contexts;
+        this.owner = derivedFrom.owner;
+        this.metrics = derivedFrom.metrics;
+        this.unsampledListener = derivedFrom.unsampledListener;
+        this.sampledListener = derivedFrom.sampledListener;
+    }
+
+    /**
+     * @return the one time configuration of the generation running on the current thread, null if there is none
+     */
+    public Configuration getOneTimeConfig() {
+        return contexts.get().getOneTimeConfig();
+    }
+
+    /**
+     * @return the random stream of the current thread
+     */
+    public Random getRandom() {
+        return contexts.get().getRandom();
     }
 
     /**
@@ -42,15 +165,404 @@ public class RandomInstanceGenerator {
      *                                     default constructor , setter cannot be
      *                                     invoked ... )
      */
-    @SuppressWarnings({ "unchecked" })
     public <T> T generate(@NonNull Type objectType) throws InstanceGenerationException {
-        checkForRecursion(objectType);
-        objectStack.push(objectType);
-        TypeGenerator generator = typeGeneratorFactory.getGenerator(objectType, this);
-        T generated = (T) generator.generate();
-        objectStack.pop();
-        clearOneTimeConfig();
-        return generated;
+        return generateOnThread(objectType, NEW_INSTANCE);
+    }
+
+    /**
+     * generates a new instance of the type, even if its instances are drawn from a pool (the instances nested in it
+     * are still drawn from their pools)
+     *
+     * @see Configuration the pools field of Configuration
+     */
+    public <T> T generateUnpooled(@NonNull Type objectType) throws InstanceGenerationException {
+        return generateOnThread(objectType, UNPOOLED_INSTANCE);
+    }
+
+    /**
+     * generates a random instance with the given random stream instead of the one of the thread, e.g. to generate
+     * reproducible instances on several threads with streams forked from forkRandomSource
+     *
+     * @see #generate(Type)
+     */
+    public <T> T generate(@NonNull Type objectType, @NonNull Random random) throws InstanceGenerationException {
+        GenerationContext context = contexts.get();
+        Configuration oneTimeConfig = context.isIdle() ? takeOneTimeConfig() : context.getOneTimeConfig();
+        return generate(objectType, NEW_INSTANCE, random, oneTimeConfig);
+    }
+
+    /**
+     * re-randomizes the fields of an existing instance through the setters, instead of creating a new instance.
+     * nested objects, collections, maps and arrays are re-randomized in place (collections and maps are cleared and
+     * refilled), so that only the immutable leaf values (strings, boxed primitives ...) are allocated.
+     * fields having no public getter, or holding an immutable collection, are set to a new instance
+     *
+     * @param existing the instance to re-randomize, its class is the generated type
+     * @return the existing instance
+     * @throws IllegalArgumentException    if instances of the type can't be re-randomized in place
+     * @throws InstanceGenerationException if a field cannot be generated
+     */
+    public <T> T generateInto(@NonNull T existing) throws InstanceGenerationException {
+        return generateInto(existing.getClass(), existing);
+    }
+
+    /**
+     * @param objectType the type of the instance, e.g. a parameterized type for instances of generic classes
+     * @see #generateInto(Object)
+     */
+    public <T> T generateInto(@NonNull Type objectType, @NonNull T existing) throws InstanceGenerationException {
+        return generateOnThread(objectType, new InPlace(existing));
+    }
+
+    /**
+     * @return whether existing instances of the type can be re-randomized in place
+     */
+    public boolean isGeneratedInPlace(@NonNull Type objectType) {
+        return typeGeneratorFactory.getGenerator(objectType, this) instanceof InPlaceGenerator;
+    }
+
+    /**
+     * re-randomizes the instances of the array in place (when possible), null elements (and all the elements of the
+     * types that can't be generated in place) are set to new instances.
+     * the one time configuration of this instance (if any) applies to all the elements
+     *
+     * @return the target array
+     */
+    public <T> T[] fill(@NonNull T[] target) throws InstanceGenerationException {
+        Class<?> componentType = target.getClass().getComponentType();
+        boolean inPlace = isGeneratedInPlace(componentType);
+        Configuration oneTimeConfig = takeOneTimeConfig();
+        Random random = getRandom();
+        for (int i = 0; i < target.length; i++) {
+            target[i] = generate(componentType, inPlace ? inPlace(target[i]) : NEW_INSTANCE, random, oneTimeConfig);
+        }
+        return target;
+    }
+
+    /**
+     * fills the collection with n random instances of the given type. the elements of a list are re-randomized in
+     * place (when possible), the list is then truncated or completed to n elements. other collections are cleared and
+     * refilled, a set may end up with less than n elements if duplicates are generated.
+     * the one time configuration of this instance (if any) applies to all the instances
+     */
+    @SuppressWarnings("unchecked")
+    public <T> void fill(@NonNull Type objectType, @NonNull Collection<? super T> target, int n) throws InstanceGenerationException {
+        Validators.validateSize(n);
+        Configuration oneTimeConfig = takeOneTimeConfig();
+        Random random = getRandom();
+        int filled = 0;
+        if (target instanceof List<?> list) {
+            List<Object> elements = (List<Object>) list;
+            boolean inPlace = isGeneratedInPlace(objectType);
+            for (; filled < Math.min(n, elements.size()); filled++) {
+                Object element = elements.get(filled);
+                Object generated = generate(objectType, inPlace ? inPlace(element) : NEW_INSTANCE, random, oneTimeConfig);
+                if (generated != element) {
+                    elements.set(filled, generated);
+                }
+            }
+            if (elements.size() > n) {
+                elements.subList(n, elements.size()).clear();
+            }
+        } else {
+            target.clear();
+        }
+        for (; filled < n; filled++) {
+            target.add(generate(objectType, NEW_INSTANCE, random, oneTimeConfig));
+        }
+    }
+
+    /**
+     * derives a variant from the prototype : a copy of the prototype in which each field is re-randomized with the
+     * given probability. the fields holding nested objects that are not re-randomized are themselves varied with the
+     * same probability, so that mutations also reach nested paths, other values (strings, collections, maps, arrays
+     * ...) are shared with the prototype. fields having no public getter are always re-randomized.
+     * the prototype is copied with the compiled setters and getters of its class, which is much cheaper than a full
+     * generation when the mutation rate is low
+     *
+     * @param prototype    the instance to copy, it is left unchanged
+     * @param mutationRate the probability of each field to be re-randomized, between 0 (copy) and 1 (new instance)
+     * @return a new instance
+     * @throws IllegalArgumentException    if variants of the type can't be derived, or the mutation rate is not valid
+     * @throws InstanceGenerationException if a field cannot be generated
+     */
+    public <T> T variant(@NonNull T prototype, double mutationRate) throws InstanceGenerationException {
+        return variant(prototype.getClass(), prototype, mutationRate);
+    }
+
+    /**
+     * @param objectType the type of the prototype, e.g. a parameterized type for instances of generic classes
+     * @see #variant(Object, double)
+     */
+    public <T> T variant(@NonNull Type objectType, @NonNull T prototype, double mutationRate) throws InstanceGenerationException {
+        Validators.validateMutationRate(mutationRate);
+        return generateOnThread(objectType, new Variant(prototype, mutationRate));
+    }
+
+    /**
+     * @return an infinite lazy stream of variants of the prototype, e.g. to generate near-duplicate datasets.
+     * the one time configuration of this instance (if any) applies to all the variants
+     * @see #variant(Object, double)
+     */
+    public <T> Stream<T> variants(@NonNull T prototype, double mutationRate) {
+        Validators.validateMutationRate(mutationRate);
+        Class<?> objectType = prototype.getClass();
+        Variant variant = new Variant(prototype, mutationRate);
+        Configuration oneTimeConfig = takeOneTimeConfig();
+        return Stream.generate(() -> generate(objectType, variant, getRandom(), oneTimeConfig));
+    }
+
+    /**
+     * @return whether variants can be derived from instances of the type
+     */
+    public boolean isVariable(@NonNull Type objectType) {
+        return typeGeneratorFactory.getGenerator(objectType, this) instanceof VariantGenerator;
+    }
+
+    /**
+     * runs the generation on the current thread, as a top level generation or as a nested generation if a generation
+     * is already running on the thread
+     */
+    private <T> T generateOnThread(Type objectType, Generation generation) {
+        GenerationContext context = contexts.get();
+        if (!context.isIdle()) {
+            // nested generation (field, element ...), the one time configuration of the top level generation still applies
+            return owner.generate(objectType, generation, context);
+        }
+        context.setOneTimeConfig(takeOneTimeConfig());
+        try {
+            return owner.generate(objectType, generation, context);
+        } finally {
+            context.setOneTimeConfig(null);
+        }
+    }
+
+    @SuppressWarnings({ "unchecked" })
+    private <T> T generate(Type objectType, Generation generation, GenerationContext context) {
+        if (exceedsDepthLimits(objectType, context)) {
+            return (T) generation.truncated();
+        }
+        if (context.isIdle()) {
+            context.setListener(sampleListener());
+        }
+        GenerationListener listener = context.getListener();
+        context.enter(objectType);
+        try {
+            TypeGenerator generator = typeGeneratorFactory.getGenerator(objectType, this);
+            if (listener == null) {
+                return (T) generation.apply(generator);
+            }
+            return (T) generateTraced(generator, objectType, generation, context.getDepth(), listener);
+        } finally {
+            context.exit();
+        }
+    }
+
+    private static Object generateTraced(TypeGenerator generator, Type objectType, Generation generation, int depth, GenerationListener listener) {
+        long start = System.nanoTime();
+        listener.onGenerationStarted(objectType, generator, depth);
+        try {
+            Object generated = generation.apply(generator);
+            listener.onGenerationCompleted(objectType, generator, depth, generated, System.nanoTime() - start);
+            return generated;
+        } catch (RuntimeException e) {
+            listener.onGenerationFailed(objectType, generator, depth, e);
+            throw e;
+        }
+    }
+
+    /**
+     * @return the listener of the next top level generation, null if it is neither sampled nor recorded in the metrics.
+     * sampling doesn't draw from the random streams of the generations, so it doesn't change the generated instances
+     */
+    private GenerationListener sampleListener() {
+        if (sampledListener == unsampledListener) {
+            return sampledListener;
+        }
+        double sampleRate = generalConfig.getGenerationListenerSampleRate();
+        return sampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < sampleRate ? sampledListener : unsampledListener;
+    }
+
+    private static GenerationListener combineListeners(GenerationListener listener, GenerationMetrics metrics) {
+        if (listener == null || metrics == null) {
+            return listener != null ? listener : metrics;
+        }
+        return new CompositeGenerationListener(List.of(listener, metrics));
+    }
+
+    /**
+     * generates n random instances of the given type, in parallel on the common ForkJoinPool
+     *
+     * @see #generateMany(Type, int, Executor)
+     */
+    public <T> List<T> generateMany(@NonNull Type objectType, int n) throws InstanceGenerationException {
+        return generateMany(objectType, n, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * generates n random instances of the given type, in parallel on the given executor.
+     * the instances are generated by chunks of a fixed size, every chunk having its own random stream forked from a
+     * source of the call (itself forked from the source of this instance), so given a seed the generated list is the
+     * same whatever the number of threads.
+     * the one time configuration of this instance (if any) applies to all the instances
+     *
+     * @param objectType type of the objects
+     * @param n          number of objects to generate
+     * @param executor   executor running the chunks
+     * @return the generated objects, in a fixed size list
+     * @throws InstanceGenerationException if an instance cannot be generated
+     */
+    @SuppressWarnings({ "unchecked" })
+    public <T> List<T> generateMany(@NonNull Type objectType, int n, @NonNull Executor executor) throws InstanceGenerationException {
+        Validators.validateSize(n);
+        Configuration oneTimeConfig = takeOneTimeConfig();
+        Object[] generated = new Object[n];
+        // the source of the call is only used by this thread, so chunk streams are forked in the order of the chunks
+        RandomGenerator bulkRandomSource = forkRandomSource();
+        List<CompletableFuture<Void>> chunks = new ArrayList<>();
+        for (int from = 0; from < n; from += BULK_CHUNK_SIZE) {
+            int chunkFrom = from;
+            int chunkTo = Math.min(n, from + BULK_CHUNK_SIZE);
+            Random chunkRandom = RandomSources.fork(bulkRandomSource);
+            chunks.add(CompletableFuture.runAsync(
+                    () -> generateChunk(objectType, generated, chunkFrom, chunkTo, chunkRandom, oneTimeConfig), executor));
+        }
+        try {
+            CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return (List<T>) Arrays.asList(generated);
+    }
+
+    private void generateChunk(Type objectType, Object[] generated, int from, int to, Random chunkRandom, Configuration oneTimeConfig) {
+        for (int i = from; i < to; i++) {
+            generated[i] = generate(objectType, chunkRandom, oneTimeConfig);
+        }
+    }
+
+    /**
+     * generates an instance with the given random stream and one time configuration instead of the ones of the thread,
+     * used by the generations (bulk, streams, sinks ...) having their own random streams and taking the one time
+     * configuration once for all the instances they generate
+     *
+     * @param oneTimeConfig the one time configuration taken by the caller, null to apply the general configuration
+     * @see #takeOneTimeConfig()
+     */
+    public <T> T generate(@NonNull Type objectType, @NonNull Random random, Configuration oneTimeConfig) throws InstanceGenerationException {
+        return generate(objectType, NEW_INSTANCE, random, oneTimeConfig);
+    }
+
+    /**
+     * runs the action with the generator of the type as a generation of the type, for the sinks writing values without
+     * creating them : the depth limits are checked like for a generation, and the generations started by the action
+     * (fields, elements, keys ...) are nested in the type. the random stream and the one time configuration apply like
+     * for generate(Type, Random, Configuration)
+     *
+     * @return false if the type is truncated (TRUNCATE policy), the action is then not run
+     * @throws NestedObjectRecursionException    if the type is nested in itself more than allowed (FAIL policy)
+     * @throws GenerationDepthExceededException if the type is nested deeper than allowed (FAIL policy)
+     */
+    public boolean runGeneration(@NonNull Type objectType, @NonNull Random random, Configuration oneTimeConfig,
+                                 @NonNull Consumer<TypeGenerator> action) throws InstanceGenerationException {
+        Object result = generate(objectType, new Run(action), random, oneTimeConfig);
+        return result != TRUNCATED_RUN;
+    }
+
+    private <T> T generate(Type objectType, Generation generation, Random random, Configuration oneTimeConfig) {
+        GenerationContext context = contexts.get();
+        Random threadRandom = context.getRandom();
+        Configuration threadOneTimeConfig = context.getOneTimeConfig();
+        context.setRandom(random);
+        context.setOneTimeConfig(oneTimeConfig);
+        try {
+            return owner.generate(objectType, generation, context);
+        } finally {
+            context.setRandom(threadRandom);
+            context.setOneTimeConfig(threadOneTimeConfig);
+        }
+    }
+
+    /**
+     * @return an infinite lazy stream of random instances of the given type, the stream can be run in parallel
+     * (the random stream is split with the elements)
+     */
+    public <T> Stream<T> stream(@NonNull Type objectType) {
+        return StreamSupport.stream(new GenerationSpliterator<>(this, objectType, GenerationSpliterator.UNBOUNDED), false);
+    }
+
+    /**
+     * @return a lazy stream of size random instances of the given type, the stream can be run in parallel
+     * (the random stream is split with the elements)
+     */
+    public <T> Stream<T> stream(@NonNull Type objectType, long size) {
+        Validators.validateSize(size);
+        return StreamSupport.stream(new GenerationSpliterator<>(this, objectType, size), false);
+    }
+
+    /**
+     * @return an infinite iterator of random instances of the given type, generated on demand
+     */
+    public <T> Iterator<T> iterator(@NonNull Type objectType) {
+        return Spliterators.iterator(new GenerationSpliterator<T>(this, objectType, GenerationSpliterator.UNBOUNDED));
+    }
+
+    /**
+     * @return an iterator of size random instances of the given type, generated on demand
+     */
+    public <T> Iterator<T> iterator(@NonNull Type objectType, long size) {
+        Validators.validateSize(size);
+        return Spliterators.iterator(new GenerationSpliterator<T>(this, objectType, size));
+    }
+
+    /**
+     * @return a publisher of an infinite sequence of random instances of the given type, generated on demand
+     */
+    public <T> Flow.Publisher<T> publisher(@NonNull Type objectType) {
+        return publisher(objectType, PublisherConfig.builder().build());
+    }
+
+    /**
+     * @return a publisher of an infinite sequence of random instances of the given type, generated on demand
+     * with the given publisher configuration
+     */
+    public <T> Flow.Publisher<T> publisher(@NonNull Type objectType, @NonNull PublisherConfig publisherConfig) {
+        return new GenerationPublisher<>(this, objectType, GenerationPublisher.UNBOUNDED, publisherConfig);
+    }
+
+    /**
+     * @return a publisher of size random instances of the given type, generated on demand
+     */
+    public <T> Flow.Publisher<T> publisher(@NonNull Type objectType, long size) {
+        return publisher(objectType, size, PublisherConfig.builder().build());
+    }
+
+    /**
+     * @return a publisher of size random instances of the given type, generated on demand with the given publisher
+     * configuration
+     */
+    public <T> Flow.Publisher<T> publisher(@NonNull Type objectType, long size, @NonNull PublisherConfig publisherConfig) {
+        Validators.validateSize(size);
+        return new GenerationPublisher<>(this, objectType, size, publisherConfig);
+    }
+
+    /**
+     * @return a source to fork the random streams of a generation from (e.g. with RandomSources.fork), the streams
+     * don't overlap the thread streams. given a seed, the sources forked in the same order are the same, whatever the
+     * threads having used the instance
+     */
+    public RandomGenerator forkRandomSource() {
+        return RandomSources.forkSource(randomSource);
+    }
+
+    /**
+     * @return the one time configuration of the next generation of this instance, that is now taken, null if there is none
+     */
+    public Configuration takeOneTimeConfig() {
+        return pendingOneTimeConfig.getAndSet(null);
     }
 
     /**
@@ -68,50 +580,155 @@ public class RandomInstanceGenerator {
     public <T> T generate(
             @NonNull Type objectType,
             @NonNull Type... genericTypes) throws InstanceGenerationException {
-        Type parameterizedType = new ParameterizedTypeImpl(genericTypes, (Class<?>) objectType);
-        return generate(parameterizedType);
+        return generate(ParameterizedTypeImpl.of((Class<?>) objectType, genericTypes));
+    }
+
+    /**
+     * generate a random instance of the type captured by the token, e.g.
+     * {@code generate(new TypeToken<Map<String, List<Integer>>>() {})}
+     *
+     * @throws InstanceGenerationException if the instance cannot be generated
+     */
+    public <T> T generate(@NonNull TypeToken<T> typeToken) throws InstanceGenerationException {
+        return generate(typeToken.getType());
     }
 
     /**
-     * check if type exists in objectStack, if so then object can't be generated
-     * because there is recursion
-     * in this object's fields (there is a field that it's instantiation depends on
-     * owner object)
-     * so NestedObjectRecursion is thrown
+     * @return whether the next generation of the type, on the current thread, would be truncated : the type would
+     * exceed the depth limits under the TRUNCATE policy. generators of fields, collections, maps and arrays check it
+     * to leave the field unset or the container empty
+     */
+    public boolean isTruncated(@NonNull Type objectType) {
+        GenerationContext context = contexts.get();
+        Configuration config = getConfig(context);
+        return config.getRecursionPolicy() == RecursionPolicy.TRUNCATE && isBeyondDepthLimits(objectType, context, config);
+    }
+
+    /**
+     * checks the depth limits in constant time : the depth of the path and the occurrences of the type in it
      *
-     * @param type - a type to search for in the stack
+     * @return true if the type must not be generated (TRUNCATE policy)
+     * @throws NestedObjectRecursionException    if the type is nested in itself more than allowed (FAIL policy)
+     * @throws GenerationDepthExceededException if the type is nested deeper than allowed (FAIL policy)
      */
-    private void checkForRecursion(Type objectType) {
-        if (!objectStack.isEmpty() && objectStack.contains(objectType)) {
+    private boolean exceedsDepthLimits(Type objectType, GenerationContext context) {
+        Configuration config = getConfig(context);
+        if (!isBeyondDepthLimits(objectType, context, config)) {
+            return false;
+        }
+        if (config.getRecursionPolicy() == RecursionPolicy.TRUNCATE) {
+            return true;
+        }
+        if (context.getOccurrences(objectType) >= config.getMaxSameTypeDepth()) {
             throw new NestedObjectRecursionException(objectType);
         }
+        throw new GenerationDepthExceededException(objectType, config.getMaxDepth());
     }
 
-    private void clearOneTimeConfig() {
-        if (objectStack.empty()) {
-            this.oneTimeConfig = null;
-        }
+    private static boolean isBeyondDepthLimits(Type objectType, GenerationContext context, Configuration config) {
+        return context.getDepth() >= config.getMaxDepth()
+                || context.getOccurrences(objectType) >= config.getMaxSameTypeDepth();
+    }
+
+    /**
+     * @return the configuration of the generation running on the thread : its one time configuration if any,
+     * the general configuration otherwise
+     */
+    private Configuration getConfig(GenerationContext context) {
+        Configuration oneTimeConfig = context.getOneTimeConfig();
+        return oneTimeConfig != null ? oneTimeConfig : generalConfig;
     }
 
     public RandomInstanceGenerator withSize(int size) {
         Validators.validateSize(size);
         Configuration oneTimeConfig = generalConfig.withMaxSizeExclusive(size + 1).withMinSizeInclusive(size);
-        return new RandomInstanceGenerator(generalConfig, oneTimeConfig);
+        return new RandomInstanceGenerator(this, oneTimeConfig);
     }
 
     public RandomInstanceGenerator withSize(int minSizeInclusive, int maxSizeExclusive) {
         Validators.validateSize(minSizeInclusive, maxSizeExclusive);
         Configuration oneTimeConfig = generalConfig.withMaxSizeExclusive(maxSizeExclusive)
                 .withMinSizeInclusive(minSizeInclusive);
-        return new RandomInstanceGenerator(generalConfig, oneTimeConfig);
+        return new RandomInstanceGenerator(this, oneTimeConfig);
     }
 
     public RandomInstanceGenerator withRegexPattern(String regexPattern) {
         Validators.validateRegexPattern(Utils.removeUnsupportedRegexCharacters(regexPattern));
-        return new RandomInstanceGenerator(generalConfig, generalConfig.withRegexPattern(regexPattern));
+        return new RandomInstanceGenerator(this, generalConfig.withRegexPattern(regexPattern));
     }
 
     public RandomInstanceGenerator withOneTimeConfig(Configuration oneTimeConfig) {
-        return new RandomInstanceGenerator(generalConfig, oneTimeConfig);
+        return new RandomInstanceGenerator(this, oneTimeConfig);
+    }
+
+    private static Generation inPlace(Object existing) {
+        return existing == null ? NEW_INSTANCE : new InPlace(existing);
+    }
+
+    /**
+     * what is done with the generator of the type once the depth limits are checked
+     */
+    private interface Generation {
+        Object apply(TypeGenerator generator);
+
+        /**
+         * @return the result of the generation when the type is truncated (TRUNCATE policy)
+         */
+        default Object truncated() {
+            return null;
+        }
+    }
+
+    /**
+     * re-randomizes an existing instance, that is left as is when truncated
+     */
+    private record InPlace(Object existing) implements Generation {
+        @Override
+        public Object apply(TypeGenerator generator) {
+            if (!(generator instanceof InPlaceGenerator inPlaceGenerator)) {
+                throw new IllegalArgumentException("instances of %s can't be generated in place".formatted(generator.getType().getTypeName()));
+            }
+            inPlaceGenerator.generateInto(existing);
+            return existing;
+        }
+
+        @Override
+        public Object truncated() {
+            return existing;
+        }
+    }
+
+    /**
+     * derives a variant from a prototype, that is shared as is when truncated
+     */
+    private record Variant(Object prototype, double mutationRate) implements Generation {
+        @Override
+        public Object apply(TypeGenerator generator) {
+            if (!(generator instanceof VariantGenerator variantGenerator)) {
+                throw new IllegalArgumentException("variants of %s can't be generated".formatted(generator.getType().getTypeName()));
+            }
+            return variantGenerator.generateVariant(prototype, mutationRate);
+        }
+
+        @Override
+        public Object truncated() {
+            return prototype;
+        }
+    }
+
+    /**
+     * runs an action with the generator, the value (if any) being written by the action instead of being returned
+     */
+    private record Run(Consumer<TypeGenerator> action) implements Generation {
+        @Override
+        public Object apply(TypeGenerator generator) {
+            action.accept(generator);
+            return null;
+        }
+
+        @Override
+        public Object truncated() {
+            return TRUNCATED_RUN;
+        }
     }
-}
\ No newline at end of file
+}
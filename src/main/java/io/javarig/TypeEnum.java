@@ -16,40 +16,41 @@ import java.lang.reflect.Type;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.function.BiFunction;
 
 
 public enum TypeEnum {
 
-    INTEGER(Integer.class, IntegerGenerator.class),
-    STRING(String.class, StringGenerator.class),
-    BYTE(Byte.class, ByteGenerator.class),
-    SHORT(Short.class, ShortGenerator.class),
-    LONG(Long.class, LongGenerator.class),
-    DOUBLE(Double.class, DoubleGenerator.class),
-    FLOAT(Float.class, FloatGenerator.class),
-    BOOLEAN(Boolean.class, BooleanGenerator.class),
-    CHAR(Character.class, CharGenerator.class),
-    INSTANT(Instant.class, InstantGenerator.class),
-    DATE(Date.class, DateGenerator.class),
-    LOCAL_DATE(LocalDate.class, LocalDateGenerator.class),
-    MAP(Map.class, HashMapGenerator.class),
-    HASH_MAP(HashMap.class, HashMapGenerator.class),
-    TREE_MAP(TreeMap.class, TreeMapGenerator.class),
-    LIST(List.class, ArrayListGenerator.class),
-    ARRAY_LIST(ArrayList.class, ArrayListGenerator.class),
-    SET(Set.class, HashSetGenerator.class),
-    HASH_SET(HashSet.class, HashSetGenerator.class),
-    LINKED_HASH_SET(LinkedHashSet.class, LinkedHashSetGenerator.class),
-    TREE_SET(TreeSet.class, TreeSetGenerator.class),
-    ENUM(null, EnumGenerator.class),
-    ARRAY(null, ArrayGenerator.class),
-    OBJECT(null, ObjectGenerator.class);
+    INTEGER(Integer.class, IntegerGenerator::new),
+    STRING(String.class, StringGenerator::new),
+    BYTE(Byte.class, ByteGenerator::new),
+    SHORT(Short.class, ShortGenerator::new),
+    LONG(Long.class, LongGenerator::new),
+    DOUBLE(Double.class, DoubleGenerator::new),
+    FLOAT(Float.class, FloatGenerator::new),
+    BOOLEAN(Boolean.class, BooleanGenerator::new),
+    CHAR(Character.class, CharGenerator::new),
+    INSTANT(Instant.class, InstantGenerator::new),
+    DATE(Date.class, DateGenerator::new),
+    LOCAL_DATE(LocalDate.class, LocalDateGenerator::new),
+    MAP(Map.class, HashMapGenerator::new),
+    HASH_MAP(HashMap.class, HashMapGenerator::new),
+    TREE_MAP(TreeMap.class, TreeMapGenerator::new),
+    LIST(List.class, ArrayListGenerator::new),
+    ARRAY_LIST(ArrayList.class, ArrayListGenerator::new),
+    SET(Set.class, HashSetGenerator::new),
+    HASH_SET(HashSet.class, HashSetGenerator::new),
+    LINKED_HASH_SET(LinkedHashSet.class, LinkedHashSetGenerator::new),
+    TREE_SET(TreeSet.class, TreeSetGenerator::new),
+    ENUM(null, EnumGenerator::new),
+    ARRAY(null, ArrayGenerator::new),
+    OBJECT(null, ObjectGenerator::new);
 
     final Type type;
-    final Class<? extends TypeGenerator> generatorClass;
+    final BiFunction<Type, RandomInstanceGenerator, TypeGenerator> generatorConstructor;
 
-    TypeEnum(Type type, Class<? extends TypeGenerator> generatorClass) {
+    TypeEnum(Type type, BiFunction<Type, RandomInstanceGenerator, TypeGenerator> generatorConstructor) {
         this.type = type;
-        this.generatorClass = generatorClass;
+        this.generatorConstructor = generatorConstructor;
     }
 }
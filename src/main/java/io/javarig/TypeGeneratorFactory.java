@@ -1,31 +1,49 @@
 package io.javarig;
 
 import com.google.common.primitives.Primitives;
-import io.javarig.exception.JavaRIGInternalException;
+import io.javarig.config.PoolConfig;
+import io.javarig.generator.CompiledObjectGenerator;
+import io.javarig.generator.PooledGenerator;
 import io.javarig.generator.TypeGenerator;
+import io.javarig.spi.CompiledGenerator;
+import io.javarig.spi.CompiledGenerators;
 import lombok.NonNull;
 
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static io.javarig.TypeEnum.*;
 
+/**
+ * creates the generators (generation plans) of types, a generator is created once per type and then kept in a cache,
+ * so later generations of the same type only walk the already built generators
+ */
 public class TypeGeneratorFactory {
 
+    private static final Map<Type, TypeEnum> TYPE_ENUMS_BY_TYPE = Arrays.stream(TypeEnum.values())
+            .filter(tEnum -> tEnum.type != null)
+            .collect(Collectors.toUnmodifiableMap(tEnum -> tEnum.type, Function.identity()));
+
+    private final Map<Type, TypeGenerator> generators = new ConcurrentHashMap<>();
+
     /**
-     * gets a TypeEnum instance and prepare its generator
+     * gets the cached generator of the type, or creates it the first time the type is generated
      *
-     * @param type                    Type instance to get its associated TypeEnum
+     * @param type                    Type instance to get its associated generator
      * @param randomInstanceGenerator instance that will be used to generate nested objects
-     * @return TypeEnum instance associated to the type object with generator prepared with necessary objects
+     * @return the generator associated to the type object, prepared with necessary objects
      */
     public TypeGenerator getGenerator(Type type, RandomInstanceGenerator randomInstanceGenerator) {
-        try {
-            return createGeneratorInstance(type, randomInstanceGenerator);
-        } catch (ReflectiveOperationException e) {
-            throw new JavaRIGInternalException(e);
+        TypeGenerator generator = generators.get(type);
+        if (generator == null) {
+            generator = generators.computeIfAbsent(type, key -> createGeneratorInstance(key, randomInstanceGenerator));
         }
+        return generator;
     }
 
     /**
@@ -48,10 +66,8 @@ public class TypeGeneratorFactory {
     private TypeEnum getTypeEnumFromType(Type type) {
         //we only need the raw type, for example : if we have the type of List<Sting> we only need now the class of List
         Class<?> rawType = getRawType(type);
-        return Arrays.stream(TypeEnum.values())
-                .filter(tEnum -> tEnum.type != null && tEnum.type.equals(rawType))
-                .findFirst()
-                .orElseGet(() -> getTypeEnumForUnmatchedTypes(rawType));
+        TypeEnum typeEnum = TYPE_ENUMS_BY_TYPE.get(rawType);
+        return typeEnum != null ? typeEnum : getTypeEnumForUnmatchedTypes(rawType);
     }
 
     @NonNull
@@ -64,9 +80,25 @@ public class TypeGeneratorFactory {
         return OBJECT;
     }
 
-    public TypeGenerator createGeneratorInstance(Type type, RandomInstanceGenerator randomInstanceGenerator) throws ReflectiveOperationException {
+    /**
+     * creates a new generator for the type, without looking into (or filling) the cache.
+     * objects of classes having a compiled generator on the classpath are generated with it, instead of the reflective ObjectGenerator.
+     * the generator of a pooled type draws from the pool, filled by the generator of the type
+     */
+    public TypeGenerator createGeneratorInstance(Type type, RandomInstanceGenerator randomInstanceGenerator) {
+        TypeGenerator generator = createUnpooledGeneratorInstance(type, randomInstanceGenerator);
+        PoolConfig poolConfig = randomInstanceGenerator.getGeneralConfig().getPools().get(type);
+        return poolConfig != null ? new PooledGenerator(type, randomInstanceGenerator, generator, poolConfig) : generator;
+    }
+
+    private TypeGenerator createUnpooledGeneratorInstance(Type type, RandomInstanceGenerator randomInstanceGenerator) {
         TypeEnum typeEnum = getTypeEnumFromType(type);
-        return typeEnum.generatorClass.getConstructor(Type.class, RandomInstanceGenerator.class)
-                .newInstance(type, randomInstanceGenerator);
+        if (typeEnum == OBJECT && type instanceof Class<?> objectClass) {
+            CompiledGenerator<?> compiledGenerator = CompiledGenerators.get(objectClass);
+            if (compiledGenerator != null) {
+                return new CompiledObjectGenerator(type, randomInstanceGenerator, compiledGenerator);
+            }
+        }
+        return typeEnum.generatorConstructor.apply(type, randomInstanceGenerator);
     }
 }
@@ -0,0 +1,33 @@
+package io.javarig;
+
+import io.javarig.util.GenericTypes;
+import lombok.Getter;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+
+/**
+ * captures a (generic) type in the type argument of an anonymous subclass, e.g.
+ * {@code randomInstanceGenerator.generate(new TypeToken<Map<String, List<Integer>>>() {})}
+ *
+ * @param <T> the captured type
+ */
+@Getter
+public abstract class TypeToken<T> {
+    /**
+     * the canonical instance of the captured type
+     */
+    private final Type type;
+
+    protected TypeToken() {
+        if (!(getClass().getGenericSuperclass() instanceof ParameterizedType superclass)) {
+            throw new IllegalStateException("a TypeToken must be created with its type argument, e.g. new TypeToken<List<String>>() {}");
+        }
+        this.type = GenericTypes.canonicalize(superclass.getActualTypeArguments()[0]);
+    }
+
+    @Override
+    public String toString() {
+        return "TypeToken<" + type.getTypeName() + ">";
+    }
+}
@@ -0,0 +1,20 @@
+package io.javarig.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * marks a class for which a generator should be compiled ahead of time by the javarig-processor annotation processor.
+ * the compiled generator creates the object with its public no arguments constructor and calls every setter directly,
+ * it is picked up at runtime instead of the reflective ObjectGenerator
+ *
+ * @see io.javarig.spi.CompiledGenerator
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface GenerateRandom {
+}
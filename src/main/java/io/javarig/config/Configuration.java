@@ -1,9 +1,13 @@
 package io.javarig.config;
 
+import io.javarig.listener.GenerationListener;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.With;
 
+import java.lang.reflect.Type;
+import java.util.Map;
+
 @Getter
 @Builder
 @With
@@ -15,6 +19,62 @@ public class Configuration {
     private int minSizeInclusive = DefaultConfigValues.DEFAULT_MIN_SIZE_INCLUSIVE;
     @Builder.Default
     private String regexPattern = DefaultConfigValues.DEFAULT_REGEX_PATTERN;
+    @Builder.Default
+    private RegexEngine regexEngine = DefaultConfigValues.DEFAULT_REGEX_ENGINE;
+    /**
+     * the RandomGeneratorFactory name of the random source, only read from the general configuration
+     */
+    @Builder.Default
+    private String randomAlgorithm = DefaultConfigValues.DEFAULT_RANDOM_ALGORITHM;
+    /**
+     * the seed of the random source, a random seed is used when null. only read from the general configuration
+     */
+    private Long seed;
+    /**
+     * when true, generated sets and maps have exactly the drawn size, instead of losing the duplicate elements and keys
+     */
+    @Builder.Default
+    private boolean exactCardinality = DefaultConfigValues.DEFAULT_EXACT_CARDINALITY;
+    /**
+     * notified of the generations, generations are not traced when null. only read from the general configuration
+     */
+    private GenerationListener generationListener;
+    /**
+     * the fraction of the top level generations traced by the generation listener, a traced top level generation
+     * is traced with all its nested generations. only read from the general configuration
+     */
+    @Builder.Default
+    private double generationListenerSampleRate = DefaultConfigValues.DEFAULT_GENERATION_LISTENER_SAMPLE_RATE;
+    /**
+     * the maximum number of nested generations, the top level generation being at depth 1
+     */
+    @Builder.Default
+    private int maxDepth = DefaultConfigValues.DEFAULT_MAX_DEPTH;
+    /**
+     * the maximum number of times a type can be nested in itself, 1 means self-referential types can't be generated
+     */
+    @Builder.Default
+    private int maxSameTypeDepth = DefaultConfigValues.DEFAULT_MAX_SAME_TYPE_DEPTH;
+    @Builder.Default
+    private RecursionPolicy recursionPolicy = DefaultConfigValues.DEFAULT_RECURSION_POLICY;
+    /**
+     * whether the generations are recorded in the metrics of the generator (all of them, they are not sampled).
+     * only read from the general configuration
+     */
+    @Builder.Default
+    private boolean metricsEnabled = DefaultConfigValues.DEFAULT_METRICS_ENABLED;
+    /**
+     * the types whose instances are drawn from a pool instead of being generated, at the top level or nested.
+     * pooled instances are shared, they are generated with the configuration of the first generation of the type.
+     * only read from the general configuration
+     */
+    @Builder.Default
+    private Map<Type, PoolConfig> pools = Map.of();
+    /**
+     * the maximum number of instances of all the pools, bounding the memory held by the pools
+     */
+    @Builder.Default
+    private int maxPooledInstances = DefaultConfigValues.DEFAULT_MAX_POOLED_INSTANCES;
     // todo should override the build method to validate before building
 
 }
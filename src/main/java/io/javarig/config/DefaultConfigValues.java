@@ -4,4 +4,26 @@ public class DefaultConfigValues {
     public final static int DEFAULT_MAX_SIZE_EXCLUSIVE = 15;
     public final static int DEFAULT_MIN_SIZE_INCLUSIVE = 5;
     public final static String DEFAULT_REGEX_PATTERN = "[a-zA-Z0-9?!%&][,.;/*+-_#^@(){}|'<>]*";
+    public final static int DEFAULT_REGEX_CACHE_SIZE = 256;
+    public final static RegexEngine DEFAULT_REGEX_ENGINE = RegexEngine.GENEREX;
+    public final static String DEFAULT_RANDOM_ALGORITHM = "L64X128MixRandom";
+    public final static int DEFAULT_PUBLISHER_BATCH_SIZE = 64;
+    public final static int DEFAULT_PUBLISHER_PREFETCH = 64;
+    public final static boolean DEFAULT_EXACT_CARDINALITY = false;
+    public final static double DEFAULT_GENERATION_LISTENER_SAMPLE_RATE = 1.0;
+    public final static boolean DEFAULT_METRICS_ENABLED = false;
+    public final static int DEFAULT_MAX_DEPTH = Integer.MAX_VALUE;
+    public final static int DEFAULT_MAX_SAME_TYPE_DEPTH = 1;
+    public final static RecursionPolicy DEFAULT_RECURSION_POLICY = RecursionPolicy.FAIL;
+    public final static int DEFAULT_POOL_SIZE = 1024;
+    public final static PoolSampling DEFAULT_POOL_SAMPLING = PoolSampling.RANDOM;
+    public final static double DEFAULT_POOL_REFRESH_FRACTION = 0;
+    public final static long DEFAULT_POOL_REFRESH_INTERVAL = 100_000;
+    public final static int DEFAULT_MAX_POOLED_INSTANCES = 1_000_000;
+    public final static int DEFAULT_SINK_BUFFER_SIZE = 1 << 16;
+    public final static DelimitedFormat DEFAULT_DELIMITED_FORMAT = DelimitedFormat.CSV;
+    public final static int DEFAULT_DELIMITED_WORKERS = 8;
+    public final static int DEFAULT_DELIMITED_BUFFER_SIZE = 1 << 20;
+    public final static boolean DEFAULT_DELIMITED_HEADER = false;
+    public final static boolean DEFAULT_DELIMITED_MERGE = false;
 }
@@ -0,0 +1,21 @@
+package io.javarig.config;
+
+/**
+ * the delimited text formats the rows of flat types can be written in
+ */
+public enum DelimitedFormat {
+    /**
+     * comma separated values (RFC 4180) : fields containing a comma, a quote or a line break are quoted, null values
+     * are empty
+     */
+    CSV,
+    /**
+     * tab separated values : tabs, line breaks and backslashes are escaped with a backslash, null values are empty
+     */
+    TSV,
+    /**
+     * the text format of the PostgreSQL COPY command : tab separated, tabs, line breaks and backslashes are escaped
+     * with a backslash, null values are \N
+     */
+    POSTGRES_COPY
+}
@@ -0,0 +1,46 @@
+package io.javarig.config;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.With;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * configuration of the writers of delimited text files (CSV, TSV, PostgreSQL COPY)
+ */
+@Getter
+@Builder
+@With
+public class DelimitedWriterConfig {
+    @Builder.Default
+    private DelimitedFormat format = DefaultConfigValues.DEFAULT_DELIMITED_FORMAT;
+    /**
+     * the number of shards written in parallel, each shard having its own random stream and file. given a seed, the
+     * rows depend on the number of shards (not on the executor), the default is fixed so that they are the same from
+     * a machine to another
+     */
+    @Builder.Default
+    private int workers = DefaultConfigValues.DEFAULT_DELIMITED_WORKERS;
+    /**
+     * the size in bytes of the (direct) buffer of each shard
+     */
+    @Builder.Default
+    private int bufferSize = DefaultConfigValues.DEFAULT_DELIMITED_BUFFER_SIZE;
+    /**
+     * whether the first line lists the names of the columns
+     */
+    @Builder.Default
+    private boolean header = DefaultConfigValues.DEFAULT_DELIMITED_HEADER;
+    /**
+     * whether the shards are merged into the target file once written, instead of being left next to it
+     */
+    @Builder.Default
+    private boolean merge = DefaultConfigValues.DEFAULT_DELIMITED_MERGE;
+    /**
+     * the executor the shards are written on
+     */
+    @Builder.Default
+    private Executor executor = ForkJoinPool.commonPool();
+}
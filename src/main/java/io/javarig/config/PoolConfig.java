@@ -0,0 +1,43 @@
+package io.javarig.config;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.With;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * configuration of the pool of a type : instances pre-generated on the first generation of the type, then drawn
+ * instead of being generated
+ *
+ * @see Configuration the pools field of Configuration
+ */
+@Getter
+@Builder
+@With
+public class PoolConfig {
+    /**
+     * the number of pre-generated instances
+     */
+    @Builder.Default
+    private int size = DefaultConfigValues.DEFAULT_POOL_SIZE;
+    @Builder.Default
+    private PoolSampling sampling = DefaultConfigValues.DEFAULT_POOL_SAMPLING;
+    /**
+     * the fraction of the pool regenerated by a refresh, the pool is never refreshed when 0
+     */
+    @Builder.Default
+    private double refreshFraction = DefaultConfigValues.DEFAULT_POOL_REFRESH_FRACTION;
+    /**
+     * the number of draws between two refreshes
+     */
+    @Builder.Default
+    private long refreshInterval = DefaultConfigValues.DEFAULT_POOL_REFRESH_INTERVAL;
+    /**
+     * the executor the refreshes run on, in the background of the generations. it must not run them on the thread
+     * submitting them, which is in the middle of a generation of the pooled type
+     */
+    @Builder.Default
+    private Executor refreshExecutor = ForkJoinPool.commonPool();
+}
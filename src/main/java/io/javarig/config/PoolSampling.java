@@ -0,0 +1,15 @@
+package io.javarig.config;
+
+/**
+ * how the instances of a pool are drawn
+ */
+public enum PoolSampling {
+    /**
+     * a random instance of the pool is drawn, with the random stream of the generation
+     */
+    RANDOM,
+    /**
+     * the instances of the pool are drawn in turn
+     */
+    ROUND_ROBIN
+}
@@ -0,0 +1,33 @@
+package io.javarig.config;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.With;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * configuration of the publishers of random instances
+ */
+@Getter
+@Builder
+@With
+public class PublisherConfig {
+    /**
+     * the maximum number of instances generated at once
+     */
+    @Builder.Default
+    private int batchSize = DefaultConfigValues.DEFAULT_PUBLISHER_BATCH_SIZE;
+    /**
+     * the maximum number of instances generated ahead of the subscriber demand
+     */
+    @Builder.Default
+    private int prefetch = DefaultConfigValues.DEFAULT_PUBLISHER_PREFETCH;
+    /**
+     * the executor the instances are generated and emitted on, it can be a virtual thread per task executor
+     * on runtimes having virtual threads
+     */
+    @Builder.Default
+    private Executor executor = ForkJoinPool.commonPool();
+}
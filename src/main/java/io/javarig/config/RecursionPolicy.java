@@ -0,0 +1,16 @@
+package io.javarig.config;
+
+/**
+ * what happens when the generation of a type would exceed the depth limits (maxDepth, maxSameTypeDepth)
+ */
+public enum RecursionPolicy {
+    /**
+     * the generation fails, with a NestedObjectRecursionException or a GenerationDepthExceededException
+     */
+    FAIL,
+    /**
+     * the type is not generated : the field is left null (or to its default value), the collection, map or array
+     * is left empty
+     */
+    TRUNCATE
+}
@@ -0,0 +1,18 @@
+package io.javarig.config;
+
+/**
+ * how strings of regex patterns are generated, patterns that are only a sequence of character classes
+ * are always generated from their alphabet tables
+ */
+public enum RegexEngine {
+    /**
+     * random walk of the pattern automaton (Generex)
+     */
+    GENEREX,
+    /**
+     * uniform sampling over the strings of the pattern having a length between the configured bounds,
+     * done in a single pass over the minimal automaton of the pattern. strings whose upper length bound is above
+     * UniformRegexSampler.MAX_COUNTED_LENGTH are generated by a random walk, like GENEREX
+     */
+    UNIFORM
+}
@@ -0,0 +1,9 @@
+package io.javarig.exception;
+
+import java.lang.reflect.Type;
+
+public class GenerationDepthExceededException extends RuntimeException {
+    public GenerationDepthExceededException(Type type, int maxDepth) {
+        super(String.format("object %s can't be generated, it is nested deeper than the max depth %d", type.getTypeName(), maxDepth));
+    }
+}
@@ -0,0 +1,9 @@
+package io.javarig.exception;
+
+import java.lang.reflect.Type;
+
+public class InfeasibleCardinalityException extends InstanceGenerationException {
+    public InfeasibleCardinalityException(int size, Type type, String reason) {
+        super(String.format("can't generate %d distinct values of type %s : %s", size, type.getTypeName(), reason));
+    }
+}
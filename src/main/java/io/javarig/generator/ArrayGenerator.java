@@ -2,42 +2,103 @@ package io.javarig.generator;
 
 import io.javarig.RandomInstanceGenerator;
 import io.javarig.exception.InstanceGenerationException;
+import io.javarig.generator.primitive.BooleanGenerator;
+import io.javarig.generator.primitive.CharGenerator;
+import io.javarig.generator.primitive.DoubleGenerator;
+import io.javarig.generator.primitive.FloatGenerator;
+import io.javarig.generator.primitive.IntegerGenerator;
+import io.javarig.generator.primitive.LongGenerator;
+import io.javarig.generator.primitive.ShortGenerator;
 import lombok.Getter;
 import lombok.Setter;
-import org.apache.commons.lang3.ArrayUtils;
-import org.apache.commons.lang3.ClassUtils;
 
 import java.lang.reflect.Array;
 import java.lang.reflect.Type;
-import java.util.List;
+import java.util.Random;
 
+/**
+ * generates arrays, allocated once at their final size and filled in place.
+ * primitive arrays are filled with unboxed values, drawn the same way the primitive generators draw them.
+ * existing arrays can be refilled in place, keeping their length
+ */
 @Setter
 @Getter
-public class ArrayGenerator extends TypeGenerator {
+public class ArrayGenerator extends TypeGenerator implements InPlaceGenerator {
 
     public ArrayGenerator(Type type, RandomInstanceGenerator randomInstanceGenerator) {
         super(type, randomInstanceGenerator);
     }
+
     @Override
     public Object generate() throws InstanceGenerationException {
         Class<?> arrayParameterType = ((Class<?>) getType()).componentType();
+        int size = getRandom().nextInt(getConfig().getMinSizeInclusive(), getConfig().getMaxSizeExclusive());
         if (arrayParameterType.isPrimitive()) {
-            return generatePrimitiveArray(arrayParameterType);
+            return generatePrimitiveArray(arrayParameterType, size);
         } else {
-            return generateArray(arrayParameterType);
+            return generateArray(arrayParameterType, size);
         }
     }
 
-    private Object generatePrimitiveArray(Class<?> primitiveType) {
-        Class<?> wrapperType = ClassUtils.primitiveToWrapper(primitiveType);
-        return ArrayUtils.toPrimitive(generateArray(wrapperType));
+    /**
+     * re-randomizes the elements of the array, its length is kept.
+     * the non null elements of object arrays are themselves re-randomized in place when their type allows it
+     */
+    @Override
+    public void generateInto(Object existing) throws InstanceGenerationException {
+        Class<?> arrayParameterType = ((Class<?>) getType()).componentType();
+        if (arrayParameterType.isPrimitive()) {
+            fillPrimitiveArray(existing);
+            return;
+        }
+        RandomInstanceGenerator randomInstanceGenerator = getRandomInstanceGenerator();
+        if (randomInstanceGenerator.isTruncated(arrayParameterType)) {
+            return;
+        }
+        boolean inPlace = randomInstanceGenerator.isGeneratedInPlace(arrayParameterType);
+        Object[] array = (Object[]) existing;
+        for (int i = 0; i < array.length; i++) {
+            array[i] = inPlace && array[i] != null
+                    ? randomInstanceGenerator.generateInto(arrayParameterType, array[i])
+                    : randomInstanceGenerator.generate(arrayParameterType);
+        }
     }
 
-    private Object[] generateArray(Class<?> arrayParameterType) {
-        List<Object> objectList = getRandomInstanceGenerator()
-                .generate(List.class, arrayParameterType);
-        Object[] arrayInstance = (Object[]) Array.newInstance(arrayParameterType, 0);
-        arrayInstance = objectList.toArray(arrayInstance);
-        return arrayInstance;
+    private Object generatePrimitiveArray(Class<?> primitiveType, int size) {
+        Object array = Array.newInstance(primitiveType, size);
+        fillPrimitiveArray(array);
+        return array;
+    }
+
+    private void fillPrimitiveArray(Object array) {
+        Random random = getRandom();
+        if (array instanceof int[] ints) {
+            for (int i = 0; i < ints.length; i++) ints[i] = IntegerGenerator.nextValue(random);
+        } else if (array instanceof long[] longs) {
+            for (int i = 0; i < longs.length; i++) longs[i] = LongGenerator.nextValue(random);
+        } else if (array instanceof double[] doubles) {
+            for (int i = 0; i < doubles.length; i++) doubles[i] = DoubleGenerator.nextValue(random);
+        } else if (array instanceof float[] floats) {
+            for (int i = 0; i < floats.length; i++) floats[i] = FloatGenerator.nextValue(random);
+        } else if (array instanceof short[] shorts) {
+            for (int i = 0; i < shorts.length; i++) shorts[i] = ShortGenerator.nextValue(random);
+        } else if (array instanceof char[] chars) {
+            for (int i = 0; i < chars.length; i++) chars[i] = CharGenerator.nextValue(random);
+        } else if (array instanceof boolean[] booleans) {
+            for (int i = 0; i < booleans.length; i++) booleans[i] = BooleanGenerator.nextValue(random);
+        } else {
+            random.nextBytes((byte[]) array);
+        }
+    }
+
+    private Object[] generateArray(Class<?> arrayParameterType, int size) {
+        if (getRandomInstanceGenerator().isTruncated(arrayParameterType)) {
+            return (Object[]) Array.newInstance(arrayParameterType, 0);
+        }
+        Object[] array = (Object[]) Array.newInstance(arrayParameterType, size);
+        for (int i = 0; i < size; i++) {
+            array[i] = getRandomInstanceGenerator().generate(arrayParameterType);
+        }
+        return array;
     }
 }
@@ -0,0 +1,48 @@
+package io.javarig.generator;
+
+import io.javarig.RandomInstanceGenerator;
+import io.javarig.exception.InstanceGenerationException;
+import io.javarig.spi.CompiledGenerator;
+import lombok.Getter;
+
+import java.lang.reflect.Type;
+
+/**
+ * a type generator that delegates to a generator compiled ahead of time for the type.
+ * existing instances are re-randomized (and varied) by the reflective generator, compiled generators only create new instances
+ *
+ * @see io.javarig.spi.CompiledGenerators
+ */
+@Getter
+public class CompiledObjectGenerator extends TypeGenerator implements InPlaceGenerator, VariantGenerator {
+    private final CompiledGenerator<?> compiledGenerator;
+    private volatile ObjectGenerator reflectiveGenerator;
+
+    public CompiledObjectGenerator(Type type, RandomInstanceGenerator randomInstanceGenerator, CompiledGenerator<?> compiledGenerator) {
+        super(type, randomInstanceGenerator);
+        this.compiledGenerator = compiledGenerator;
+    }
+
+    @Override
+    public Object generate() throws InstanceGenerationException {
+        return compiledGenerator.generate(getRandomInstanceGenerator());
+    }
+
+    @Override
+    public void generateInto(Object existing) throws InstanceGenerationException {
+        getReflectiveGenerator().generateInto(existing);
+    }
+
+    @Override
+    public Object generateVariant(Object prototype, double mutationRate) throws InstanceGenerationException {
+        return getReflectiveGenerator().generateVariant(prototype, mutationRate);
+    }
+
+    private ObjectGenerator getReflectiveGenerator() {
+        ObjectGenerator generator = reflectiveGenerator;
+        if (generator == null) {
+            generator = reflectiveGenerator = new ObjectGenerator(getType(), getRandomInstanceGenerator());
+        }
+        return generator;
+    }
+}
@@ -0,0 +1,80 @@
+package io.javarig.generator;
+
+import io.javarig.FiniteDomain;
+import io.javarig.RandomInstanceGenerator;
+import io.javarig.exception.InfeasibleCardinalityException;
+
+import java.lang.reflect.Type;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Predicate;
+
+/**
+ * generates a given number of distinct values, used by the sets and maps having an exact cardinality.
+ * values of finite domains are sampled without replacement (partial Fisher-Yates shuffle of the domain indexes),
+ * other values are generated until enough distinct ones are found, within a bounded number of attempts
+ */
+public class DistinctValues {
+    /**
+     * domains up to this size are shuffled in an array, bigger ones in a map only holding the swapped indexes
+     */
+    private static final int MAX_DENSE_DOMAIN_SIZE = 1024;
+    private static final int MAX_ATTEMPTS_PER_VALUE = 10;
+    private static final int MIN_ATTEMPTS = 100;
+
+    /**
+     * @param valueType   the type of the values
+     * @param count       the number of distinct values to generate
+     * @param addIfAbsent adds a value to the generated collection, returns false if it's a duplicate
+     * @throws InfeasibleCardinalityException if the domain of the values is too small, or if not enough distinct
+     *                                        values were generated within the attempts
+     */
+    public static void generate(RandomInstanceGenerator randomInstanceGenerator, Random random, Type valueType, int count,
+                                Predicate<Object> addIfAbsent) {
+        TypeGenerator valueGenerator = randomInstanceGenerator.getTypeGeneratorFactory().getGenerator(valueType, randomInstanceGenerator);
+        if (valueGenerator instanceof FiniteDomain domain) {
+            sample(domain, random, valueType, count, addIfAbsent);
+            return;
+        }
+        long maxAttempts = Math.max(MIN_ATTEMPTS, (long) count * MAX_ATTEMPTS_PER_VALUE);
+        int added = 0;
+        for (long attempts = 0; added < count; attempts++) {
+            if (attempts == maxAttempts) {
+                throw new InfeasibleCardinalityException(count, valueType,
+                        "only %d distinct values were generated in %d attempts".formatted(added, maxAttempts));
+            }
+            if (addIfAbsent.test(randomInstanceGenerator.generate(valueType))) {
+                added++;
+            }
+        }
+    }
+
+    private static void sample(FiniteDomain domain, Random random, Type valueType, int count, Predicate<Object> addIfAbsent) {
+        int domainSize = domain.getDomainSize();
+        if (count > domainSize) {
+            throw new InfeasibleCardinalityException(count, valueType, "it only has %d values".formatted(domainSize));
+        }
+        if (domainSize <= MAX_DENSE_DOMAIN_SIZE) {
+            int[] indexes = new int[domainSize];
+            for (int i = 0; i < domainSize; i++) {
+                indexes[i] = i;
+            }
+            for (int i = 0; i < count; i++) {
+                int j = i + random.nextInt(domainSize - i);
+                int index = indexes[j];
+                indexes[j] = indexes[i];
+                addIfAbsent.test(domain.getDomainValue(index));
+            }
+            return;
+        }
+        // indexes that are not in the map are at their initial position
+        Map<Integer, Integer> swappedIndexes = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            int j = i + random.nextInt(domainSize - i);
+            int index = swappedIndexes.getOrDefault(j, j);
+            swappedIndexes.put(j, swappedIndexes.getOrDefault(i, i));
+            addIfAbsent.test(domain.getDomainValue(index));
+        }
+    }
+}
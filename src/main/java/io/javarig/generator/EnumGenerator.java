@@ -1,5 +1,6 @@
 package io.javarig.generator;
 
+import io.javarig.FiniteDomain;
 import io.javarig.RandomInstanceGenerator;
 import lombok.Getter;
 import lombok.Setter;
@@ -8,18 +9,29 @@ import java.lang.reflect.Type;
 
 @Getter
 @Setter
-public class EnumGenerator extends TypeGenerator {
+public class EnumGenerator extends TypeGenerator implements FiniteDomain {
+    private final Object[] enumConstants;
 
     public EnumGenerator(Type type, RandomInstanceGenerator randomInstanceGenerator) {
         super(type, randomInstanceGenerator);
+        enumConstants = ((Class<?>) type).getEnumConstants();
     }
 
     @Override
     public Object generate() {
-        Object[] enumConstants = ((Class<?>) getType()).getEnumConstants();
         if (enumConstants.length == 0) {
             return null;
         }
         return enumConstants[getRandom().nextInt(0, enumConstants.length)];
     }
+
+    @Override
+    public int getDomainSize() {
+        return enumConstants.length;
+    }
+
+    @Override
+    public Object getDomainValue(int index) {
+        return enumConstants[index];
+    }
 }
@@ -0,0 +1,16 @@
+package io.javarig.generator;
+
+import io.javarig.exception.InstanceGenerationException;
+
+/**
+ * implemented by the generators that can re-randomize an existing instance of their type instead of creating one
+ *
+ * @see io.javarig.RandomInstanceGenerator#generateInto(Object)
+ */
+public interface InPlaceGenerator {
+    /**
+     * re-randomizes the instance in place, its nested mutable instances (objects, collections, maps, arrays) are
+     * re-randomized in place as well, so that only the immutable leaf values are allocated
+     */
+    void generateInto(Object existing) throws InstanceGenerationException;
+}
@@ -1,114 +1,175 @@
 package io.javarig.generator;
 
 import io.javarig.util.GenericTypes;
-import io.javarig.ParameterizedTypeImpl;
 import io.javarig.RandomInstanceGenerator;
 import io.javarig.exception.AbstractClassInstantiationException;
 import io.javarig.exception.InstanceGenerationException;
 import io.javarig.exception.InvocationSetterException;
 import io.javarig.exception.NoAccessibleDefaultConstructorException;
-import io.javarig.util.Utils;
+import io.javarig.util.ClassMetadata;
+import io.javarig.util.LambdaAccessors;
 import lombok.Getter;
 import lombok.Setter;
-import lombok.extern.slf4j.Slf4j;
 
 import java.lang.reflect.*;
 import java.util.*;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
-
-import static io.javarig.util.Utils.getOwnOrInheritedFieldByName;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 @Getter
 @Setter
-@Slf4j
-public class ObjectGenerator extends TypeGenerator {
-    private static final String SETTER_PREFIX = "set";
-    private Map<String,Type> genericTypesMap = new HashMap<>();
+public class ObjectGenerator extends TypeGenerator implements InPlaceGenerator, VariantGenerator {
+    private final Class<?> objectClass;
+    /**
+     * the type arguments of the generated type, bound to the type variables of the class and of its superclasses
+     */
+    private final Map<TypeVariable<?>, Type> typeVariableBindings;
+    private final List<FieldBinding> fieldBindings;
+    private volatile Supplier<Object> constructor;
 
     public ObjectGenerator(Type type, RandomInstanceGenerator randomInstanceGenerator) {
         super(type, randomInstanceGenerator);
+        if (type instanceof ParameterizedType parameterizedType) {
+            objectClass = (Class<?>) parameterizedType.getRawType();
+            typeVariableBindings = GenericTypes.bindTypeVariables(objectClass, parameterizedType.getActualTypeArguments());
+        } else {
+            objectClass = (Class<?>) type;
+            typeVariableBindings = GenericTypes.bindTypeVariables(objectClass, new Type[0]);
+        }
+        fieldBindings = bindFields(objectClass);
     }
 
     @Override
     public Object generate() throws InstanceGenerationException {
-        Type objectType = getType();
-        Class<?> objectClass;
-        if(objectType instanceof ParameterizedType parameterizedType){
-            objectClass = (Class<?>) parameterizedType.getRawType();
-            constructGenericTypesMap(objectClass, parameterizedType);
-        } else {
-            objectClass = (Class<?>) objectType;
-        }
         Object generatedObject = getNewObjectInstance(objectClass);
-        log.info("generating object of type {} ...", objectClass.getName());
-        generateFields(generatedObject, objectClass);
-        log.info("created object {}", generatedObject);
+        generateFields(generatedObject);
         return generatedObject;
     }
 
-    private void constructGenericTypesMap(Class<?> objectClass, ParameterizedType parameterizedType) {
-        List<Type> typeParametersValues = Arrays.asList(parameterizedType.getActualTypeArguments());
-        List<String> typeParametersKeys = Arrays.stream(objectClass.getTypeParameters())
-                .map(TypeVariable::getTypeName)
-                .toList();
-        genericTypesMap = IntStream.range(0, typeParametersKeys.size())
-                .boxed()
-                .collect(Collectors.toMap(typeParametersKeys::get, typeParametersValues::get));
+    private void generateFields(Object generatedObject) throws InstanceGenerationException {
+        fieldBindings.forEach((fieldBinding) -> generateField(generatedObject, fieldBinding));
     }
 
-    private void generateFields(Object generatedObject, Class<?> objectClass) throws InstanceGenerationException {
-        List<Method> setters = getSetters(objectClass);
-        setters.forEach((setter) -> generateFieldWithSetter(generatedObject, objectClass, setter));
+    /**
+     * re-randomizes the fields of the object through its setters. the current values of the fields that can be read
+     * with a getter, and that are themselves objects, collections, maps or arrays, are re-randomized in place
+     */
+    @Override
+    public void generateInto(Object existing) throws InstanceGenerationException {
+        for (FieldBinding fieldBinding : fieldBindings) {
+            if (!generateFieldInPlace(existing, fieldBinding)) {
+                generateField(existing, fieldBinding);
+            }
+        }
     }
 
-    private static List<Method> getSetters(Class<?> objectClass) {
-        return Arrays.stream(objectClass.getMethods())
-                .filter(method -> method.getName().startsWith(SETTER_PREFIX))
-                .toList();
+    /**
+     * @return whether the current value of the field has been re-randomized in place
+     */
+    private boolean generateFieldInPlace(Object existing, FieldBinding fieldBinding) {
+        RandomInstanceGenerator randomInstanceGenerator = getRandomInstanceGenerator();
+        if (fieldBinding.getter() == null || randomInstanceGenerator.isTruncated(fieldBinding.type())
+                || !randomInstanceGenerator.isGeneratedInPlace(fieldBinding.type())) {
+            return false;
+        }
+        Object currentValue = getField(existing, fieldBinding);
+        if (currentValue == null) {
+            return false;
+        }
+        try {
+            randomInstanceGenerator.generateInto(fieldBinding.type(), currentValue);
+            return true;
+        } catch (UnsupportedOperationException e) {
+            // immutable collection or map (List.of() ...), it is replaced by a new one
+            return false;
+        }
     }
 
-    private void generateFieldWithSetter(Object generatedObject, Class<?> objectClass, Method setter) {
-        String fieldName = Utils.getFieldNameFromSetterMethodName(setter.getName(), SETTER_PREFIX);
-        try {
-            Field field = getOwnOrInheritedFieldByName(objectClass, fieldName);
-            generateField(generatedObject, setter, field);
-        } catch (NoSuchFieldException ignore) {
-            log.warn("no such field with name {} for setter {}", fieldName, setter.getName());
+    /**
+     * copies the prototype field by field through the getters and setters, each field being re-randomized with the
+     * probability mutationRate instead. nested objects that are copied are themselves varied
+     */
+    @Override
+    public Object generateVariant(Object prototype, double mutationRate) throws InstanceGenerationException {
+        Object variant = getNewObjectInstance(objectClass);
+        RandomInstanceGenerator randomInstanceGenerator = getRandomInstanceGenerator();
+        Random random = getRandom();
+        for (FieldBinding fieldBinding : fieldBindings) {
+            boolean mutated = random.nextDouble() < mutationRate;
+            if (mutated || fieldBinding.getter() == null) {
+                generateField(variant, fieldBinding);
+                continue;
+            }
+            Object value = getField(prototype, fieldBinding);
+            if (value != null && randomInstanceGenerator.isVariable(fieldBinding.type())) {
+                value = randomInstanceGenerator.variant(fieldBinding.type(), value, mutationRate);
+            }
+            setField(variant, fieldBinding, value);
         }
+        return variant;
     }
 
-    private void generateField(Object generatedObject, Method setter, Field field) throws InstanceGenerationException {
-        Type type = field.getGenericType();
-        if(type instanceof ParameterizedType parameterizedType){
-            type = resolveTypeArguments(parameterizedType);
+    /**
+     * binds each setter of the class to the type of its field, resolved with the type arguments of the generated type
+     */
+    private List<FieldBinding> bindFields(Class<?> objectClass) {
+        return ClassMetadata.of(objectClass).getSetterBindings().stream()
+                .map(setterBinding -> new FieldBinding(setterBinding.setterName(), setterBinding.setter(),
+                        setterBinding.getter(), resolveFieldType(setterBinding.fieldType())))
+                .toList();
+    }
+
+    private Type resolveFieldType(Type type) {
+        return GenericTypes.resolve(type, typeVariableBindings);
+    }
+
+    private void generateField(Object generatedObject, FieldBinding fieldBinding) throws InstanceGenerationException {
+        if (getRandomInstanceGenerator().isTruncated(fieldBinding.type())) {
+            // the field keeps the value set by the constructor
+            return;
         }
-        Object generatedField = getRandomInstanceGenerator().generate(GenericTypes.resolve(type, genericTypesMap));
+        Object generatedField = getRandomInstanceGenerator().generate(fieldBinding.type());
+        setField(generatedObject, fieldBinding, generatedField);
+    }
+
+    private static void setField(Object object, FieldBinding fieldBinding, Object value) throws InstanceGenerationException {
         try {
-            setter.invoke(generatedObject, generatedField);
-        } catch (IllegalAccessException ignore) {
-            // this will be ignored because if the setter is not accessible (i.e. has a non-public access modifier)
-            // we don't want to do anything
-            log.warn("setter {} in class {} is not accessible", setter.getName(), generatedObject.getClass().getName());
-        } catch (InvocationTargetException e) {
-            throw new InvocationSetterException(setter.getName(), generatedObject.getClass().getName(), e);
+            fieldBinding.setter().accept(object, value);
+        } catch (Exception e) {
+            throw new InvocationSetterException(fieldBinding.setterName(), object.getClass().getName(),
+                    new InvocationTargetException(e));
         }
     }
 
-    private Type resolveTypeArguments(Type type) {
-        ParameterizedType parameterizedType = (ParameterizedType) type;
-        List<Type> typeArguments = Arrays.stream(parameterizedType.getActualTypeArguments())
-                .map((typeArgument -> GenericTypes.resolve(typeArgument, genericTypesMap)))
-                .toList();
-        Type[] typeArgumentsArray = new Type[typeArguments.size()];
-        return new ParameterizedTypeImpl(typeArguments.toArray(typeArgumentsArray),
-                (Class<?>) ((ParameterizedType) type).getRawType());
+    private static Object getField(Object object, FieldBinding fieldBinding) throws InstanceGenerationException {
+        try {
+            return fieldBinding.getter().apply(object);
+        } catch (Exception e) {
+            throw new InstanceGenerationException(new InvocationTargetException(e));
+        }
     }
 
     private Object getNewObjectInstance(Class<?> objectClass) throws InstanceGenerationException {
+        Supplier<Object> objectConstructor = constructor;
+        if (objectConstructor == null) {
+            objectConstructor = constructor = compileConstructor(objectClass);
+        }
+        try {
+            return objectConstructor.get();
+        } catch (Exception e) {
+            throw new InstanceGenerationException(new InvocationTargetException(e));
+        }
+    }
+
+    private static Supplier<Object> compileConstructor(Class<?> objectClass) throws InstanceGenerationException {
         try {
-            return objectClass.getConstructor().newInstance();
-        } catch (InvocationTargetException | IllegalAccessException e) {
+            Constructor<?> defaultConstructor = objectClass.getConstructor();
+            if (Modifier.isAbstract(objectClass.getModifiers())) {
+                throw new InstantiationException(objectClass.getName());
+            }
+            return LambdaAccessors.compileConstructor(defaultConstructor);
+        } catch (IllegalAccessException e) {
             throw new InstanceGenerationException(e);
         } catch (NoSuchMethodException e) {
             throw new NoAccessibleDefaultConstructorException(objectClass, e);
@@ -116,4 +177,10 @@ public class ObjectGenerator extends TypeGenerator {
             throw new AbstractClassInstantiationException(objectClass.getName(), e);
         }
     }
+
+    /**
+     * a (compiled) setter of the generated class, its (compiled) getter if any, and the type of the field it sets
+     */
+    private record FieldBinding(String setterName, BiConsumer<Object, Object> setter, Function<Object, Object> getter, Type type) {
+    }
 }
@@ -0,0 +1,111 @@
+package io.javarig.generator;
+
+import io.javarig.RandomInstanceGenerator;
+import io.javarig.config.PoolConfig;
+import io.javarig.config.PoolSampling;
+import io.javarig.exception.InstanceGenerationException;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Type;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * a type generator drawing the instances of its type from a pool, that is filled by the generator of the type on the
+ * first generation. every refresh interval draws, a fraction of the pool is regenerated in the background, the pool
+ * being refreshed as a ring (oldest instances first).
+ * pools are filled without holding a lock, so pooled types nesting each other can be filled from different threads :
+ * when several threads fill the pool at the same time, the first pool published is kept and the others are dropped.
+ * pooled instances are shared by all the generations, they must not be modified
+ */
+@Getter
+@Slf4j
+public class PooledGenerator extends TypeGenerator {
+    private final TypeGenerator delegate;
+    private final PoolConfig poolConfig;
+    @Getter(AccessLevel.NONE)
+    private final AtomicReference<AtomicReferenceArray<Object>> pool = new AtomicReference<>();
+    /**
+     * only counted when needed (round robin sampling, refreshes), to keep random draws free of contention
+     */
+    @Getter(AccessLevel.NONE)
+    private final AtomicLong draws = new AtomicLong();
+    @Getter(AccessLevel.NONE)
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    /**
+     * the next slot to refresh, only accessed by the refresh holding the refreshing flag
+     */
+    @Getter(AccessLevel.NONE)
+    private int refreshCursor;
+
+    public PooledGenerator(Type type, RandomInstanceGenerator randomInstanceGenerator, TypeGenerator delegate, PoolConfig poolConfig) {
+        super(type, randomInstanceGenerator);
+        this.delegate = delegate;
+        this.poolConfig = poolConfig;
+    }
+
+    @Override
+    public Object generate() throws InstanceGenerationException {
+        AtomicReferenceArray<Object> instances = getPool();
+        boolean refreshed = poolConfig.getRefreshFraction() > 0;
+        if (poolConfig.getSampling() == PoolSampling.RANDOM && !refreshed) {
+            return instances.get(getRandom().nextInt(instances.length()));
+        }
+        long draw = draws.getAndIncrement();
+        if (refreshed && (draw + 1) % poolConfig.getRefreshInterval() == 0) {
+            refresh(instances);
+        }
+        int index = poolConfig.getSampling() == PoolSampling.ROUND_ROBIN
+                ? (int) (draw % instances.length())
+                : getRandom().nextInt(instances.length());
+        return instances.get(index);
+    }
+
+    private AtomicReferenceArray<Object> getPool() {
+        AtomicReferenceArray<Object> instances = pool.get();
+        if (instances != null) {
+            return instances;
+        }
+        // no lock is held while filling, the nested generations may fill the pools of other types
+        instances = new AtomicReferenceArray<>(poolConfig.getSize());
+        for (int i = 0; i < instances.length(); i++) {
+            instances.set(i, delegate.generate());
+        }
+        AtomicReferenceArray<Object> published = pool.compareAndExchange(null, instances);
+        return published != null ? published : instances;
+    }
+
+    /**
+     * regenerates the next fraction of the pool in the background, unless a refresh is already running
+     */
+    private void refresh(AtomicReferenceArray<Object> instances) {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        int count = Math.max(1, (int) Math.ceil(instances.length() * poolConfig.getRefreshFraction()));
+        try {
+            poolConfig.getRefreshExecutor().execute(() -> refresh(instances, count));
+        } catch (RejectedExecutionException e) {
+            refreshing.set(false);
+            log.warn("refresh of the pool of {} rejected", getType().getTypeName(), e);
+        }
+    }
+
+    private void refresh(AtomicReferenceArray<Object> instances, int count) {
+        try {
+            for (int i = 0; i < count; i++) {
+                instances.set(refreshCursor, getRandomInstanceGenerator().generateUnpooled(getType()));
+                refreshCursor = (refreshCursor + 1) % instances.length();
+            }
+        } catch (RuntimeException e) {
+            log.warn("refresh of the pool of {} failed", getType().getTypeName(), e);
+        } finally {
+            refreshing.set(false);
+        }
+    }
+}
@@ -2,16 +2,22 @@ package io.javarig.generator;
 
 import com.mifmif.common.regex.Generex;
 import io.javarig.RandomInstanceGenerator;
+import io.javarig.config.RegexEngine;
+import io.javarig.regex.CompiledRegex;
+import io.javarig.regex.RegexAutomatonCache;
 import lombok.Getter;
 import lombok.Setter;
 
 import java.lang.reflect.Type;
 
-import static io.javarig.util.Utils.removeUnsupportedRegexCharacters;
-
 @Setter
 @Getter
 public class StringGenerator extends TypeGenerator {
+    /**
+     * the last pattern used by this generator and its compiled form, so the shared cache is only looked up when the pattern changes
+     */
+    private volatile LastCompiledPattern lastCompiledPattern;
+
     public StringGenerator(Type type, RandomInstanceGenerator randomInstanceGenerator) {
         super(type, randomInstanceGenerator);
     }
@@ -19,11 +25,33 @@ public class StringGenerator extends TypeGenerator {
     /**
      * if minLength (maxLength) is smaller (greater) than possible regex generation, it will be ignored
      * anchors (^, $) and backslash (\) are not supported, and will be ignored
+     * patterns that are only a sequence of quantified character classes are generated from alphabet tables, without Generex,
+     * other patterns are generated by the configured regex engine
      */
     @Override
     public String generate() {
-        String regex = removeUnsupportedRegexCharacters(getConfig().getRegexPattern());
-        Generex generex = new Generex(regex, getRandom());
-        return generex.random(getConfig().getMinSizeInclusive(), getConfig().getMaxSizeExclusive() - 1);
+        CompiledRegex compiledRegex = getCompiledRegex(getConfig().getRegexPattern());
+        int minLength = getConfig().getMinSizeInclusive();
+        int maxLength = getConfig().getMaxSizeExclusive() - 1;
+        if (compiledRegex.characterClassSequence() != null) {
+            return compiledRegex.characterClassSequence().generate(getRandom(), minLength, maxLength);
+        }
+        if (getConfig().getRegexEngine() == RegexEngine.UNIFORM) {
+            return compiledRegex.uniformSampler().sample(getRandom(), minLength, maxLength);
+        }
+        Generex generex = new Generex(compiledRegex.automaton(), getRandom());
+        return generex.random(minLength, maxLength);
+    }
+
+    private CompiledRegex getCompiledRegex(String regexPattern) {
+        LastCompiledPattern compiledPattern = lastCompiledPattern;
+        if (compiledPattern == null || !compiledPattern.regexPattern().equals(regexPattern)) {
+            compiledPattern = new LastCompiledPattern(regexPattern, RegexAutomatonCache.getInstance().getCompiledRegex(regexPattern));
+            lastCompiledPattern = compiledPattern;
+        }
+        return compiledPattern.compiledRegex();
+    }
+
+    private record LastCompiledPattern(String regexPattern, CompiledRegex compiledRegex) {
     }
 }
@@ -17,10 +17,16 @@ import java.util.Random;
 @Getter
 @RequiredArgsConstructor
 public abstract class TypeGenerator {
-    private final Random random = new Random();
     private final Type type;
     private final RandomInstanceGenerator randomInstanceGenerator;
 
+    /**
+     * @return the random source shared by all the generators of the random instance generator
+     */
+    public Random getRandom() {
+        return getRandomInstanceGenerator().getRandom();
+    }
+
     protected Configuration getConfig(){
         if(getRandomInstanceGenerator().getOneTimeConfig() != null) {
             return getRandomInstanceGenerator().getOneTimeConfig();
@@ -0,0 +1,18 @@
+package io.javarig.generator;
+
+import io.javarig.exception.InstanceGenerationException;
+
+/**
+ * implemented by the generators that can derive a variant from a prototype instance of their type : a copy of the
+ * prototype in which only a random subset of the fields is re-randomized
+ *
+ * @see io.javarig.RandomInstanceGenerator#variant(Object, double)
+ */
+public interface VariantGenerator {
+    /**
+     * @param prototype    the instance to copy, it is left unchanged
+     * @param mutationRate the probability of each field to be re-randomized, between 0 and 1
+     * @return a new instance
+     */
+    Object generateVariant(Object prototype, double mutationRate) throws InstanceGenerationException;
+}
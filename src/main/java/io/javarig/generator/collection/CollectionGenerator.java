@@ -5,19 +5,26 @@ import io.javarig.ImplementationProvider;
 import io.javarig.RandomInstanceGenerator;
 import io.javarig.exception.InstanceGenerationException;
 import io.javarig.exception.JavaRIGInternalException;
+import io.javarig.generator.DistinctValues;
+import io.javarig.generator.InPlaceGenerator;
 import io.javarig.generator.TypeGenerator;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.Collection;
+import java.util.function.IntFunction;
 
 @Setter
 @Getter
 @SuppressWarnings({"rawtypes", "unchecked"})
-public abstract class CollectionGenerator<T extends Collection> extends TypeGenerator implements ImplementationProvider<T>, GenericType {
+public abstract class CollectionGenerator<T extends Collection> extends TypeGenerator implements ImplementationProvider<T>, GenericType, InPlaceGenerator {
     private final static int NUMBER_OF_GENERIC_PARAMS = 1;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private IntFunction<? extends T> implementationFactory;
 
     public CollectionGenerator(Type type, RandomInstanceGenerator randomInstanceGenerator) {
         super(type, randomInstanceGenerator);
@@ -43,18 +50,50 @@ public abstract class CollectionGenerator<T extends Collection> extends TypeGene
      * @param collectionParameterType the type of the values inside the collection
      */
     public T generate(Type collectionParameterType, int size) throws InstanceGenerationException {
-        T outputList = getNewCollectionInstance();
-        for (int i = 0; i < size; i++) {
-            outputList.add(getRandomInstanceGenerator().generate(collectionParameterType));
+        if (getRandomInstanceGenerator().isTruncated(collectionParameterType)) {
+            return getNewCollectionInstance(0);
         }
+        T outputList = getNewCollectionInstance(size);
+        fill(outputList, collectionParameterType, size);
         return outputList;
     }
 
-    private T getNewCollectionInstance() throws JavaRIGInternalException {
-        try {
-            return getImplementationType().getConstructor().newInstance();
-        } catch (ReflectiveOperationException e) {
-            throw new JavaRIGInternalException(e);
+    /**
+     * clears the collection and refills it with a random number of random values
+     */
+    @Override
+    public void generateInto(Object existing) throws InstanceGenerationException {
+        int randomSize = getRandom().nextInt(getConfig().getMinSizeInclusive(), getConfig().getMaxSizeExclusive());
+        checkIfValidNumberOfGenericArguments(getType());
+        Type collectionParameterType = ((ParameterizedType) getType()).getActualTypeArguments()[0];
+        T collection = (T) existing;
+        collection.clear();
+        if (!getRandomInstanceGenerator().isTruncated(collectionParameterType)) {
+            fill(collection, collectionParameterType, randomSize);
+        }
+    }
+
+    private void fill(T collection, Type collectionParameterType, int size) {
+        if (hasDistinctElements() && getConfig().isExactCardinality()) {
+            DistinctValues.generate(getRandomInstanceGenerator(), getRandom(), collectionParameterType, size, collection::add);
+            return;
+        }
+        for (int i = 0; i < size; i++) {
+            collection.add(getRandomInstanceGenerator().generate(collectionParameterType));
+        }
+    }
+
+    /**
+     * @return whether the generated collection drops duplicate elements, in which case the exact cardinality is honored
+     */
+    protected boolean hasDistinctElements() {
+        return false;
+    }
+
+    private T getNewCollectionInstance(int size) throws JavaRIGInternalException {
+        if (implementationFactory == null) {
+            implementationFactory = getImplementationFactory();
         }
+        return implementationFactory.apply(size);
     }
 }
@@ -5,6 +5,7 @@ import io.javarig.RandomInstanceGenerator;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.IntFunction;
 
 
 public class ArrayListGenerator extends ListGenerator {
@@ -17,4 +18,10 @@ public class ArrayListGenerator extends ListGenerator {
     public Class<? extends List> getImplementationType() {
         return ArrayList.class;
     }
+
+    @Override
+    @SuppressWarnings({"rawtypes"})
+    public IntFunction<? extends List> getImplementationFactory() {
+        return ArrayList::new;
+    }
 }
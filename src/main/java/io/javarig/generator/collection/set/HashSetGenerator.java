@@ -1,10 +1,12 @@
 package io.javarig.generator.collection.set;
 
+import com.google.common.collect.Sets;
 import io.javarig.RandomInstanceGenerator;
 
 import java.lang.reflect.Type;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.function.IntFunction;
 
 public class HashSetGenerator extends SetGenerator{
     public HashSetGenerator(Type type, RandomInstanceGenerator randomInstanceGenerator) {
@@ -16,4 +18,10 @@ public class HashSetGenerator extends SetGenerator{
     public Class<? extends Set> getImplementationType() {
         return HashSet.class;
     }
+
+    @Override
+    @SuppressWarnings({"rawtypes"})
+    public IntFunction<? extends Set> getImplementationFactory() {
+        return Sets::newHashSetWithExpectedSize;
+    }
 }
@@ -1,10 +1,12 @@
 package io.javarig.generator.collection.set;
 
+import com.google.common.collect.Sets;
 import io.javarig.RandomInstanceGenerator;
 
 import java.lang.reflect.Type;
 import java.util.LinkedHashSet;
 import java.util.Set;
+import java.util.function.IntFunction;
 
 public class LinkedHashSetGenerator extends SetGenerator{
     public LinkedHashSetGenerator(Type type, RandomInstanceGenerator randomInstanceGenerator) {
@@ -16,4 +18,10 @@ public class LinkedHashSetGenerator extends SetGenerator{
     public Class<? extends Set> getImplementationType() {
         return LinkedHashSet.class;
     }
+
+    @Override
+    @SuppressWarnings({"rawtypes"})
+    public IntFunction<? extends Set> getImplementationFactory() {
+        return Sets::newLinkedHashSetWithExpectedSize;
+    }
 }
@@ -16,4 +16,9 @@ public abstract class SetGenerator extends CollectionGenerator<Set> {
     public SetGenerator(Type type, RandomInstanceGenerator randomInstanceGenerator) {
         super(type, randomInstanceGenerator);
     }
+
+    @Override
+    protected boolean hasDistinctElements() {
+        return true;
+    }
 }
@@ -5,6 +5,7 @@ import io.javarig.RandomInstanceGenerator;
 import java.lang.reflect.Type;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.function.IntFunction;
 
 public class TreeSetGenerator extends SetGenerator{
     public TreeSetGenerator(Type type, RandomInstanceGenerator randomInstanceGenerator) {
@@ -16,4 +17,10 @@ public class TreeSetGenerator extends SetGenerator{
     public Class<? extends Set> getImplementationType() {
         return TreeSet.class;
     }
+
+    @Override
+    @SuppressWarnings({"rawtypes"})
+    public IntFunction<? extends Set> getImplementationFactory() {
+        return expectedSize -> new TreeSet<>();
+    }
 }
@@ -1,10 +1,12 @@
 package io.javarig.generator.map;
 
+import com.google.common.collect.Maps;
 import io.javarig.RandomInstanceGenerator;
 
 import java.lang.reflect.Type;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.IntFunction;
 
 public class HashMapGenerator extends MapGenerator {
     public HashMapGenerator(Type type, RandomInstanceGenerator randomInstanceGenerator) {
@@ -16,4 +18,10 @@ public class HashMapGenerator extends MapGenerator {
     public Class<? extends Map> getImplementationType() {
         return HashMap.class ;
     }
+
+    @Override
+    @SuppressWarnings({"rawtypes"})
+    public IntFunction<? extends Map> getImplementationFactory() {
+        return Maps::newHashMapWithExpectedSize;
+    }
 }
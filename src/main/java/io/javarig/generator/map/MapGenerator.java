@@ -4,14 +4,17 @@ import io.javarig.GenericType;
 import io.javarig.ImplementationProvider;
 import io.javarig.RandomInstanceGenerator;
 import io.javarig.exception.InstanceGenerationException;
-import io.javarig.exception.JavaRIGInternalException;
+import io.javarig.generator.DistinctValues;
+import io.javarig.generator.InPlaceGenerator;
 import io.javarig.generator.TypeGenerator;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.Map;
+import java.util.function.IntFunction;
 
 /**
  * a type generator that generates a map instance
@@ -19,8 +22,11 @@ import java.util.Map;
 @Getter
 @Setter
 @SuppressWarnings({"rawtypes", "unchecked"})
-public abstract class MapGenerator extends TypeGenerator implements ImplementationProvider<Map>, GenericType {
+public abstract class MapGenerator extends TypeGenerator implements ImplementationProvider<Map>, GenericType, InPlaceGenerator {
     private final static int NUMBER_OF_GENERIC_PARAMS = 2;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private IntFunction<? extends Map> implementationFactory;
 
     public MapGenerator(Type type, RandomInstanceGenerator randomInstanceGenerator) {
         super(type, randomInstanceGenerator);
@@ -47,18 +53,51 @@ public abstract class MapGenerator extends TypeGenerator implements Implementati
     private Map<Object, Object> generate(ParameterizedType type, int size) throws InstanceGenerationException {
         Type keyType = type.getActualTypeArguments()[0];
         Type valueType = type.getActualTypeArguments()[1];
-        Map<Object, Object> resultedMap = getNewMapInstance();
+        if (getRandomInstanceGenerator().isTruncated(keyType) || getRandomInstanceGenerator().isTruncated(valueType)) {
+            return getNewMapInstance(0);
+        }
+        Map<Object, Object> resultedMap = getNewMapInstance(size);
+        fill(resultedMap, keyType, valueType, size);
+        return resultedMap;
+    }
+
+    /**
+     * clears the map and refills it with a random number of random key,value pairs
+     */
+    @Override
+    public void generateInto(Object existing) throws InstanceGenerationException {
+        checkIfValidNumberOfGenericArguments(getType());
+        int size = getRandom().nextInt(getConfig().getMinSizeInclusive(), getConfig().getMaxSizeExclusive());
+        Type keyType = ((ParameterizedType) getType()).getActualTypeArguments()[0];
+        Type valueType = ((ParameterizedType) getType()).getActualTypeArguments()[1];
+        Map<Object, Object> map = (Map<Object, Object>) existing;
+        map.clear();
+        if (!getRandomInstanceGenerator().isTruncated(keyType) && !getRandomInstanceGenerator().isTruncated(valueType)) {
+            fill(map, keyType, valueType, size);
+        }
+    }
+
+    private void fill(Map<Object, Object> resultedMap, Type keyType, Type valueType, int size) {
+        if (getConfig().isExactCardinality()) {
+            // values are only generated for new keys
+            DistinctValues.generate(getRandomInstanceGenerator(), getRandom(), keyType, size, key -> {
+                if (resultedMap.containsKey(key)) {
+                    return false;
+                }
+                resultedMap.put(key, getRandomInstanceGenerator().generate(valueType));
+                return true;
+            });
+            return;
+        }
         for (int i = 0; i < size; i++) {
             resultedMap.put(getRandomInstanceGenerator().generate(keyType), getRandomInstanceGenerator().generate(valueType));
         }
-        return resultedMap;
     }
 
-    private Map<Object, Object> getNewMapInstance() {
-        try {
-            return getImplementationType().getConstructor().newInstance();
-        } catch (ReflectiveOperationException e) {
-            throw new JavaRIGInternalException(e);
+    private Map<Object, Object> getNewMapInstance(int size) {
+        if (implementationFactory == null) {
+            implementationFactory = getImplementationFactory();
         }
+        return implementationFactory.apply(size);
     }
 }
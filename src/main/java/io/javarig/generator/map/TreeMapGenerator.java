@@ -5,6 +5,7 @@ import io.javarig.RandomInstanceGenerator;
 import java.lang.reflect.Type;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.function.IntFunction;
 
 public class TreeMapGenerator extends MapGenerator {
 
@@ -17,4 +18,10 @@ public class TreeMapGenerator extends MapGenerator {
     public Class<? extends Map> getImplementationType() {
         return TreeMap.class;
     }
+
+    @Override
+    @SuppressWarnings({"rawtypes"})
+    public IntFunction<? extends Map> getImplementationFactory() {
+        return expectedSize -> new TreeMap<>();
+    }
 }
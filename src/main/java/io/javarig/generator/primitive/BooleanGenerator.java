@@ -1,18 +1,34 @@
 package io.javarig.generator.primitive;
 
 
+import io.javarig.FiniteDomain;
 import io.javarig.RandomInstanceGenerator;
 import io.javarig.generator.TypeGenerator;
 
 import java.lang.reflect.Type;
+import java.util.Random;
 
-public class BooleanGenerator extends TypeGenerator {
+public class BooleanGenerator extends TypeGenerator implements FiniteDomain {
     public BooleanGenerator(Type type, RandomInstanceGenerator randomInstanceGenerator) {
         super(type, randomInstanceGenerator);
     }
 
     @Override
     public Boolean generate() {
-        return getRandom().nextBoolean();
+        return nextValue(getRandom());
+    }
+
+    public static boolean nextValue(Random random) {
+        return random.nextBoolean();
+    }
+
+    @Override
+    public int getDomainSize() {
+        return 2;
+    }
+
+    @Override
+    public Object getDomainValue(int index) {
+        return index == 1;
     }
 }
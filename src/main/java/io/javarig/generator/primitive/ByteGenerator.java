@@ -1,11 +1,12 @@
 package io.javarig.generator.primitive;
 
+import io.javarig.FiniteDomain;
 import io.javarig.RandomInstanceGenerator;
 import io.javarig.generator.TypeGenerator;
 
 import java.lang.reflect.Type;
 
-public class ByteGenerator extends TypeGenerator {
+public class ByteGenerator extends TypeGenerator implements FiniteDomain {
 
     public ByteGenerator(Type type, RandomInstanceGenerator randomInstanceGenerator) {
         super(type, randomInstanceGenerator);
@@ -17,4 +18,14 @@ public class ByteGenerator extends TypeGenerator {
         getRandom().nextBytes(bytes);
         return bytes[0];
     }
+
+    @Override
+    public int getDomainSize() {
+        return 1 << Byte.SIZE;
+    }
+
+    @Override
+    public Object getDomainValue(int index) {
+        return (byte) index;
+    }
 }
@@ -1,17 +1,33 @@
 package io.javarig.generator.primitive;
 
+import io.javarig.FiniteDomain;
 import io.javarig.RandomInstanceGenerator;
 import io.javarig.generator.TypeGenerator;
 
 import java.lang.reflect.Type;
+import java.util.Random;
 
-public class CharGenerator extends TypeGenerator {
+public class CharGenerator extends TypeGenerator implements FiniteDomain {
     public CharGenerator(Type type, RandomInstanceGenerator randomInstanceGenerator) {
         super(type, randomInstanceGenerator);
     }
 
     @Override
     public Character generate() {
-        return (char) getRandom().nextInt(Character.MAX_VALUE);
+        return nextValue(getRandom());
+    }
+
+    public static char nextValue(Random random) {
+        return (char) random.nextInt(Character.MAX_VALUE);
+    }
+
+    @Override
+    public int getDomainSize() {
+        return Character.MAX_VALUE;
+    }
+
+    @Override
+    public Object getDomainValue(int index) {
+        return (char) index;
     }
 }
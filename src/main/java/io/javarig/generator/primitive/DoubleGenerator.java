@@ -4,6 +4,7 @@ import io.javarig.RandomInstanceGenerator;
 import io.javarig.generator.TypeGenerator;
 
 import java.lang.reflect.Type;
+import java.util.Random;
 
 public class DoubleGenerator extends TypeGenerator {
     public DoubleGenerator(Type type, RandomInstanceGenerator randomInstanceGenerator) {
@@ -12,6 +13,10 @@ public class DoubleGenerator extends TypeGenerator {
 
     @Override
     public Double generate() {
-        return getRandom().nextDouble(0, Double.MAX_VALUE);
+        return nextValue(getRandom());
+    }
+
+    public static double nextValue(Random random) {
+        return random.nextDouble(0, Double.MAX_VALUE);
     }
 }
@@ -4,6 +4,7 @@ import io.javarig.RandomInstanceGenerator;
 import io.javarig.generator.TypeGenerator;
 
 import java.lang.reflect.Type;
+import java.util.Random;
 
 public class FloatGenerator extends TypeGenerator {
     public FloatGenerator(Type type, RandomInstanceGenerator randomInstanceGenerator) {
@@ -12,6 +13,10 @@ public class FloatGenerator extends TypeGenerator {
 
     @Override
     public Float generate() {
-        return getRandom().nextFloat(0, Float.MAX_VALUE + 1);
+        return nextValue(getRandom());
+    }
+
+    public static float nextValue(Random random) {
+        return random.nextFloat(0, Float.MAX_VALUE + 1);
     }
 }
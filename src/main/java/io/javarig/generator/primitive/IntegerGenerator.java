@@ -4,6 +4,7 @@ import io.javarig.RandomInstanceGenerator;
 import io.javarig.generator.TypeGenerator;
 
 import java.lang.reflect.Type;
+import java.util.Random;
 
 public class IntegerGenerator extends TypeGenerator {
     public IntegerGenerator(Type type, RandomInstanceGenerator randomInstanceGenerator) {
@@ -12,6 +13,10 @@ public class IntegerGenerator extends TypeGenerator {
 
     @Override
     public Integer generate() {
-        return getRandom().nextInt(Integer.MIN_VALUE, Integer.MAX_VALUE);
+        return nextValue(getRandom());
+    }
+
+    public static int nextValue(Random random) {
+        return random.nextInt(Integer.MIN_VALUE, Integer.MAX_VALUE);
     }
 }
@@ -4,6 +4,7 @@ import io.javarig.RandomInstanceGenerator;
 import io.javarig.generator.TypeGenerator;
 
 import java.lang.reflect.Type;
+import java.util.Random;
 
 public class LongGenerator extends TypeGenerator {
     public LongGenerator(Type type, RandomInstanceGenerator randomInstanceGenerator) {
@@ -12,6 +13,10 @@ public class LongGenerator extends TypeGenerator {
 
     @Override
     public Long generate() {
-        return getRandom().nextLong(Long.MIN_VALUE, Long.MAX_VALUE);
+        return nextValue(getRandom());
+    }
+
+    public static long nextValue(Random random) {
+        return random.nextLong(Long.MIN_VALUE, Long.MAX_VALUE);
     }
 }
@@ -1,17 +1,33 @@
 package io.javarig.generator.primitive;
 
+import io.javarig.FiniteDomain;
 import io.javarig.RandomInstanceGenerator;
 import io.javarig.generator.TypeGenerator;
 
 import java.lang.reflect.Type;
+import java.util.Random;
 
-public class ShortGenerator extends TypeGenerator {
+public class ShortGenerator extends TypeGenerator implements FiniteDomain {
     public ShortGenerator(Type type, RandomInstanceGenerator randomInstanceGenerator) {
         super(type, randomInstanceGenerator);
     }
 
     @Override
     public Short generate() {
-        return (short) getRandom().nextInt(Short.MIN_VALUE, Short.MAX_VALUE + 1);
+        return nextValue(getRandom());
+    }
+
+    public static short nextValue(Random random) {
+        return (short) random.nextInt(Short.MIN_VALUE, Short.MAX_VALUE + 1);
+    }
+
+    @Override
+    public int getDomainSize() {
+        return 1 << Short.SIZE;
+    }
+
+    @Override
+    public Object getDomainValue(int index) {
+        return (short) (index + Short.MIN_VALUE);
     }
 }
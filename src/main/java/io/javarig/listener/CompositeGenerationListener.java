@@ -0,0 +1,38 @@
+package io.javarig.listener;
+
+import io.javarig.generator.TypeGenerator;
+
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * notifies several listeners, in order
+ */
+public class CompositeGenerationListener implements GenerationListener {
+    private final GenerationListener[] listeners;
+
+    public CompositeGenerationListener(List<GenerationListener> listeners) {
+        this.listeners = listeners.toArray(GenerationListener[]::new);
+    }
+
+    @Override
+    public void onGenerationStarted(Type type, TypeGenerator generator, int depth) {
+        for (GenerationListener listener : listeners) {
+            listener.onGenerationStarted(type, generator, depth);
+        }
+    }
+
+    @Override
+    public void onGenerationCompleted(Type type, TypeGenerator generator, int depth, Object generated, long durationNanos) {
+        for (GenerationListener listener : listeners) {
+            listener.onGenerationCompleted(type, generator, depth, generated, durationNanos);
+        }
+    }
+
+    @Override
+    public void onGenerationFailed(Type type, TypeGenerator generator, int depth, RuntimeException exception) {
+        for (GenerationListener listener : listeners) {
+            listener.onGenerationFailed(type, generator, depth, exception);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package io.javarig.listener;
+
+import io.javarig.generator.TypeGenerator;
+
+import java.lang.reflect.Type;
+
+/**
+ * notified of the generation of every instance (nested instances included) of the traced top level generations.
+ * the listener is called on the generating thread, so it must be thread safe when the generator is shared, and
+ * it should not build strings (or call toString on the instances) unless it actually records them
+ *
+ * @see io.javarig.config.Configuration the generationListener field of Configuration
+ */
+public interface GenerationListener {
+    /**
+     * @param type      the type being generated
+     * @param generator the generator of the type
+     * @param depth     the depth of the generation, 1 for a top level generation
+     */
+    default void onGenerationStarted(Type type, TypeGenerator generator, int depth) {
+    }
+
+    /**
+     * @param generated     the generated instance
+     * @param durationNanos the time it took to generate the instance, nested generations included
+     */
+    default void onGenerationCompleted(Type type, TypeGenerator generator, int depth, Object generated, long durationNanos) {
+    }
+
+    /**
+     * called at every depth the exception goes through
+     */
+    default void onGenerationFailed(Type type, TypeGenerator generator, int depth, RuntimeException exception) {
+    }
+}
@@ -0,0 +1,35 @@
+package io.javarig.listener;
+
+import io.javarig.generator.TypeGenerator;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Type;
+
+/**
+ * logs the generations at debug level, and the generated instances at trace level only
+ */
+@Slf4j
+public class LoggingGenerationListener implements GenerationListener {
+    @Override
+    public void onGenerationStarted(Type type, TypeGenerator generator, int depth) {
+        if (log.isDebugEnabled()) {
+            log.debug("generating {} (depth {}) ...", type.getTypeName(), depth);
+        }
+    }
+
+    @Override
+    public void onGenerationCompleted(Type type, TypeGenerator generator, int depth, Object generated, long durationNanos) {
+        if (log.isTraceEnabled()) {
+            log.trace("generated {} (depth {}) in {} ns : {}", type.getTypeName(), depth, durationNanos, generated);
+        } else if (log.isDebugEnabled()) {
+            log.debug("generated {} (depth {}) in {} ns", type.getTypeName(), depth, durationNanos);
+        }
+    }
+
+    @Override
+    public void onGenerationFailed(Type type, TypeGenerator generator, int depth, RuntimeException exception) {
+        if (log.isDebugEnabled()) {
+            log.debug("generation of {} (depth {}) failed : {}", type.getTypeName(), depth, exception.getMessage());
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package io.javarig.metrics;
+
+import io.javarig.exception.NestedObjectRecursionException;
+import io.javarig.generator.TypeGenerator;
+import io.javarig.listener.GenerationListener;
+import io.javarig.regex.RegexAutomatonCache;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Array;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+
+/**
+ * records the generations of every type (nested ones included) : counts, latency histograms, generated elements
+ * and aborts. recording takes no lock, so the metrics of a shared generator can be enabled under load.
+ * the metrics are exposed as snapshots, as an MXBean and in the prometheus text format
+ *
+ * @see io.javarig.config.Configuration the metricsEnabled field of Configuration
+ */
+public class GenerationMetrics implements GenerationListener, GenerationMetricsMXBean {
+    private static final String OBJECT_NAME_PATTERN = "io.javarig:type=GenerationMetrics,name=%s";
+
+    private final Map<Type, TypeMetrics> metricsByType = new ConcurrentHashMap<>();
+
+    @Override
+    public void onGenerationCompleted(Type type, TypeGenerator generator, int depth, Object generated, long durationNanos) {
+        getTypeMetrics(type, generator).recordCompleted(durationNanos, countElements(generated));
+    }
+
+    @Override
+    public void onGenerationFailed(Type type, TypeGenerator generator, int depth, RuntimeException exception) {
+        getTypeMetrics(type, generator).recordAborted(exception instanceof NestedObjectRecursionException);
+    }
+
+    private TypeMetrics getTypeMetrics(Type type, TypeGenerator generator) {
+        TypeMetrics typeMetrics = metricsByType.get(type);
+        if (typeMetrics == null) {
+            typeMetrics = metricsByType.computeIfAbsent(type, key -> new TypeMetrics(key, generator.getClass()));
+        }
+        return typeMetrics;
+    }
+
+    private static int countElements(Object generated) {
+        if (generated instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (generated instanceof Map<?, ?> map) {
+            return map.size();
+        }
+        if (generated != null && generated.getClass().isArray()) {
+            return Array.getLength(generated);
+        }
+        return 0;
+    }
+
+    /**
+     * @return the metrics of the generated types, the most costly (total latency) first
+     */
+    public MetricsSnapshot snapshot() {
+        List<TypeMetricsSnapshot> types = metricsByType.values().stream()
+                .map(TypeMetrics::snapshot)
+                .sorted(Comparator.comparingLong(TypeMetricsSnapshot::totalNanos).reversed())
+                .toList();
+        RegexAutomatonCache regexCache = RegexAutomatonCache.getInstance();
+        return new MetricsSnapshot(types, regexCache.getHitCount(), regexCache.getMissCount(),
+                regexCache.getEvictionCount(), regexCache.size());
+    }
+
+    /**
+     * writes the metrics in the prometheus text exposition format
+     */
+    public void writePrometheus(Appendable out) throws IOException {
+        PrometheusWriter.write(snapshot(), out);
+    }
+
+    /**
+     * registers the metrics in the platform MBean server
+     *
+     * @param name the value of the name key of the object name, e.g. the name of the load driver
+     * @return the object name the metrics are registered with
+     */
+    public ObjectName registerMBean(String name) throws JMException {
+        ObjectName objectName = new ObjectName(OBJECT_NAME_PATTERN.formatted(ObjectName.quote(name)));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        return objectName;
+    }
+
+    @Override
+    public Map<String, Long> getCompletedGenerations() {
+        return byTypeName(TypeMetricsSnapshot::completed);
+    }
+
+    @Override
+    public Map<String, Long> getAbortedGenerations() {
+        return byTypeName(TypeMetricsSnapshot::aborted);
+    }
+
+    @Override
+    public Map<String, Long> getGeneratedElements() {
+        return byTypeName(TypeMetricsSnapshot::elements);
+    }
+
+    @Override
+    public Map<String, Long> getTotalLatencyNanos() {
+        return byTypeName(TypeMetricsSnapshot::totalNanos);
+    }
+
+    @Override
+    public Map<String, Long> getP99LatencyNanos() {
+        return byTypeName(TypeMetricsSnapshot::p99Nanos);
+    }
+
+    @Override
+    public long getRegexCacheHits() {
+        return RegexAutomatonCache.getInstance().getHitCount();
+    }
+
+    @Override
+    public long getRegexCacheMisses() {
+        return RegexAutomatonCache.getInstance().getMissCount();
+    }
+
+    @Override
+    public String getPrometheusText() {
+        StringBuilder text = new StringBuilder();
+        try {
+            writePrometheus(text);
+        } catch (IOException e) {
+            // a StringBuilder doesn't throw IOException
+            throw new UncheckedIOException(e);
+        }
+        return text.toString();
+    }
+
+    private Map<String, Long> byTypeName(ToLongFunction<TypeMetricsSnapshot> metric) {
+        return metricsByType.values().stream()
+                .map(TypeMetrics::snapshot)
+                .collect(Collectors.toMap(TypeMetricsSnapshot::type, metric::applyAsLong, Long::sum));
+    }
+}
@@ -0,0 +1,26 @@
+package io.javarig.metrics;
+
+import java.util.Map;
+
+/**
+ * the JMX view of the generation metrics, maps are keyed by the generated type names
+ *
+ * @see GenerationMetrics#registerMBean(String)
+ */
+public interface GenerationMetricsMXBean {
+    Map<String, Long> getCompletedGenerations();
+
+    Map<String, Long> getAbortedGenerations();
+
+    Map<String, Long> getGeneratedElements();
+
+    Map<String, Long> getTotalLatencyNanos();
+
+    Map<String, Long> getP99LatencyNanos();
+
+    long getRegexCacheHits();
+
+    long getRegexCacheMisses();
+
+    String getPrometheusText();
+}
@@ -0,0 +1,10 @@
+package io.javarig.metrics;
+
+import java.util.List;
+
+/**
+ * the generation metrics of the generator, and the statistics of the (global) regex cache
+ */
+public record MetricsSnapshot(List<TypeMetricsSnapshot> types, long regexCacheHits, long regexCacheMisses,
+                              long regexCacheEvictions, long regexCacheSize) {
+}
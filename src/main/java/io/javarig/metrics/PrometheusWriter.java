@@ -0,0 +1,74 @@
+package io.javarig.metrics;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * writes metrics snapshots in the prometheus text exposition format (version 0.0.4)
+ */
+class PrometheusWriter {
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    private PrometheusWriter() {
+    }
+
+    static void write(MetricsSnapshot snapshot, Appendable out) throws IOException {
+        List<TypeMetricsSnapshot> types = snapshot.types();
+        writeCounter(out, "javarig_generations_total", "completed generations by type", types, TypeMetricsSnapshot::completed);
+        writeCounter(out, "javarig_generation_aborts_total", "generations that threw an exception by type", types, TypeMetricsSnapshot::aborted);
+        writeCounter(out, "javarig_generation_recursion_aborts_total", "generations aborted by a recursion by type", types, TypeMetricsSnapshot::recursionAborts);
+        writeCounter(out, "javarig_generated_elements_total", "elements of the generated collections, maps and arrays by type", types, TypeMetricsSnapshot::elements);
+
+        String summary = "javarig_generation_duration_seconds";
+        writeHeader(out, summary, "duration of the generations by type, nested generations included", "summary");
+        for (TypeMetricsSnapshot type : types) {
+            String labels = labels(type);
+            writeQuantile(out, summary, labels, "0.5", type.p50Nanos());
+            writeQuantile(out, summary, labels, "0.9", type.p90Nanos());
+            writeQuantile(out, summary, labels, "0.99", type.p99Nanos());
+            out.append(summary).append("_sum{").append(labels).append("} ").append(seconds(type.totalNanos())).append('\n');
+            out.append(summary).append("_count{").append(labels).append("} ").append(Long.toString(type.completed())).append('\n');
+        }
+
+        writeHeader(out, "javarig_regex_cache_hits_total", "hits of the compiled regex cache", "counter");
+        out.append("javarig_regex_cache_hits_total ").append(Long.toString(snapshot.regexCacheHits())).append('\n');
+        writeHeader(out, "javarig_regex_cache_misses_total", "misses of the compiled regex cache", "counter");
+        out.append("javarig_regex_cache_misses_total ").append(Long.toString(snapshot.regexCacheMisses())).append('\n');
+        writeHeader(out, "javarig_regex_cache_evictions_total", "evictions of the compiled regex cache", "counter");
+        out.append("javarig_regex_cache_evictions_total ").append(Long.toString(snapshot.regexCacheEvictions())).append('\n');
+        writeHeader(out, "javarig_regex_cache_size", "compiled regexes in the cache", "gauge");
+        out.append("javarig_regex_cache_size ").append(Long.toString(snapshot.regexCacheSize())).append('\n');
+    }
+
+    private static void writeCounter(Appendable out, String name, String help, List<TypeMetricsSnapshot> types,
+                                     ToLongFunction<TypeMetricsSnapshot> metric) throws IOException {
+        writeHeader(out, name, help, "counter");
+        for (TypeMetricsSnapshot type : types) {
+            out.append(name).append('{').append(labels(type)).append("} ")
+                    .append(Long.toString(metric.applyAsLong(type))).append('\n');
+        }
+    }
+
+    private static void writeHeader(Appendable out, String name, String help, String type) throws IOException {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void writeQuantile(Appendable out, String name, String labels, String quantile, long nanos) throws IOException {
+        out.append(name).append('{').append(labels).append(",quantile=\"").append(quantile).append("\"} ")
+                .append(seconds(nanos)).append('\n');
+    }
+
+    private static String labels(TypeMetricsSnapshot type) {
+        return "type=\"" + escape(type.type()) + "\",generator=\"" + escape(type.generator()) + "\"";
+    }
+
+    private static String seconds(long nanos) {
+        return Double.toString(nanos / NANOS_PER_SECOND);
+    }
+
+    private static String escape(String labelValue) {
+        return labelValue.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
@@ -0,0 +1,42 @@
+package io.javarig.metrics;
+
+import java.lang.reflect.Type;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * the counters of the generations of a type
+ */
+class TypeMetrics {
+    private final String typeName;
+    private final String generatorName;
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private final LongAdder elements = new LongAdder();
+    private final LongAdder aborts = new LongAdder();
+    private final LongAdder recursionAborts = new LongAdder();
+
+    TypeMetrics(Type type, Class<?> generatorClass) {
+        this.typeName = type.getTypeName();
+        this.generatorName = generatorClass.getName();
+    }
+
+    void recordCompleted(long durationNanos, int generatedElements) {
+        latencies.record(durationNanos);
+        if (generatedElements > 0) {
+            elements.add(generatedElements);
+        }
+    }
+
+    void recordAborted(boolean recursion) {
+        aborts.increment();
+        if (recursion) {
+            recursionAborts.increment();
+        }
+    }
+
+    TypeMetricsSnapshot snapshot() {
+        return new TypeMetricsSnapshot(typeName, generatorName,
+                latencies.getCount(), aborts.sum(), recursionAborts.sum(), elements.sum(),
+                latencies.getSum(), latencies.getMax(),
+                latencies.getValueAtQuantile(0.5), latencies.getValueAtQuantile(0.9), latencies.getValueAtQuantile(0.99));
+    }
+}
@@ -0,0 +1,16 @@
+package io.javarig.metrics;
+
+/**
+ * the metrics of the generations of a type at some point in time, latencies include the nested generations
+ *
+ * @param type            the name of the generated type
+ * @param generator       the class name of the generator of the type
+ * @param completed       the number of completed generations
+ * @param aborted         the number of generations that threw an exception
+ * @param recursionAborts the number of aborted generations caused by a recursion in the generated type
+ * @param elements        the number of elements of the generated collections, maps and arrays
+ */
+public record TypeMetricsSnapshot(String type, String generator, long completed, long aborted, long recursionAborts,
+                                  long elements, long totalNanos, long maxNanos,
+                                  long p50Nanos, long p90Nanos, long p99Nanos) {
+}
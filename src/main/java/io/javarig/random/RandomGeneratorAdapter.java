@@ -0,0 +1,83 @@
+package io.javarig.random;
+
+import java.util.Random;
+import java.util.random.RandomGenerator;
+
+/**
+ * a java.util.Random drawing every value from a RandomGenerator, for the apis needing a Random (e.g. Generex).
+ * unlike a plain Random, it doesn't share a seed uniquifier nor updates an AtomicLong on every draw
+ */
+public class RandomGeneratorAdapter extends Random {
+    private final RandomGenerator generator;
+
+    public RandomGeneratorAdapter(RandomGenerator generator) {
+        // the seed is not used, but avoids the seed uniquifier of the default constructor
+        super(0L);
+        this.generator = generator;
+    }
+
+    @Override
+    protected int next(int bits) {
+        return (int) (generator.nextLong() >>> (Long.SIZE - bits));
+    }
+
+    @Override
+    public void nextBytes(byte[] bytes) {
+        generator.nextBytes(bytes);
+    }
+
+    @Override
+    public int nextInt() {
+        return generator.nextInt();
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        return generator.nextInt(bound);
+    }
+
+    @Override
+    public int nextInt(int origin, int bound) {
+        return generator.nextInt(origin, bound);
+    }
+
+    @Override
+    public long nextLong() {
+        return generator.nextLong();
+    }
+
+    @Override
+    public long nextLong(long origin, long bound) {
+        return generator.nextLong(origin, bound);
+    }
+
+    @Override
+    public boolean nextBoolean() {
+        return generator.nextBoolean();
+    }
+
+    @Override
+    public float nextFloat() {
+        return generator.nextFloat();
+    }
+
+    @Override
+    public float nextFloat(float origin, float bound) {
+        return generator.nextFloat(origin, bound);
+    }
+
+    @Override
+    public double nextDouble() {
+        return generator.nextDouble();
+    }
+
+    @Override
+    public double nextDouble(double origin, double bound) {
+        return generator.nextDouble(origin, bound);
+    }
+
+    @Override
+    public double nextGaussian() {
+        return generator.nextGaussian();
+    }
+}
@@ -0,0 +1,69 @@
+package io.javarig.random;
+
+import io.javarig.config.Configuration;
+
+import java.util.Random;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+/**
+ * creates the random source of a RandomInstanceGenerator, and the random streams of the threads using it
+ */
+public class RandomSources {
+
+    /**
+     * @param configuration the configuration giving the algorithm and the (optional) seed of the source,
+     *                      the algorithm is any name known by RandomGeneratorFactory (L64X128MixRandom, Xoroshiro128PlusPlus,
+     *                      SplittableRandom, SecureRandom ...)
+     * @return a RandomGenerator of the configured algorithm, the streams of the threads are forked from it
+     * @throws IllegalArgumentException if the algorithm is unknown
+     */
+    public static RandomGenerator create(Configuration configuration) {
+        RandomGeneratorFactory<RandomGenerator> factory = RandomGeneratorFactory.of(configuration.getRandomAlgorithm());
+        return configuration.getSeed() == null ? factory.create() : factory.create(configuration.getSeed());
+    }
+
+    /**
+     * forks the random stream of a thread from the source : splittable sources are split, jumpable ones are jumped
+     * (so the streams don't overlap), other sources (SecureRandom, Random ...) are thread safe and shared as is.
+     * given a seeded source, streams forked in the same order are the same
+     *
+     * @param source a random source, created with create
+     * @return a Random drawing its values from the stream of the thread
+     */
+    public static Random fork(RandomGenerator source) {
+        RandomGenerator stream;
+        synchronized (source) {
+            if (source instanceof RandomGenerator.SplittableGenerator splittable) {
+                stream = splittable.split();
+            } else if (source instanceof RandomGenerator.JumpableGenerator jumpable) {
+                stream = jumpable.copyAndJump();
+            } else {
+                stream = source;
+            }
+        }
+        return stream instanceof Random random ? random : new RandomGeneratorAdapter(stream);
+    }
+
+    /**
+     * forks, from the source, a new source streams can be forked from : leapable sources are leaped, so the streams
+     * forked from the new source (by jumps) don't overlap the streams of the source
+     *
+     * @param source a random source, created with create
+     * @return a random source to fork streams from
+     */
+    public static RandomGenerator forkSource(RandomGenerator source) {
+        synchronized (source) {
+            if (source instanceof RandomGenerator.SplittableGenerator splittable) {
+                return splittable.split();
+            }
+            if (source instanceof RandomGenerator.LeapableGenerator leapable) {
+                return leapable.copyAndLeap();
+            }
+            if (source instanceof RandomGenerator.JumpableGenerator jumpable) {
+                return jumpable.copyAndJump();
+            }
+            return source;
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package io.javarig.regex;
+
+import dk.brics.automaton.Automaton;
+import dk.brics.automaton.RegExp;
+import dk.brics.automaton.State;
+import dk.brics.automaton.Transition;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+/**
+ * a pattern made only of a sequence of single character atoms (character classes, '.' or literal characters),
+ * each followed by an optional quantifier, for example [a-z][0-9]{2,4}x*.
+ * such patterns are generated from precomputed alphabet tables, without walking an automaton.
+ * <p>
+ * like Generex, the length of the generated string is kept between the given bounds when the pattern allows it,
+ * otherwise the closest length the pattern allows is used
+ */
+public class CharacterClassSequence {
+    /**
+     * atoms matching more characters than this are not turned into tables (e.g. '.' that matches any character)
+     */
+    private static final int MAX_ALPHABET_SIZE = 1024;
+    private static final String SPECIAL_CHARACTERS = "|&?*+{}()[]~\"<>#@.";
+    private static final ThreadLocal<Buffers> BUFFERS = ThreadLocal.withInitial(Buffers::new);
+
+    private final List<Atom> atoms;
+    private final int minLength;
+    private final long maxLength;
+    private final boolean latin1;
+
+    private CharacterClassSequence(List<Atom> atoms) {
+        this.atoms = atoms;
+        this.minLength = atoms.stream().mapToInt(Atom::minOccurrences).sum();
+        this.maxLength = atoms.stream().mapToLong(Atom::maxOccurrences).sum();
+        this.latin1 = atoms.stream().allMatch(Atom::isLatin1);
+    }
+
+    /**
+     * @param normalizedRegexPattern a regex pattern, without the unsupported characters
+     * @return the sequence of the pattern, or empty if the pattern is not only a sequence of quantified single character atoms
+     */
+    public static Optional<CharacterClassSequence> compile(String normalizedRegexPattern) {
+        List<Atom> atoms = new ArrayList<>();
+        int position = 0;
+        while (position < normalizedRegexPattern.length()) {
+            int atomEnd = findAtomEnd(normalizedRegexPattern, position);
+            if (atomEnd < 0) {
+                return Optional.empty();
+            }
+            char[] alphabet = computeAlphabet(normalizedRegexPattern.substring(position, atomEnd));
+            if (alphabet == null) {
+                return Optional.empty();
+            }
+            position = atomEnd;
+            int minOccurrences = 1;
+            int maxOccurrences = 1;
+            if (position < normalizedRegexPattern.length()) {
+                char quantifier = normalizedRegexPattern.charAt(position);
+                switch (quantifier) {
+                    case '?' -> minOccurrences = 0;
+                    case '*' -> {
+                        minOccurrences = 0;
+                        maxOccurrences = Integer.MAX_VALUE;
+                    }
+                    case '+' -> maxOccurrences = Integer.MAX_VALUE;
+                    case '{' -> {
+                        int quantifierEnd = normalizedRegexPattern.indexOf('}', position);
+                        int[] bounds = quantifierEnd < 0 ? null : parseRepeatBounds(normalizedRegexPattern.substring(position + 1, quantifierEnd));
+                        if (bounds == null) {
+                            return Optional.empty();
+                        }
+                        minOccurrences = bounds[0];
+                        maxOccurrences = bounds[1];
+                        position = quantifierEnd;
+                    }
+                    default -> position--;
+                }
+                position++;
+            }
+            atoms.add(new Atom(alphabet, minOccurrences, maxOccurrences));
+        }
+        return Optional.of(new CharacterClassSequence(List.copyOf(atoms)));
+    }
+
+    /**
+     * @param minLength the minimum length of the generated string, inclusive
+     * @param maxLength the maximum length of the generated string, inclusive
+     */
+    public String generate(Random random, int minLength, int maxLength) {
+        int length = drawLength(random, minLength, maxLength);
+        Buffers buffers = BUFFERS.get();
+        if (latin1) {
+            byte[] bytes = buffers.bytes(length);
+            fill(random, length, (index, character) -> bytes[index] = (byte) character);
+            return new String(bytes, 0, length, StandardCharsets.ISO_8859_1);
+        }
+        char[] chars = buffers.chars(length);
+        fill(random, length, (index, character) -> chars[index] = character);
+        return new String(chars, 0, length);
+    }
+
+    private int drawLength(Random random, int minLength, int maxLength) {
+        long lower = Math.max(minLength, this.minLength);
+        long upper = Math.min(maxLength, this.maxLength);
+        if (lower > upper) {
+            // the bounds can't be respected, the closest length allowed by the pattern is used
+            return this.maxLength < minLength ? (int) this.maxLength : this.minLength;
+        }
+        return (int) (lower + random.nextInt((int) (upper - lower + 1)));
+    }
+
+    private void fill(Random random, int length, CharacterSink sink) {
+        int remainingExtra = length - minLength;
+        long extraCapacityAfter = maxLength - minLength;
+        int index = 0;
+        for (Atom atom : atoms) {
+            long extraCapacity = (long) atom.maxOccurrences() - atom.minOccurrences();
+            extraCapacityAfter -= extraCapacity;
+            // the extra occurrences of the atom are drawn so that the next atoms can still take the remaining ones
+            int lowestExtra = (int) Math.max(0, remainingExtra - extraCapacityAfter);
+            int highestExtra = (int) Math.min(extraCapacity, remainingExtra);
+            int extra = lowestExtra + random.nextInt(highestExtra - lowestExtra + 1);
+            remainingExtra -= extra;
+            char[] alphabet = atom.alphabet();
+            for (int occurrences = atom.minOccurrences() + extra; occurrences > 0; occurrences--) {
+                sink.put(index++, alphabet[random.nextInt(alphabet.length)]);
+            }
+        }
+    }
+
+    /**
+     * @return the end (exclusive) of the single character atom starting at the position, or -1 if there is no such atom
+     */
+    private static int findAtomEnd(String pattern, int position) {
+        char first = pattern.charAt(position);
+        if (first == '[') {
+            for (int i = position + 1; i < pattern.length(); i++) {
+                // an empty class is not allowed, so the first character is always part of the class
+                if (pattern.charAt(i) == ']' && i > position + 1) {
+                    return i + 1;
+                }
+            }
+            return -1;
+        }
+        if (first == '.' || SPECIAL_CHARACTERS.indexOf(first) < 0) {
+            return position + 1;
+        }
+        return -1;
+    }
+
+    /**
+     * @return the characters matched by the atom, or null if the atom doesn't match single characters only,
+     * or matches too many of them
+     */
+    private static char[] computeAlphabet(String atom) {
+        Automaton automaton;
+        try {
+            automaton = new RegExp(atom).toAutomaton();
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        State initialState = automaton.getInitialState();
+        if (initialState.isAccept()) {
+            return null;
+        }
+        StringBuilder alphabet = new StringBuilder();
+        for (Transition transition : initialState.getSortedTransitions(false)) {
+            State destination = transition.getDest();
+            if (!destination.isAccept() || !destination.getTransitions().isEmpty()
+                    || alphabet.length() + transition.getMax() - transition.getMin() + 1 > MAX_ALPHABET_SIZE) {
+                return null;
+            }
+            for (int character = transition.getMin(); character <= transition.getMax(); character++) {
+                alphabet.append((char) character);
+            }
+        }
+        return alphabet.isEmpty() ? null : alphabet.toString().toCharArray();
+    }
+
+    /**
+     * @param bounds the content of a {n}, {n,} or {n,m} quantifier
+     * @return the minimum and maximum occurrences, or null if the bounds are invalid
+     */
+    private static int[] parseRepeatBounds(String bounds) {
+        try {
+            int separator = bounds.indexOf(',');
+            if (separator < 0) {
+                int occurrences = Integer.parseInt(bounds);
+                return occurrences >= 0 ? new int[]{occurrences, occurrences} : null;
+            }
+            int min = Integer.parseInt(bounds.substring(0, separator));
+            String maxBound = bounds.substring(separator + 1);
+            int max = maxBound.isEmpty() ? Integer.MAX_VALUE : Integer.parseInt(maxBound);
+            return 0 <= min && min <= max ? new int[]{min, max} : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private record Atom(char[] alphabet, int minOccurrences, int maxOccurrences) {
+        boolean isLatin1() {
+            for (char character : alphabet) {
+                if (character > 0xFF) return false;
+            }
+            return true;
+        }
+    }
+
+    @FunctionalInterface
+    private interface CharacterSink {
+        void put(int index, char character);
+    }
+
+    /**
+     * buffers reused by the generations of a thread, grown when a longer string is generated
+     */
+    private static class Buffers {
+        private byte[] bytes = new byte[64];
+        private char[] chars = new char[64];
+
+        byte[] bytes(int length) {
+            if (bytes.length < length) {
+                bytes = new byte[Math.max(length, bytes.length * 2)];
+            }
+            return bytes;
+        }
+
+        char[] chars(int length) {
+            if (chars.length < length) {
+                chars = new char[Math.max(length, chars.length * 2)];
+            }
+            return chars;
+        }
+    }
+}
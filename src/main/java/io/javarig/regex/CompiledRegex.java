@@ -0,0 +1,45 @@
+package io.javarig.regex;
+
+import dk.brics.automaton.Automaton;
+
+/**
+ * a normalized regex pattern compiled into its automaton, and into a character class sequence when the pattern is one
+ */
+public class CompiledRegex {
+    private final Automaton automaton;
+    private final CharacterClassSequence characterClassSequence;
+    private volatile UniformRegexSampler uniformSampler;
+
+    public CompiledRegex(Automaton automaton, CharacterClassSequence characterClassSequence) {
+        this.automaton = automaton;
+        this.characterClassSequence = characterClassSequence;
+    }
+
+    public Automaton automaton() {
+        return automaton;
+    }
+
+    /**
+     * @return the table driven form of the pattern, null if the pattern is not a character class sequence
+     */
+    public CharacterClassSequence characterClassSequence() {
+        return characterClassSequence;
+    }
+
+    /**
+     * @return the uniform sampler of the pattern, built the first time it is needed
+     */
+    public UniformRegexSampler uniformSampler() {
+        UniformRegexSampler sampler = uniformSampler;
+        if (sampler == null) {
+            synchronized (this) {
+                sampler = uniformSampler;
+                if (sampler == null) {
+                    sampler = new UniformRegexSampler(automaton);
+                    uniformSampler = sampler;
+                }
+            }
+        }
+        return sampler;
+    }
+}
@@ -0,0 +1,80 @@
+package io.javarig.regex;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import dk.brics.automaton.Automaton;
+import dk.brics.automaton.RegExp;
+import io.javarig.config.DefaultConfigValues;
+
+import static io.javarig.util.Utils.removeUnsupportedRegexCharacters;
+
+/**
+ * a size bounded cache of the automata (and character class sequences) compiled from regex patterns, shared by all the generators.
+ * patterns are normalized (unsupported characters removed) before being compiled, the least recently used automata
+ * are evicted when the cache is full.
+ * cached automata are only read once compiled, so they can be used by several threads at the same time
+ */
+public class RegexAutomatonCache {
+    private static final RegexAutomatonCache INSTANCE = new RegexAutomatonCache(DefaultConfigValues.DEFAULT_REGEX_CACHE_SIZE);
+
+    private final LoadingCache<String, CompiledRegex> automata;
+
+    RegexAutomatonCache(long maximumSize) {
+        this.automata = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build(CacheLoader.from(RegexAutomatonCache::compile));
+    }
+
+    public static RegexAutomatonCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @param regexPattern a regex pattern, as given in the configuration
+     * @return the automaton of the normalized pattern, compiled the first time the pattern is used
+     */
+    public Automaton getAutomaton(String regexPattern) {
+        return getCompiledRegex(regexPattern).automaton();
+    }
+
+    /**
+     * @param regexPattern a regex pattern, as given in the configuration
+     * @return the compiled form of the normalized pattern, compiled the first time the pattern is used
+     */
+    public CompiledRegex getCompiledRegex(String regexPattern) {
+        try {
+            return automata.getUnchecked(removeUnsupportedRegexCharacters(regexPattern));
+        } catch (UncheckedExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    public long getHitCount() {
+        return automata.stats().hitCount();
+    }
+
+    public long getMissCount() {
+        return automata.stats().missCount();
+    }
+
+    public long getEvictionCount() {
+        return automata.stats().evictionCount();
+    }
+
+    public long size() {
+        return automata.size();
+    }
+
+    private static CompiledRegex compile(String normalizedRegexPattern) {
+        Automaton automaton = new RegExp(normalizedRegexPattern).toAutomaton();
+        // expands the automaton if it is a singleton, so that it's no more modified when read by the generators
+        automaton.getInitialState();
+        return new CompiledRegex(automaton, CharacterClassSequence.compile(normalizedRegexPattern).orElse(null));
+    }
+}
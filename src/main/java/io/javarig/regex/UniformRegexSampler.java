@@ -0,0 +1,211 @@
+package io.javarig.regex;
+
+import com.mifmif.common.regex.Generex;
+import dk.brics.automaton.Automaton;
+import dk.brics.automaton.State;
+import dk.brics.automaton.Transition;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * samples strings uniformly among the strings of an automaton having a length between given bounds.
+ * the automaton is determinized and minimized once, then the number of accepted strings of every length is counted
+ * from every state (counts are computed lazily, up to the longest length asked so far).
+ * a sample draws a single number below the number of candidate strings and decodes it in one pass over the string,
+ * without backtracking.
+ * the counts of the lengths above MAX_COUNTED_LENGTH are never computed, as the samplers are kept in the shared regex
+ * cache and the counts grow with the length both in number and in width : when the upper bound is above it, the
+ * string is generated by a random walk of the automaton (Generex), that is not uniform
+ */
+public class UniformRegexSampler {
+    /**
+     * the longest length the strings are counted for
+     */
+    public static final int MAX_COUNTED_LENGTH = 256;
+    /**
+     * returned by findClosestLength when the closest length having strings could be above MAX_COUNTED_LENGTH
+     */
+    private static final int BEYOND_COUNTED_LENGTHS = -2;
+
+    private final Automaton automaton;
+    private final int initialState;
+    private final boolean[] accepting;
+    private final char[][] transitionMins;
+    private final int[][] transitionSizes;
+    private final int[][] transitionDestinations;
+    /**
+     * counts[length][state] : the number of strings of the given length accepted from the state
+     */
+    private volatile BigInteger[][] counts;
+
+    public UniformRegexSampler(Automaton automaton) {
+        this.automaton = automaton;
+        Automaton minimal = automaton.clone();
+        minimal.minimize();
+        List<State> states = new ArrayList<>(minimal.getStates());
+        Map<State, Integer> indexes = new HashMap<>();
+        for (int i = 0; i < states.size(); i++) {
+            indexes.put(states.get(i), i);
+        }
+        this.initialState = indexes.get(minimal.getInitialState());
+        this.accepting = new boolean[states.size()];
+        this.transitionMins = new char[states.size()][];
+        this.transitionSizes = new int[states.size()][];
+        this.transitionDestinations = new int[states.size()][];
+        BigInteger[] emptyStringCounts = new BigInteger[states.size()];
+        for (int i = 0; i < states.size(); i++) {
+            State state = states.get(i);
+            List<Transition> transitions = state.getSortedTransitions(false);
+            accepting[i] = state.isAccept();
+            transitionMins[i] = new char[transitions.size()];
+            transitionSizes[i] = new int[transitions.size()];
+            transitionDestinations[i] = new int[transitions.size()];
+            for (int t = 0; t < transitions.size(); t++) {
+                Transition transition = transitions.get(t);
+                transitionMins[i][t] = transition.getMin();
+                transitionSizes[i][t] = transition.getMax() - transition.getMin() + 1;
+                transitionDestinations[i][t] = indexes.get(transition.getDest());
+            }
+            emptyStringCounts[i] = state.isAccept() ? BigInteger.ONE : BigInteger.ZERO;
+        }
+        this.counts = new BigInteger[][]{emptyStringCounts};
+    }
+
+    /**
+     * if no string has a length between the bounds, the closest length having strings is used,
+     * an empty string is returned if the automaton accepts no string at all.
+     * the string is not sampled uniformly if the upper bound is above MAX_COUNTED_LENGTH
+     *
+     * @param minLength the minimum length of the sampled string, inclusive
+     * @param maxLength the maximum length of the sampled string, inclusive
+     */
+    public String sample(Random random, int minLength, int maxLength) {
+        int lower = Math.max(0, minLength);
+        int upper = Math.max(lower, maxLength);
+        if (upper > MAX_COUNTED_LENGTH) {
+            return sampleByRandomWalk(random, lower, upper);
+        }
+        BigInteger[][] counts = getCounts(upper);
+        BigInteger total = BigInteger.ZERO;
+        for (int length = lower; length <= upper; length++) {
+            total = total.add(counts[length][initialState]);
+        }
+        if (total.signum() == 0) {
+            int closestLength = findClosestLength(lower, upper);
+            if (closestLength == BEYOND_COUNTED_LENGTHS) {
+                return sampleByRandomWalk(random, lower, upper);
+            }
+            if (closestLength < 0) {
+                return "";
+            }
+            counts = getCounts(closestLength);
+            return decode(counts, closestLength, randomBelow(random, counts[closestLength][initialState]));
+        }
+        BigInteger index = randomBelow(random, total);
+        int length = lower;
+        while (index.compareTo(counts[length][initialState]) >= 0) {
+            index = index.subtract(counts[length][initialState]);
+            length++;
+        }
+        return decode(counts, length, index);
+    }
+
+    /**
+     * @return the string of the given length having the given index, in the order of the sorted transitions
+     */
+    private String decode(BigInteger[][] counts, int length, BigInteger index) {
+        char[] chars = new char[length];
+        int state = initialState;
+        for (int position = 0; position < length; position++) {
+            BigInteger[] nextCounts = counts[length - position - 1];
+            for (int t = 0; ; t++) {
+                BigInteger destinationCount = nextCounts[transitionDestinations[state][t]];
+                BigInteger block = destinationCount.multiply(BigInteger.valueOf(transitionSizes[state][t]));
+                if (index.compareTo(block) < 0) {
+                    BigInteger[] characterAndIndex = index.divideAndRemainder(destinationCount);
+                    chars[position] = (char) (transitionMins[state][t] + characterAndIndex[0].intValue());
+                    index = characterAndIndex[1];
+                    state = transitionDestinations[state][t];
+                    break;
+                }
+                index = index.subtract(block);
+            }
+        }
+        return new String(chars);
+    }
+
+    private String sampleByRandomWalk(Random random, int minLength, int maxLength) {
+        return new Generex(automaton, random).random(minLength, maxLength);
+    }
+
+    /**
+     * @return the length having strings that is the closest to the bounds, -1 if there is no string at all, or
+     * BEYOND_COUNTED_LENGTHS if there is no string up to MAX_COUNTED_LENGTH but there could be longer ones.
+     * if there are longer strings, one of them is at most (number of states) longer than the upper bound
+     */
+    private int findClosestLength(int lower, int upper) {
+        int longestLength = Math.min(upper + accepting.length, MAX_COUNTED_LENGTH);
+        BigInteger[][] counts = getCounts(longestLength);
+        for (int distance = 1; distance <= longestLength; distance++) {
+            if (lower - distance >= 0 && counts[lower - distance][initialState].signum() > 0) {
+                return lower - distance;
+            }
+            if (upper + distance <= longestLength && counts[upper + distance][initialState].signum() > 0) {
+                return upper + distance;
+            }
+        }
+        return longestLength < upper + accepting.length ? BEYOND_COUNTED_LENGTHS : -1;
+    }
+
+    /**
+     * @return the counts of all the lengths up to the given one (inclusive), at most MAX_COUNTED_LENGTH
+     */
+    private BigInteger[][] getCounts(int maxLength) {
+        BigInteger[][] counts = this.counts;
+        if (counts.length > maxLength) {
+            return counts;
+        }
+        synchronized (this) {
+            counts = this.counts;
+            if (counts.length > maxLength) {
+                return counts;
+            }
+            BigInteger[][] extended = Arrays.copyOf(counts, maxLength + 1);
+            for (int length = counts.length; length <= maxLength; length++) {
+                BigInteger[] previous = extended[length - 1];
+                BigInteger[] current = new BigInteger[accepting.length];
+                for (int state = 0; state < accepting.length; state++) {
+                    BigInteger count = BigInteger.ZERO;
+                    for (int t = 0; t < transitionDestinations[state].length; t++) {
+                        count = count.add(previous[transitionDestinations[state][t]].multiply(BigInteger.valueOf(transitionSizes[state][t])));
+                    }
+                    current[state] = count;
+                }
+                extended[length] = current;
+            }
+            this.counts = extended;
+            return extended;
+        }
+    }
+
+    /**
+     * @return the number of lengths the strings are counted for so far
+     */
+    int getCountedLengths() {
+        return counts.length;
+    }
+
+    private static BigInteger randomBelow(Random random, BigInteger bound) {
+        BigInteger value;
+        do {
+            value = new BigInteger(bound.bitLength(), random);
+        } while (value.compareTo(bound) >= 0);
+        return value;
+    }
+}
@@ -0,0 +1,216 @@
+package io.javarig.sink;
+
+import io.javarig.config.DelimitedFormat;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * writes the fields of delimited rows as UTF-8 into a direct buffer, that is written to the file channel when full.
+ * strings are quoted (CSV) or escaped (TSV, COPY) while being encoded, NUL chars are dropped from the COPY format
+ * as PostgreSQL text can't hold them
+ */
+final class DelimitedOutput implements ScalarOutput, Closeable {
+    private static final byte[] COPY_NULL = {'\\', 'N'};
+    private static final byte[] TRUE = "true".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] FALSE = "false".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] MIN_LONG = Long.toString(Long.MIN_VALUE).getBytes(StandardCharsets.US_ASCII);
+    /**
+     * the maximum number of bytes a char is written with (a surrogate pair in UTF-8)
+     */
+    private static final int MAX_CHAR_BYTES = 4;
+
+    private final FileChannel channel;
+    private final DelimitedFormat format;
+    private final ByteBuffer buffer;
+    private final byte[] digits = new byte[20];
+
+    DelimitedOutput(FileChannel channel, DelimitedFormat format, int bufferSize) {
+        this.channel = channel;
+        this.format = format;
+        this.buffer = ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    void writeDelimiter() throws IOException {
+        require(1);
+        buffer.put(format == DelimitedFormat.CSV ? (byte) ',' : (byte) '\t');
+    }
+
+    void endRow() throws IOException {
+        require(1);
+        buffer.put((byte) '\n');
+    }
+
+    @Override
+    public void writeNull() throws IOException {
+        if (format == DelimitedFormat.POSTGRES_COPY) {
+            writeRaw(COPY_NULL);
+        }
+    }
+
+    @Override
+    public void writeBoolean(boolean value) throws IOException {
+        writeRaw(value ? TRUE : FALSE);
+    }
+
+    @Override
+    public void writeLong(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            writeRaw(MIN_LONG);
+            return;
+        }
+        require(digits.length + 1);
+        if (value < 0) {
+            buffer.put((byte) '-');
+            value = -value;
+        }
+        int i = digits.length;
+        do {
+            digits[--i] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        buffer.put(digits, i, digits.length - i);
+    }
+
+    /**
+     * writes the number, non finite numbers are written NaN, Infinity or -Infinity (as read by PostgreSQL)
+     */
+    @Override
+    public void writeDouble(double value) throws IOException {
+        writeAscii(Double.toString(value));
+    }
+
+    @Override
+    public void writeFloat(float value) throws IOException {
+        writeAscii(Float.toString(value));
+    }
+
+    @Override
+    public void writeString(CharSequence value) throws IOException {
+        if (format == DelimitedFormat.CSV) {
+            writeCsvString(value);
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> writeEscaped('\\');
+                case '\t' -> writeEscaped('t');
+                case '\n' -> writeEscaped('n');
+                case '\r' -> writeEscaped('r');
+                case '\0' -> {
+                    if (format != DelimitedFormat.POSTGRES_COPY) {
+                        writeChar(value, i);
+                    }
+                }
+                default -> i = writeChar(value, i);
+            }
+        }
+    }
+
+    private void writeCsvString(CharSequence value) throws IOException {
+        if (!needsQuotes(value)) {
+            for (int i = 0; i < value.length(); i++) {
+                i = writeChar(value, i);
+            }
+            return;
+        }
+        require(1);
+        buffer.put((byte) '"');
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) == '"') {
+                require(1);
+                buffer.put((byte) '"');
+            }
+            i = writeChar(value, i);
+        }
+        require(1);
+        buffer.put((byte) '"');
+    }
+
+    private static boolean needsQuotes(CharSequence value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void writeEscaped(char escape) throws IOException {
+        require(2);
+        buffer.put((byte) '\\');
+        buffer.put((byte) escape);
+    }
+
+    /**
+     * writes the char at the index in UTF-8, lone surrogates are replaced by '?'
+     *
+     * @return the index of the last char written, the index of the low surrogate for a surrogate pair
+     */
+    private int writeChar(CharSequence value, int index) throws IOException {
+        require(MAX_CHAR_BYTES);
+        char c = value.charAt(index);
+        if (c < 0x80) {
+            buffer.put((byte) c);
+        } else if (c < 0x800) {
+            buffer.put((byte) (0xc0 | c >> 6));
+            buffer.put((byte) (0x80 | c & 0x3f));
+        } else if (!Character.isSurrogate(c)) {
+            buffer.put((byte) (0xe0 | c >> 12));
+            buffer.put((byte) (0x80 | c >> 6 & 0x3f));
+            buffer.put((byte) (0x80 | c & 0x3f));
+        } else if (Character.isHighSurrogate(c) && index + 1 < value.length() && Character.isLowSurrogate(value.charAt(index + 1))) {
+            int codePoint = Character.toCodePoint(c, value.charAt(++index));
+            buffer.put((byte) (0xf0 | codePoint >> 18));
+            buffer.put((byte) (0x80 | codePoint >> 12 & 0x3f));
+            buffer.put((byte) (0x80 | codePoint >> 6 & 0x3f));
+            buffer.put((byte) (0x80 | codePoint & 0x3f));
+        } else {
+            buffer.put((byte) '?');
+        }
+        return index;
+    }
+
+    private void writeAscii(String ascii) throws IOException {
+        require(ascii.length());
+        for (int i = 0; i < ascii.length(); i++) {
+            buffer.put((byte) ascii.charAt(i));
+        }
+    }
+
+    private void writeRaw(byte[] bytes) throws IOException {
+        require(bytes.length);
+        buffer.put(bytes);
+    }
+
+    private void require(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flushBuffer();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * writes the buffered fields and closes the channel
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flushBuffer();
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package io.javarig.sink;
+
+import io.javarig.RandomInstanceGenerator;
+import io.javarig.config.Configuration;
+import io.javarig.config.DelimitedWriterConfig;
+import io.javarig.exception.InstanceGenerationException;
+import io.javarig.generator.CompiledObjectGenerator;
+import io.javarig.generator.ObjectGenerator;
+import io.javarig.generator.TypeGenerator;
+import io.javarig.random.RandomSources;
+import io.javarig.util.ClassMetadata;
+import io.javarig.util.Utils;
+import io.javarig.util.Validators;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.random.RandomGenerator;
+import java.util.stream.Collectors;
+
+/**
+ * writes random rows of flat types (classes whose fields are all leaf values : primitives and their wrappers,
+ * strings, enums, dates) as delimited text : CSV, TSV or the text format of the PostgreSQL COPY command.
+ * the rows are split into shards written in parallel, each shard having its own random stream (forked in the order of
+ * the shards, so given a seed the rows depend on the number of workers but not on the executor), its own file and
+ * direct buffer.
+ * the shards can then be merged into a single file.
+ * the columns are the fields having a setter, in the order of their declaration (fields of superclasses first)
+ */
+@Getter
+public class DelimitedWriter {
+    private static final String SETTER_PREFIX = "set";
+
+    private final RandomInstanceGenerator randomInstanceGenerator;
+    private final DelimitedWriterConfig config;
+
+    public DelimitedWriter(RandomInstanceGenerator randomInstanceGenerator) {
+        this(randomInstanceGenerator, DelimitedWriterConfig.builder().build());
+    }
+
+    public DelimitedWriter(@NonNull RandomInstanceGenerator randomInstanceGenerator, @NonNull DelimitedWriterConfig config) {
+        Validators.validateWorkers(config.getWorkers());
+        Validators.validateBufferSize(config.getBufferSize());
+        this.randomInstanceGenerator = randomInstanceGenerator;
+        this.config = config;
+    }
+
+    /**
+     * writes rows random instances of the flat type, one per line.
+     * with a single worker the rows are written to the target file, otherwise each worker writes its shard to
+     * target.part-NNNNN, the shards being merged into the target file (and deleted) when merge is configured.
+     * if a shard fails, the write waits for the other shards, then deletes the files it wrote before rethrowing
+     *
+     * @return the written files
+     * @throws IllegalArgumentException    if the type is not a flat type
+     * @throws InstanceGenerationException if a field cannot be generated
+     */
+    public List<Path> write(@NonNull Class<?> type, long rows, @NonNull Path target) throws IOException {
+        Validators.validateSize(rows);
+        List<Column> columns = getColumns(type);
+        int shards = config.getWorkers();
+        // taken once, so that it applies to every row and not only to the first cell generated
+        Configuration oneTimeConfig = randomInstanceGenerator.takeOneTimeConfig();
+        // the source of the call is only used by this thread, so shard streams are forked in the order of the shards
+        RandomGenerator randomSource = randomInstanceGenerator.forkRandomSource();
+        List<Path> shardPaths = new ArrayList<>();
+        // the files opened by the shards, deleted if the write fails
+        Set<Path> openedPaths = ConcurrentHashMap.newKeySet();
+        List<CompletableFuture<Void>> shardWrites = new ArrayList<>();
+        try {
+            for (int shard = 0; shard < shards; shard++) {
+                long shardRows = rows / shards + (shard < rows % shards ? 1 : 0);
+                Random shardRandom = RandomSources.fork(randomSource);
+                Path shardPath = shards == 1 ? target : target.resolveSibling("%s.part-%05d".formatted(target.getFileName(), shard));
+                boolean header = config.isHeader() && (shard == 0 || !config.isMerge());
+                shardPaths.add(shardPath);
+                shardWrites.add(CompletableFuture.runAsync(
+                        () -> writeShard(columns, shardRows, shardRandom, oneTimeConfig, shardPath, header, openedPaths),
+                        config.getExecutor()));
+            }
+        } catch (RuntimeException e) {
+            // the executor rejected a shard, the shards already submitted may still be running
+            awaitAll(shardWrites);
+            deleteAll(openedPaths, e);
+            throw e;
+        }
+        Throwable failure = awaitAll(shardWrites);
+        if (failure != null) {
+            deleteAll(openedPaths, failure instanceof UncheckedIOException e ? e.getCause() : failure);
+            rethrow(failure);
+        }
+        if (shards > 1 && config.isMerge()) {
+            try {
+                merge(shardPaths, target);
+            } catch (IOException | RuntimeException e) {
+                openedPaths.add(target);
+                deleteAll(openedPaths, e);
+                throw e;
+            }
+            return List.of(target);
+        }
+        return shardPaths;
+    }
+
+    /**
+     * @return the columns of the flat type, the fields having a setter in the order of their declaration
+     */
+    private List<Column> getColumns(Class<?> type) {
+        TypeGenerator generator = ScalarEncoders.getGenerator(randomInstanceGenerator, type);
+        if (!(generator instanceof ObjectGenerator || generator instanceof CompiledObjectGenerator)) {
+            throw new IllegalArgumentException("%s is not a class of objects".formatted(type.getName()));
+        }
+        Map<String, ClassMetadata.SetterBinding> setterBindingsByField = ClassMetadata.of(type).getSetterBindings().stream()
+                .collect(Collectors.toMap(
+                        setterBinding -> Utils.getFieldNameFromSetterMethodName(setterBinding.setterName(), SETTER_PREFIX),
+                        Function.identity()));
+        List<Column> columns = new ArrayList<>();
+        for (Field field : getDeclaredFieldsSuperclassesFirst(type)) {
+            ClassMetadata.SetterBinding setterBinding = setterBindingsByField.remove(field.getName());
+            if (setterBinding == null) {
+                continue;
+            }
+            TypeGenerator fieldGenerator = ScalarEncoders.getGenerator(randomInstanceGenerator, setterBinding.fieldType());
+            if (!ScalarEncoders.isScalar(fieldGenerator)) {
+                throw new IllegalArgumentException("%s is not a flat type, field %s of type %s is not a leaf value"
+                        .formatted(type.getName(), field.getName(), setterBinding.fieldType().getTypeName()));
+            }
+            columns.add(new Column(field.getName(),
+                    ScalarEncoders.create(randomInstanceGenerator, setterBinding.fieldType(), fieldGenerator)));
+        }
+        return columns;
+    }
+
+    private static List<Field> getDeclaredFieldsSuperclassesFirst(Class<?> type) {
+        Deque<Class<?>> classes = new ArrayDeque<>();
+        for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+            classes.push(c);
+        }
+        List<Field> fields = new ArrayList<>();
+        for (Class<?> c : classes) {
+            for (Field field : c.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers())) {
+                    fields.add(field);
+                }
+            }
+        }
+        return fields;
+    }
+
+    private void writeShard(List<Column> columns, long rows, Random random, Configuration oneTimeConfig, Path path,
+                            boolean header, Set<Path> openedPaths) {
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        openedPaths.add(path);
+        try (DelimitedOutput output = new DelimitedOutput(channel, config.getFormat(), config.getBufferSize())) {
+            if (header) {
+                for (int i = 0; i < columns.size(); i++) {
+                    if (i > 0) {
+                        output.writeDelimiter();
+                    }
+                    output.writeString(columns.get(i).name());
+                }
+                output.endRow();
+            }
+            for (long row = 0; row < rows; row++) {
+                for (int i = 0; i < columns.size(); i++) {
+                    if (i > 0) {
+                        output.writeDelimiter();
+                    }
+                    columns.get(i).encoder().encode(output, random, oneTimeConfig);
+                }
+                output.endRow();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * waits for every shard, even once one of them has failed
+     *
+     * @return the failure of the first failed shard, null if all the shards succeeded
+     */
+    private static Throwable awaitAll(List<CompletableFuture<Void>> shardWrites) {
+        Throwable failure = null;
+        for (CompletableFuture<Void> shardWrite : shardWrites) {
+            try {
+                shardWrite.join();
+            } catch (CompletionException e) {
+                if (failure == null) {
+                    failure = e.getCause() != null ? e.getCause() : e;
+                }
+            } catch (CancellationException e) {
+                if (failure == null) {
+                    failure = e;
+                }
+            }
+        }
+        return failure;
+    }
+
+    private static void rethrow(Throwable failure) throws IOException {
+        if (failure instanceof UncheckedIOException e) {
+            throw e.getCause();
+        }
+        if (failure instanceof RuntimeException e) {
+            throw e;
+        }
+        if (failure instanceof Error e) {
+            throw e;
+        }
+        throw new CompletionException(failure);
+    }
+
+    /**
+     * deletes the partial files of a failed write, the deletion failures being suppressed by the failure of the write
+     */
+    private static void deleteAll(Set<Path> paths, Throwable failure) {
+        for (Path path : paths) {
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                failure.addSuppressed(e);
+            }
+        }
+    }
+
+    /**
+     * appends the shards to the target file (with zero copy transfers where the platform allows it), and deletes them
+     */
+    private static void merge(List<Path> shardPaths, Path target) throws IOException {
+        try (FileChannel targetChannel = FileChannel.open(target,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            for (Path shardPath : shardPaths) {
+                try (FileChannel shardChannel = FileChannel.open(shardPath, StandardOpenOption.READ)) {
+                    long size = shardChannel.size();
+                    for (long position = 0; position < size; ) {
+                        position += shardChannel.transferTo(position, size - position, targetChannel);
+                    }
+                }
+                Files.delete(shardPath);
+            }
+        }
+    }
+
+    /**
+     * a column of the rows and the encoder of its values
+     */
+    private record Column(String name, ScalarEncoder encoder) {
+    }
+}
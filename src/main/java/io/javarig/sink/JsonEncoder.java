@@ -0,0 +1,18 @@
+package io.javarig.sink;
+
+import io.javarig.config.Configuration;
+
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * generates a random value of a type and writes it as json, without creating the value when it is an object,
+ * a collection, a map or an array
+ */
+@FunctionalInterface
+interface JsonEncoder {
+    /**
+     * @param oneTimeConfig the one time configuration taken by the sink for the values it writes, null if none
+     */
+    void encode(JsonOutput output, Random random, Configuration oneTimeConfig) throws IOException;
+}
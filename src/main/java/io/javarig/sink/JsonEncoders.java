@@ -0,0 +1,269 @@
+package io.javarig.sink;
+
+import io.javarig.GenericType;
+import io.javarig.RandomInstanceGenerator;
+import io.javarig.config.Configuration;
+import io.javarig.generator.CompiledObjectGenerator;
+import io.javarig.generator.ObjectGenerator;
+import io.javarig.generator.TypeGenerator;
+import io.javarig.generator.collection.CollectionGenerator;
+import io.javarig.generator.map.MapGenerator;
+import io.javarig.util.ClassMetadata;
+import io.javarig.util.GenericTypes;
+import io.javarig.util.Utils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * the json encoders of the types written by a sink, built once per type from the generation plan of the type : the
+ * setters of objects (as bound by ClassMetadata), the sizes of collections, maps and arrays, and the leaf generators
+ * (see ScalarEncoders). every value is written as a generation of its type run by the random instance generator, so
+ * the depth limits and the one time configuration apply like they apply to the generators : truncated fields are
+ * left out, truncated collections, maps and arrays are empty, and the values generated as objects (strings, enums,
+ * dates, keys of maps) are nested in the value being written.
+ * the encoders are not thread safe
+ */
+final class JsonEncoders {
+    private static final String SETTER_PREFIX = "set";
+
+    private final RandomInstanceGenerator randomInstanceGenerator;
+    private final Map<Type, JsonEncoder> encoders = new HashMap<>();
+
+    JsonEncoders(RandomInstanceGenerator randomInstanceGenerator) {
+        this.randomInstanceGenerator = randomInstanceGenerator;
+    }
+
+    JsonEncoder get(Type type) {
+        JsonEncoder encoder = encoders.get(type);
+        if (encoder == null) {
+            // object encoders register themselves before creating the encoders of their fields, for recursive types
+            encoder = create(type);
+            encoders.put(type, encoder);
+        }
+        return encoder;
+    }
+
+    private JsonEncoder create(Type type) {
+        TypeGenerator generator = ScalarEncoders.getGenerator(randomInstanceGenerator, type);
+        if (ScalarEncoders.isScalar(generator)) {
+            return new LeafEncoder(type, ScalarEncoders.createDrawn(generator));
+        }
+        if (generator instanceof ObjectGenerator || generator instanceof CompiledObjectGenerator) {
+            return createObjectEncoder(type);
+        }
+        if (generator instanceof CollectionGenerator<?> collectionGenerator) {
+            collectionGenerator.checkIfValidNumberOfGenericArguments(type);
+            Type elementType = ((ParameterizedType) type).getActualTypeArguments()[0];
+            return new SequenceEncoder(type, elementType, get(elementType));
+        }
+        if (generator instanceof MapGenerator mapGenerator) {
+            ((GenericType) mapGenerator).checkIfValidNumberOfGenericArguments(type);
+            Type[] typeArguments = ((ParameterizedType) type).getActualTypeArguments();
+            return new MapEncoder(type, typeArguments[0], typeArguments[1], get(typeArguments[1]));
+        }
+        Class<?> componentType = ((Class<?>) type).componentType();
+        if (componentType.isPrimitive()) {
+            // primitive arrays are filled without generating their elements, like the array generator fills them
+            ScalarEncoder drawnEncoder = ScalarEncoders.createDrawn(ScalarEncoders.getGenerator(randomInstanceGenerator, componentType));
+            return new SequenceEncoder(type, null, drawnEncoder::encode);
+        }
+        return new SequenceEncoder(type, componentType, get(componentType));
+    }
+
+    private ObjectEncoder createObjectEncoder(Type type) {
+        Class<?> objectClass;
+        Map<TypeVariable<?>, Type> typeVariableBindings;
+        if (type instanceof ParameterizedType parameterizedType) {
+            objectClass = (Class<?>) parameterizedType.getRawType();
+            typeVariableBindings = GenericTypes.bindTypeVariables(objectClass, parameterizedType.getActualTypeArguments());
+        } else {
+            objectClass = (Class<?>) type;
+            typeVariableBindings = GenericTypes.bindTypeVariables(objectClass, new Type[0]);
+        }
+        List<ClassMetadata.SetterBinding> setterBindings = ClassMetadata.of(objectClass).getSetterBindings();
+        ObjectEncoder objectEncoder = new ObjectEncoder(type, setterBindings.size());
+        encoders.put(type, objectEncoder);
+        for (int i = 0; i < setterBindings.size(); i++) {
+            ClassMetadata.SetterBinding setterBinding = setterBindings.get(i);
+            String fieldName = Utils.getFieldNameFromSetterMethodName(setterBinding.setterName(), SETTER_PREFIX);
+            Type fieldType = GenericTypes.resolve(setterBinding.fieldType(), typeVariableBindings);
+            objectEncoder.fieldNames[i] = ("\"" + fieldName + "\":").getBytes(StandardCharsets.UTF_8);
+            objectEncoder.fieldTypes[i] = fieldType;
+            objectEncoder.fieldEncoders[i] = get(fieldType);
+        }
+        return objectEncoder;
+    }
+
+    private int nextSize(Random random, Configuration oneTimeConfig) {
+        Configuration config = oneTimeConfig != null ? oneTimeConfig : randomInstanceGenerator.getGeneralConfig();
+        return random.nextInt(config.getMinSizeInclusive(), config.getMaxSizeExclusive());
+    }
+
+    /**
+     * writes a value as a generation of its type, nested in the generation running on the thread if any
+     */
+    private abstract class GenerationEncoder implements JsonEncoder {
+        private final Type type;
+
+        private GenerationEncoder(Type type) {
+            this.type = type;
+        }
+
+        /**
+         * writes the value, the depth limits of the type being checked and the type being on the path of the generations
+         */
+        abstract void encodeValue(JsonOutput output, Random random, Configuration oneTimeConfig, TypeGenerator generator) throws IOException;
+
+        @Override
+        public void encode(JsonOutput output, Random random, Configuration oneTimeConfig) throws IOException {
+            boolean encoded;
+            try {
+                encoded = randomInstanceGenerator.runGeneration(type, random, oneTimeConfig, generator -> {
+                    try {
+                        encodeValue(output, random, oneTimeConfig, generator);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            if (!encoded) {
+                // only a top level value can be truncated, nested ones are left out before being written
+                output.writeNull();
+            }
+        }
+    }
+
+    /**
+     * writes a leaf value, primitives being drawn and written unboxed
+     */
+    private final class LeafEncoder extends GenerationEncoder {
+        /**
+         * null if the values are generated as objects
+         */
+        private final ScalarEncoder drawnEncoder;
+
+        private LeafEncoder(Type type, ScalarEncoder drawnEncoder) {
+            super(type);
+            this.drawnEncoder = drawnEncoder;
+        }
+
+        @Override
+        void encodeValue(JsonOutput output, Random random, Configuration oneTimeConfig, TypeGenerator generator) throws IOException {
+            if (drawnEncoder != null) {
+                drawnEncoder.encode(output, random, oneTimeConfig);
+            } else {
+                ScalarEncoders.write(output, generator.generate());
+            }
+        }
+    }
+
+    /**
+     * writes an object with the fields its setters would set
+     */
+    private final class ObjectEncoder extends GenerationEncoder {
+        private final byte[][] fieldNames;
+        private final Type[] fieldTypes;
+        private final JsonEncoder[] fieldEncoders;
+
+        private ObjectEncoder(Type type, int numberOfFields) {
+            super(type);
+            this.fieldNames = new byte[numberOfFields][];
+            this.fieldTypes = new Type[numberOfFields];
+            this.fieldEncoders = new JsonEncoder[numberOfFields];
+        }
+
+        @Override
+        void encodeValue(JsonOutput output, Random random, Configuration oneTimeConfig, TypeGenerator generator) throws IOException {
+            output.writeByte('{');
+            boolean first = true;
+            for (int i = 0; i < fieldEncoders.length; i++) {
+                if (randomInstanceGenerator.isTruncated(fieldTypes[i])) {
+                    continue;
+                }
+                if (!first) {
+                    output.writeByte(',');
+                }
+                first = false;
+                output.writeRaw(fieldNames[i]);
+                fieldEncoders[i].encode(output, random, oneTimeConfig);
+            }
+            output.writeByte('}');
+        }
+    }
+
+    /**
+     * writes a collection or an array as a json array
+     */
+    private final class SequenceEncoder extends GenerationEncoder {
+        /**
+         * null for primitive arrays, whose elements are not generated
+         */
+        private final Type elementType;
+        private final JsonEncoder elementEncoder;
+
+        private SequenceEncoder(Type type, Type elementType, JsonEncoder elementEncoder) {
+            super(type);
+            this.elementType = elementType;
+            this.elementEncoder = elementEncoder;
+        }
+
+        @Override
+        void encodeValue(JsonOutput output, Random random, Configuration oneTimeConfig, TypeGenerator generator) throws IOException {
+            int size = nextSize(random, oneTimeConfig);
+            output.writeByte('[');
+            if (elementType == null || !randomInstanceGenerator.isTruncated(elementType)) {
+                for (int i = 0; i < size; i++) {
+                    if (i > 0) {
+                        output.writeByte(',');
+                    }
+                    elementEncoder.encode(output, random, oneTimeConfig);
+                }
+            }
+            output.writeByte(']');
+        }
+    }
+
+    /**
+     * writes a map as a json object, the keys being generated (nested in the map) and written as strings
+     */
+    private final class MapEncoder extends GenerationEncoder {
+        private final Type keyType;
+        private final Type valueType;
+        private final JsonEncoder valueEncoder;
+
+        private MapEncoder(Type type, Type keyType, Type valueType, JsonEncoder valueEncoder) {
+            super(type);
+            this.keyType = keyType;
+            this.valueType = valueType;
+            this.valueEncoder = valueEncoder;
+        }
+
+        @Override
+        void encodeValue(JsonOutput output, Random random, Configuration oneTimeConfig, TypeGenerator generator) throws IOException {
+            int size = nextSize(random, oneTimeConfig);
+            output.writeByte('{');
+            if (!randomInstanceGenerator.isTruncated(keyType) && !randomInstanceGenerator.isTruncated(valueType)) {
+                for (int i = 0; i < size; i++) {
+                    if (i > 0) {
+                        output.writeByte(',');
+                    }
+                    output.writeString(ScalarEncoders.toString(randomInstanceGenerator.generate(keyType, random, oneTimeConfig)));
+                    output.writeByte(':');
+                    valueEncoder.encode(output, random, oneTimeConfig);
+                }
+            }
+            output.writeByte('}');
+        }
+    }
+}
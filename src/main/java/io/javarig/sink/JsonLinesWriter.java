@@ -0,0 +1,106 @@
+package io.javarig.sink;
+
+import io.javarig.RandomInstanceGenerator;
+import io.javarig.TypeToken;
+import io.javarig.config.Configuration;
+import io.javarig.config.DefaultConfigValues;
+import io.javarig.exception.InstanceGenerationException;
+import io.javarig.util.Validators;
+import lombok.NonNull;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * writes random instances as JSON Lines (one json value per line, UTF-8), generating the values straight into the
+ * output instead of creating the objects : objects, collections, maps and arrays are never created, they are written
+ * following the generation plan of their type (setters, sizes, depth limits), only strings, enums and dates are
+ * generated as objects. the one time configuration of the random instance generator applies to all the lines of a write.
+ * objects are written with the fields their setters would set, maps with their keys as strings. as the values are not
+ * created, the elements of sets and the keys of maps may repeat.
+ * a writer is not thread safe, several writers can share a random instance generator
+ */
+public class JsonLinesWriter implements Closeable, Flushable {
+    private static final byte[] NEW_LINE = {'\n'};
+
+    private final RandomInstanceGenerator randomInstanceGenerator;
+    private final JsonOutput output;
+    private final JsonEncoders encoders;
+
+    public JsonLinesWriter(RandomInstanceGenerator randomInstanceGenerator, OutputStream outputStream) {
+        this(randomInstanceGenerator, outputStream, DefaultConfigValues.DEFAULT_SINK_BUFFER_SIZE);
+    }
+
+    /**
+     * @param bufferSize the size in bytes of the buffer the lines are encoded into, before being written to the stream
+     */
+    public JsonLinesWriter(@NonNull RandomInstanceGenerator randomInstanceGenerator, @NonNull OutputStream outputStream, int bufferSize) {
+        Validators.validateBufferSize(bufferSize);
+        this.randomInstanceGenerator = randomInstanceGenerator;
+        this.output = JsonOutput.of(outputStream, bufferSize);
+        this.encoders = new JsonEncoders(randomInstanceGenerator);
+    }
+
+    /**
+     * @param bufferSize the size in bytes of the buffer the lines are encoded into, before being written to the channel
+     */
+    public JsonLinesWriter(@NonNull RandomInstanceGenerator randomInstanceGenerator, @NonNull WritableByteChannel channel, int bufferSize) {
+        Validators.validateBufferSize(bufferSize);
+        this.randomInstanceGenerator = randomInstanceGenerator;
+        this.output = JsonOutput.of(channel, bufferSize);
+        this.encoders = new JsonEncoders(randomInstanceGenerator);
+    }
+
+    /**
+     * writes a random instance of the type, on its own line
+     *
+     * @throws InstanceGenerationException if a value of the type cannot be generated
+     */
+    public void write(@NonNull Type type) throws IOException {
+        write(type, 1);
+    }
+
+    /**
+     * writes count random instances of the type, one per line
+     *
+     * @throws InstanceGenerationException if a value of the type cannot be generated
+     */
+    public void write(@NonNull Type type, long count) throws IOException {
+        Validators.validateSize(count);
+        JsonEncoder encoder = encoders.get(type);
+        // taken once, so that it applies to every line and not only to the first value generated
+        Configuration oneTimeConfig = randomInstanceGenerator.takeOneTimeConfig();
+        for (long i = 0; i < count; i++) {
+            // the random stream of the thread, taken for each line as the writer can be used by different threads in turn
+            encoder.encode(output, randomInstanceGenerator.getRandom(), oneTimeConfig);
+            output.writeRaw(NEW_LINE);
+        }
+    }
+
+    /**
+     * @see #write(Type, long)
+     */
+    public void write(@NonNull TypeToken<?> typeToken, long count) throws IOException {
+        write(typeToken.getType(), count);
+    }
+
+    /**
+     * writes the buffered lines and flushes the stream
+     */
+    @Override
+    public void flush() throws IOException {
+        output.flush();
+    }
+
+    /**
+     * writes the buffered lines and closes the stream (or channel)
+     */
+    @Override
+    public void close() throws IOException {
+        output.close();
+    }
+}
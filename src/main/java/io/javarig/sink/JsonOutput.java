@@ -0,0 +1,247 @@
+package io.javarig.sink;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * writes json tokens as UTF-8 into a fixed size buffer, that is written to the output stream (or channel) when full.
+ * numbers and strings are encoded straight into the buffer, without intermediate strings or byte arrays
+ */
+final class JsonOutput implements ScalarOutput, Flushable, Closeable {
+    private static final byte[] HEX_DIGITS = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NULL = "null".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TRUE = "true".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] FALSE = "false".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] MIN_LONG = Long.toString(Long.MIN_VALUE).getBytes(StandardCharsets.US_ASCII);
+    /**
+     * the maximum number of bytes a char is written with (an escaped control char \\u00XX)
+     */
+    private static final int MAX_CHAR_BYTES = 6;
+    private static final int MAX_LONG_BYTES = 20;
+
+    private final byte[] buffer;
+    private final ByteSink sink;
+    private int position;
+
+    private JsonOutput(int bufferSize, ByteSink sink) {
+        this.buffer = new byte[bufferSize];
+        this.sink = sink;
+    }
+
+    static JsonOutput of(OutputStream outputStream, int bufferSize) {
+        return new JsonOutput(bufferSize, new ByteSink() {
+            @Override
+            public void write(byte[] bytes, int length) throws IOException {
+                outputStream.write(bytes, 0, length);
+            }
+
+            @Override
+            public void flush() throws IOException {
+                outputStream.flush();
+            }
+
+            @Override
+            public void close() throws IOException {
+                outputStream.close();
+            }
+        });
+    }
+
+    static JsonOutput of(WritableByteChannel channel, int bufferSize) {
+        return new JsonOutput(bufferSize, new ByteSink() {
+            @Override
+            public void write(byte[] bytes, int length) throws IOException {
+                ByteBuffer byteBuffer = ByteBuffer.wrap(bytes, 0, length);
+                while (byteBuffer.hasRemaining()) {
+                    channel.write(byteBuffer);
+                }
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() throws IOException {
+                channel.close();
+            }
+        });
+    }
+
+    void writeByte(char asciiChar) throws IOException {
+        require(1);
+        buffer[position++] = (byte) asciiChar;
+    }
+
+    /**
+     * writes already encoded bytes (e.g. a field name with its quotes and colon)
+     */
+    void writeRaw(byte[] bytes) throws IOException {
+        if (bytes.length > buffer.length) {
+            flushBuffer();
+            sink.write(bytes, bytes.length);
+            return;
+        }
+        require(bytes.length);
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    @Override
+    public void writeNull() throws IOException {
+        writeRaw(NULL);
+    }
+
+    @Override
+    public void writeBoolean(boolean value) throws IOException {
+        writeRaw(value ? TRUE : FALSE);
+    }
+
+    @Override
+    public void writeLong(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            writeRaw(MIN_LONG);
+            return;
+        }
+        require(MAX_LONG_BYTES);
+        if (value < 0) {
+            buffer[position++] = '-';
+            value = -value;
+        }
+        int start = position;
+        do {
+            buffer[position++] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        // the digits are written from the lowest, reverse them
+        for (int i = start, j = position - 1; i < j; i++, j--) {
+            byte digit = buffer[i];
+            buffer[i] = buffer[j];
+            buffer[j] = digit;
+        }
+    }
+
+    /**
+     * writes the number, or null if it is not finite (json has no NaN or infinity)
+     */
+    @Override
+    public void writeDouble(double value) throws IOException {
+        if (!Double.isFinite(value)) {
+            writeNull();
+            return;
+        }
+        writeAscii(Double.toString(value));
+    }
+
+    @Override
+    public void writeFloat(float value) throws IOException {
+        if (!Float.isFinite(value)) {
+            writeNull();
+            return;
+        }
+        writeAscii(Float.toString(value));
+    }
+
+    private void writeAscii(String ascii) throws IOException {
+        require(ascii.length());
+        for (int i = 0; i < ascii.length(); i++) {
+            buffer[position++] = (byte) ascii.charAt(i);
+        }
+    }
+
+    /**
+     * writes a quoted and escaped json string, lone surrogates are replaced by '?'
+     */
+    @Override
+    public void writeString(CharSequence value) throws IOException {
+        writeByte('"');
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            require(MAX_CHAR_BYTES);
+            if (c >= 0x20 && c < 0x80) {
+                if (c == '"' || c == '\\') {
+                    buffer[position++] = '\\';
+                }
+                buffer[position++] = (byte) c;
+            } else if (c < 0x20) {
+                writeControlChar(c);
+            } else if (c < 0x800) {
+                buffer[position++] = (byte) (0xc0 | c >> 6);
+                buffer[position++] = (byte) (0x80 | c & 0x3f);
+            } else if (!Character.isSurrogate(c)) {
+                buffer[position++] = (byte) (0xe0 | c >> 12);
+                buffer[position++] = (byte) (0x80 | c >> 6 & 0x3f);
+                buffer[position++] = (byte) (0x80 | c & 0x3f);
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                buffer[position++] = (byte) (0xf0 | codePoint >> 18);
+                buffer[position++] = (byte) (0x80 | codePoint >> 12 & 0x3f);
+                buffer[position++] = (byte) (0x80 | codePoint >> 6 & 0x3f);
+                buffer[position++] = (byte) (0x80 | codePoint & 0x3f);
+            } else {
+                buffer[position++] = '?';
+            }
+        }
+        writeByte('"');
+    }
+
+    private void writeControlChar(char c) {
+        buffer[position++] = '\\';
+        switch (c) {
+            case '\b' -> buffer[position++] = 'b';
+            case '\f' -> buffer[position++] = 'f';
+            case '\n' -> buffer[position++] = 'n';
+            case '\r' -> buffer[position++] = 'r';
+            case '\t' -> buffer[position++] = 't';
+            default -> {
+                buffer[position++] = 'u';
+                buffer[position++] = '0';
+                buffer[position++] = '0';
+                buffer[position++] = HEX_DIGITS[c >> 4];
+                buffer[position++] = HEX_DIGITS[c & 0xf];
+            }
+        }
+    }
+
+    private void require(int bytes) throws IOException {
+        if (position + bytes > buffer.length) {
+            flushBuffer();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        if (position > 0) {
+            sink.write(buffer, position);
+            position = 0;
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+        sink.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            sink.close();
+        }
+    }
+
+    private interface ByteSink {
+        void write(byte[] bytes, int length) throws IOException;
+
+        void flush() throws IOException;
+
+        void close() throws IOException;
+    }
+}
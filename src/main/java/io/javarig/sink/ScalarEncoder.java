@@ -0,0 +1,17 @@
+package io.javarig.sink;
+
+import io.javarig.config.Configuration;
+
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * generates a random leaf value and writes it to the output of a sink
+ */
+@FunctionalInterface
+interface ScalarEncoder {
+    /**
+     * @param oneTimeConfig the one time configuration taken by the sink for the values it writes, null if none
+     */
+    void encode(ScalarOutput output, Random random, Configuration oneTimeConfig) throws IOException;
+}
@@ -0,0 +1,129 @@
+package io.javarig.sink;
+
+import io.javarig.RandomInstanceGenerator;
+import io.javarig.generator.ArrayGenerator;
+import io.javarig.generator.CompiledObjectGenerator;
+import io.javarig.generator.ObjectGenerator;
+import io.javarig.generator.PooledGenerator;
+import io.javarig.generator.StringGenerator;
+import io.javarig.generator.TypeGenerator;
+import io.javarig.generator.collection.CollectionGenerator;
+import io.javarig.generator.map.MapGenerator;
+import io.javarig.generator.primitive.BooleanGenerator;
+import io.javarig.generator.primitive.ByteGenerator;
+import io.javarig.generator.primitive.CharGenerator;
+import io.javarig.generator.primitive.DoubleGenerator;
+import io.javarig.generator.primitive.FloatGenerator;
+import io.javarig.generator.primitive.IntegerGenerator;
+import io.javarig.generator.primitive.LongGenerator;
+import io.javarig.generator.primitive.ShortGenerator;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Date;
+
+/**
+ * the encoders of the leaf types (primitives and their wrappers, strings, enums, dates), shared by the sinks.
+ * primitive values are drawn like their generators draw them and written unboxed, other leaf values are generated
+ * by the random instance generator with the random stream and the one time configuration of the sink
+ */
+final class ScalarEncoders {
+
+    private ScalarEncoders() {
+    }
+
+    /**
+     * @return the generator of the type, the generator filling the pool of the type if it is pooled
+     */
+    static TypeGenerator getGenerator(RandomInstanceGenerator randomInstanceGenerator, Type type) {
+        TypeGenerator generator = randomInstanceGenerator.getTypeGeneratorFactory().getGenerator(type, randomInstanceGenerator);
+        if (generator instanceof PooledGenerator pooledGenerator) {
+            return pooledGenerator.getDelegate();
+        }
+        return generator;
+    }
+
+    /**
+     * @return whether the generator generates leaf values, i.e. neither objects, collections, maps nor arrays
+     */
+    static boolean isScalar(TypeGenerator generator) {
+        return !(generator instanceof ObjectGenerator || generator instanceof CompiledObjectGenerator
+                || generator instanceof CollectionGenerator<?> || generator instanceof MapGenerator
+                || generator instanceof ArrayGenerator);
+    }
+
+    static ScalarEncoder create(RandomInstanceGenerator randomInstanceGenerator, Type type, TypeGenerator generator) {
+        ScalarEncoder drawnEncoder = createDrawn(generator);
+        if (drawnEncoder != null) {
+            return drawnEncoder;
+        }
+        if (generator instanceof StringGenerator) {
+            return (output, random, oneTimeConfig) -> output.writeString(randomInstanceGenerator.<String>generate(type, random, oneTimeConfig));
+        }
+        return (output, random, oneTimeConfig) -> write(output, randomInstanceGenerator.generate(type, random, oneTimeConfig));
+    }
+
+    /**
+     * @return the encoder drawing the values of the primitive generator and writing them unboxed, null if the values
+     * of the generator are generated as objects
+     */
+    static ScalarEncoder createDrawn(TypeGenerator generator) {
+        if (generator instanceof IntegerGenerator) {
+            return (output, random, oneTimeConfig) -> output.writeLong(IntegerGenerator.nextValue(random));
+        }
+        if (generator instanceof LongGenerator) {
+            return (output, random, oneTimeConfig) -> output.writeLong(LongGenerator.nextValue(random));
+        }
+        if (generator instanceof ShortGenerator) {
+            return (output, random, oneTimeConfig) -> output.writeLong(ShortGenerator.nextValue(random));
+        }
+        if (generator instanceof ByteGenerator) {
+            return (output, random, oneTimeConfig) -> output.writeLong((byte) random.nextInt(Byte.MIN_VALUE, Byte.MAX_VALUE + 1));
+        }
+        if (generator instanceof BooleanGenerator) {
+            return (output, random, oneTimeConfig) -> output.writeBoolean(BooleanGenerator.nextValue(random));
+        }
+        if (generator instanceof DoubleGenerator) {
+            return (output, random, oneTimeConfig) -> output.writeDouble(DoubleGenerator.nextValue(random));
+        }
+        if (generator instanceof FloatGenerator) {
+            return (output, random, oneTimeConfig) -> output.writeFloat(FloatGenerator.nextValue(random));
+        }
+        if (generator instanceof CharGenerator) {
+            return (output, random, oneTimeConfig) -> output.writeString(String.valueOf(CharGenerator.nextValue(random)));
+        }
+        return null;
+    }
+
+    /**
+     * writes a leaf value : numbers and booleans as is, others as strings
+     *
+     * @see #toString(Object)
+     */
+    static void write(ScalarOutput output, Object value) throws IOException {
+        if (value == null) {
+            output.writeNull();
+        } else if (value instanceof Boolean b) {
+            output.writeBoolean(b);
+        } else if (value instanceof Double || value instanceof Float) {
+            output.writeDouble(((Number) value).doubleValue());
+        } else if (value instanceof Number number) {
+            output.writeLong(number.longValue());
+        } else {
+            output.writeString(toString(value));
+        }
+    }
+
+    /**
+     * @return the string of a leaf value : enums with their name, dates as (ISO-8601) instants
+     */
+    static String toString(Object value) {
+        if (value instanceof Enum<?> e) {
+            return e.name();
+        }
+        if (value instanceof Date date) {
+            return date.toInstant().toString();
+        }
+        return String.valueOf(value);
+    }
+}
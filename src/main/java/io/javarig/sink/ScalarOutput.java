@@ -0,0 +1,20 @@
+package io.javarig.sink;
+
+import java.io.IOException;
+
+/**
+ * an output the leaf values (numbers, booleans, strings) are written to, in the format of the sink
+ */
+interface ScalarOutput {
+    void writeNull() throws IOException;
+
+    void writeBoolean(boolean value) throws IOException;
+
+    void writeLong(long value) throws IOException;
+
+    void writeDouble(double value) throws IOException;
+
+    void writeFloat(float value) throws IOException;
+
+    void writeString(CharSequence value) throws IOException;
+}
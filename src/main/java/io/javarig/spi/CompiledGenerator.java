@@ -0,0 +1,23 @@
+package io.javarig.spi;
+
+import io.javarig.RandomInstanceGenerator;
+import io.javarig.exception.InstanceGenerationException;
+
+/**
+ * a generator compiled ahead of time for a single class (for example by the javarig-processor annotation processor).
+ * implementations are discovered with the ServiceLoader, and take precedence over the reflective ObjectGenerator
+ *
+ * @param <T> the generated class
+ */
+public interface CompiledGenerator<T> {
+
+    /**
+     * @return the class of the objects generated by this generator
+     */
+    Class<T> getGeneratedType();
+
+    /**
+     * generates a random object, its fields are generated using the given randomInstanceGenerator
+     */
+    T generate(RandomInstanceGenerator randomInstanceGenerator) throws InstanceGenerationException;
+}
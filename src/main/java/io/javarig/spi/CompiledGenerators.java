@@ -0,0 +1,40 @@
+package io.javarig.spi;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+/**
+ * the compiled generators available on the classpath, they are loaded once, the first time an object is generated
+ */
+@Slf4j
+public class CompiledGenerators {
+
+    /**
+     * @return the compiled generator of the class, or null if there is none
+     */
+    public static CompiledGenerator<?> get(Class<?> generatedClass) {
+        return Holder.COMPILED_GENERATORS.get(generatedClass);
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static Map<Class<?>, CompiledGenerator<?>> load() {
+        Map<Class<?>, CompiledGenerator<?>> compiledGenerators = new HashMap<>();
+        for (ServiceLoader.Provider<CompiledGenerator> provider : ServiceLoader.load(CompiledGenerator.class).stream().toList()) {
+            try {
+                CompiledGenerator<?> compiledGenerator = provider.get();
+                compiledGenerators.put(compiledGenerator.getGeneratedType(), compiledGenerator);
+            } catch (ServiceConfigurationError e) {
+                log.warn("compiled generator {} can't be loaded, the reflective generator will be used", provider.type().getName(), e);
+            }
+        }
+        return Map.copyOf(compiledGenerators);
+    }
+
+    private static class Holder {
+        private static final Map<Class<?>, CompiledGenerator<?>> COMPILED_GENERATORS = load();
+    }
+}
@@ -0,0 +1,126 @@
+package io.javarig.util;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * the setters of a class bound to the fields they set, with the (unresolved) generic types of the fields and the
+ * matching getters (if any).
+ * the metadata of a class is introspected once, and kept in a ClassValue : it is shared by all the generators of the
+ * class (whatever its type arguments), and released when the class is unloaded
+ */
+@Getter
+@Slf4j
+public class ClassMetadata {
+    private static final String SETTER_PREFIX = "set";
+    private static final List<String> GETTER_PREFIXES = List.of("get", "is");
+    private static final ClassValue<ClassMetadata> METADATA = new ClassValue<>() {
+        @Override
+        protected ClassMetadata computeValue(Class<?> type) {
+            return new ClassMetadata(type);
+        }
+    };
+
+    private final List<SetterBinding> setterBindings;
+
+    private ClassMetadata(Class<?> objectClass) {
+        this.setterBindings = bindSetters(objectClass);
+    }
+
+    public static ClassMetadata of(Class<?> objectClass) {
+        return METADATA.get(objectClass);
+    }
+
+    /**
+     * binds each public setter of the class to its own or inherited field, setters with no field associated
+     * (or not accessible) are left out
+     */
+    private static List<SetterBinding> bindSetters(Class<?> objectClass) {
+        Map<String, Field> fieldsByName = getOwnAndInheritedFields(objectClass);
+        Map<String, Method> gettersByName = getGetters(objectClass);
+        List<SetterBinding> bindings = new ArrayList<>();
+        for (Method setter : objectClass.getMethods()) {
+            if (!setter.getName().startsWith(SETTER_PREFIX)) {
+                continue;
+            }
+            String fieldName = Utils.getFieldNameFromSetterMethodName(setter.getName(), SETTER_PREFIX);
+            Field field = fieldsByName.get(fieldName);
+            if (field == null) {
+                log.warn("no such field with name {} for setter {}", fieldName, setter.getName());
+                continue;
+            }
+            try {
+                BiConsumer<Object, Object> compiledSetter = LambdaAccessors.compileSetter(objectClass, setter);
+                Function<Object, Object> compiledGetter = compileGetter(objectClass, gettersByName, setter.getName());
+                bindings.add(new SetterBinding(setter.getName(), compiledSetter, compiledGetter, field.getGenericType()));
+            } catch (IllegalAccessException ignore) {
+                // this will be ignored because if the setter is not accessible (i.e. has a non-public access modifier)
+                // we don't want to do anything
+                log.warn("setter {} in class {} is not accessible", setter.getName(), objectClass.getName());
+            }
+        }
+        return List.copyOf(bindings);
+    }
+
+    /**
+     * @return the public, no arguments, non void instance methods of the class by name
+     */
+    private static Map<String, Method> getGetters(Class<?> objectClass) {
+        Map<String, Method> gettersByName = new HashMap<>();
+        for (Method method : objectClass.getMethods()) {
+            if (method.getParameterCount() == 0 && method.getReturnType() != void.class && !Modifier.isStatic(method.getModifiers())) {
+                gettersByName.put(method.getName(), method);
+            }
+        }
+        return gettersByName;
+    }
+
+    /**
+     * @return the compiled getter (getXxx or isXxx) matching the setter setXxx, or null if there is none
+     */
+    private static Function<Object, Object> compileGetter(Class<?> objectClass, Map<String, Method> gettersByName, String setterName) {
+        String propertyName = setterName.substring(SETTER_PREFIX.length());
+        for (String getterPrefix : GETTER_PREFIXES) {
+            Method getter = gettersByName.get(getterPrefix + propertyName);
+            if (getter == null) {
+                continue;
+            }
+            try {
+                return LambdaAccessors.compileGetter(objectClass, getter);
+            } catch (IllegalAccessException e) {
+                log.warn("getter {} in class {} is not accessible", getter.getName(), objectClass.getName());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the fields of the class and its superclasses by name, a field hides the fields of its superclasses
+     */
+    private static Map<String, Field> getOwnAndInheritedFields(Class<?> objectClass) {
+        Map<String, Field> fieldsByName = new HashMap<>();
+        for (Class<?> c = objectClass; c != null; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                fieldsByName.putIfAbsent(field.getName(), field);
+            }
+        }
+        return fieldsByName;
+    }
+
+    /**
+     * a (compiled) setter of the class, its (compiled) getter if any, and the generic type of the field it sets
+     */
+    public record SetterBinding(String setterName, BiConsumer<Object, Object> setter, Function<Object, Object> getter, Type fieldType) {
+    }
+}
@@ -1,13 +1,68 @@
 package io.javarig.util;
 
+import io.javarig.ParameterizedTypeImpl;
+
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.util.HashMap;
 import java.util.Map;
 
 public class GenericTypes {
-    public static Type resolve(Type type, Map<String, Type> genericTypesMap){
-        if(genericTypesMap.containsKey(type.getTypeName())){
-            return genericTypesMap.get(type.getTypeName());
+    /**
+     * binds the type variables of the class to the type arguments, and the type variables of its superclasses
+     * to the type arguments given to them in the extends clauses
+     *
+     * @param typeArguments the type arguments of the class, empty for a raw class
+     */
+    public static Map<TypeVariable<?>, Type> bindTypeVariables(Class<?> rawClass, Type[] typeArguments) {
+        Map<TypeVariable<?>, Type> bindings = new HashMap<>();
+        TypeVariable<?>[] typeParameters = rawClass.getTypeParameters();
+        for (int i = 0; i < Math.min(typeParameters.length, typeArguments.length); i++) {
+            bindings.put(typeParameters[i], typeArguments[i]);
+        }
+        for (Class<?> c = rawClass; c.getSuperclass() != null; c = c.getSuperclass()) {
+            if (c.getGenericSuperclass() instanceof ParameterizedType superclass) {
+                TypeVariable<?>[] superclassTypeParameters = c.getSuperclass().getTypeParameters();
+                Type[] superclassTypeArguments = superclass.getActualTypeArguments();
+                for (int i = 0; i < superclassTypeParameters.length; i++) {
+                    bindings.put(superclassTypeParameters[i], resolve(superclassTypeArguments[i], bindings));
+                }
+            }
+        }
+        return bindings;
+    }
+
+    /**
+     * replaces the bound type variables of the type, at any depth (e.g. List&lt;Map&lt;K, V&gt;&gt;).
+     * the parameterized types are returned in their canonical instance
+     */
+    public static Type resolve(Type type, Map<TypeVariable<?>, Type> bindings) {
+        if (type instanceof TypeVariable<?> typeVariable) {
+            Type boundType = bindings.get(typeVariable);
+            return boundType != null ? boundType : type;
+        }
+        if (type instanceof ParameterizedType parameterizedType) {
+            Type[] typeArguments = parameterizedType.getActualTypeArguments();
+            Type[] resolvedTypeArguments = new Type[typeArguments.length];
+            for (int i = 0; i < typeArguments.length; i++) {
+                resolvedTypeArguments[i] = resolve(typeArguments[i], bindings);
+            }
+            Type ownerType = parameterizedType.getOwnerType() == null ? null : resolve(parameterizedType.getOwnerType(), bindings);
+            return new ParameterizedTypeImpl(resolvedTypeArguments, (Class<?>) parameterizedType.getRawType(), ownerType).intern();
+        }
+        if (type instanceof GenericArrayType genericArrayType
+                && resolve(genericArrayType.getGenericComponentType(), bindings) instanceof Class<?> componentClass) {
+            return componentClass.arrayType();
         }
         return type;
     }
+
+    /**
+     * @return the canonical instance of the type (parameterized types created by the JDK or by callers included)
+     */
+    public static Type canonicalize(Type type) {
+        return resolve(type, Map.of());
+    }
 }
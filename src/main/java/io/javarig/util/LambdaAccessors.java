@@ -0,0 +1,106 @@
+package io.javarig.util;
+
+import com.google.common.primitives.Primitives;
+import lombok.SneakyThrows;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * compiles setters, getters and constructors into lambdas, so they can be invoked without going through the reflection api
+ * on every call.
+ * a lambda is spun with LambdaMetafactory when the class can be looked up privately (same module, open package),
+ * otherwise the lambda delegates to a plain MethodHandle.
+ * exceptions thrown by the compiled method or constructor are rethrown as is by the lambda.
+ */
+public class LambdaAccessors {
+    private static final MethodType SETTER_INTERFACE_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodType GETTER_INTERFACE_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SUPPLIER_INTERFACE_TYPE = MethodType.methodType(Object.class);
+
+    /**
+     * @param targetClass the class of the objects the setter will be invoked on
+     * @param setter      a single parameter method of the target class
+     * @return a consumer of (target object, value) invoking the setter
+     * @throws IllegalAccessException if the setter is not publicly accessible
+     */
+    @SuppressWarnings("unchecked")
+    public static BiConsumer<Object, Object> compileSetter(Class<?> targetClass, Method setter) throws IllegalAccessException {
+        MethodHandle publicHandle = MethodHandles.publicLookup().unreflect(setter);
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(targetClass, MethodHandles.lookup());
+            MethodType instantiatedType = MethodType.methodType(void.class, targetClass, Primitives.wrap(setter.getParameterTypes()[0]));
+            CallSite callSite = LambdaMetafactory.metafactory(lookup, "accept", MethodType.methodType(BiConsumer.class),
+                    SETTER_INTERFACE_TYPE, lookup.unreflect(setter), instantiatedType);
+            return (BiConsumer<Object, Object>) callSite.getTarget().invoke();
+        } catch (Throwable ignore) {
+            // the class can't be accessed from here (other module or class loader ...), fall back to the method handle
+            MethodHandle handle = publicHandle.asType(SETTER_INTERFACE_TYPE);
+            return (target, value) -> invokeSetter(handle, target, value);
+        }
+    }
+
+    /**
+     * @param targetClass the class of the objects the getter will be invoked on
+     * @param getter      a no arguments method of the target class
+     * @return a function of the target object returning the (boxed) result of the getter
+     * @throws IllegalAccessException if the getter is not publicly accessible
+     */
+    @SuppressWarnings("unchecked")
+    public static Function<Object, Object> compileGetter(Class<?> targetClass, Method getter) throws IllegalAccessException {
+        MethodHandle publicHandle = MethodHandles.publicLookup().unreflect(getter);
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(targetClass, MethodHandles.lookup());
+            MethodType instantiatedType = MethodType.methodType(Primitives.wrap(getter.getReturnType()), targetClass);
+            CallSite callSite = LambdaMetafactory.metafactory(lookup, "apply", MethodType.methodType(Function.class),
+                    GETTER_INTERFACE_TYPE, lookup.unreflect(getter), instantiatedType);
+            return (Function<Object, Object>) callSite.getTarget().invoke();
+        } catch (Throwable ignore) {
+            MethodHandle handle = publicHandle.asType(GETTER_INTERFACE_TYPE);
+            return target -> invokeGetter(handle, target);
+        }
+    }
+
+    /**
+     * @param constructor a no arguments constructor
+     * @return a supplier of new instances created with the constructor
+     * @throws IllegalAccessException if the constructor is not publicly accessible
+     */
+    @SuppressWarnings("unchecked")
+    public static Supplier<Object> compileConstructor(Constructor<?> constructor) throws IllegalAccessException {
+        MethodHandle publicHandle = MethodHandles.publicLookup().unreflectConstructor(constructor);
+        Class<?> declaringClass = constructor.getDeclaringClass();
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(declaringClass, MethodHandles.lookup());
+            CallSite callSite = LambdaMetafactory.metafactory(lookup, "get", MethodType.methodType(Supplier.class),
+                    SUPPLIER_INTERFACE_TYPE, lookup.unreflectConstructor(constructor), MethodType.methodType(declaringClass));
+            return (Supplier<Object>) callSite.getTarget().invoke();
+        } catch (Throwable ignore) {
+            MethodHandle handle = publicHandle.asType(SUPPLIER_INTERFACE_TYPE);
+            return () -> invokeConstructor(handle);
+        }
+    }
+
+    @SneakyThrows
+    private static void invokeSetter(MethodHandle handle, Object target, Object value) {
+        handle.invokeExact(target, value);
+    }
+
+    @SneakyThrows
+    private static Object invokeGetter(MethodHandle handle, Object target) {
+        return handle.invokeExact(target);
+    }
+
+    @SneakyThrows
+    private static Object invokeConstructor(MethodHandle handle) {
+        return handle.invokeExact();
+    }
+}
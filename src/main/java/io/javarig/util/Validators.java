@@ -3,6 +3,10 @@ package io.javarig.util;
 import org.apache.commons.lang3.Validate;
 
 import com.mifmif.common.regex.Generex;
+import io.javarig.config.PoolConfig;
+
+import java.lang.reflect.Type;
+import java.util.Map;
 
 public class Validators {
 
@@ -15,6 +19,38 @@ public class Validators {
         Validate.isTrue(size >= 0, "Size must be non-negative.");
     }
 
+    public static void validateSize(long size) {
+        Validate.isTrue(size >= 0, "Size must be non-negative.");
+    }
+
+    public static void validateDepthLimits(int maxDepth, int maxSameTypeDepth) {
+        Validate.isTrue(maxDepth >= 1, "Max depth must be at least 1.");
+        Validate.isTrue(maxSameTypeDepth >= 1, "Max same type depth must be at least 1.");
+    }
+
+    public static void validateMutationRate(double mutationRate) {
+        Validate.isTrue(mutationRate >= 0 && mutationRate <= 1, "Mutation rate must be between 0 and 1.");
+    }
+
+    public static void validatePools(Map<Type, PoolConfig> pools, int maxPooledInstances) {
+        long pooledInstances = 0;
+        for (PoolConfig pool : pools.values()) {
+            Validate.isTrue(pool.getSize() >= 1, "Pool size must be at least 1.");
+            Validate.isTrue(pool.getRefreshFraction() >= 0 && pool.getRefreshFraction() <= 1, "Pool refresh fraction must be between 0 and 1.");
+            Validate.isTrue(pool.getRefreshInterval() >= 1, "Pool refresh interval must be at least 1.");
+            pooledInstances += pool.getSize();
+        }
+        Validate.isTrue(pooledInstances <= maxPooledInstances, "Pools can't hold more than %d instances.", maxPooledInstances);
+    }
+
+    public static void validateBufferSize(int bufferSize) {
+        Validate.isTrue(bufferSize >= 32, "Buffer size must be at least 32 bytes.");
+    }
+
+    public static void validateWorkers(int workers) {
+        Validate.isTrue(workers >= 1, "Number of workers must be at least 1.");
+    }
+
     public static void validateRegexPattern(String regexPattern) {
         Validate.isTrue(Generex.isValidPattern(regexPattern), "regex pattern not valid (or not supported).");
     }
@@ -0,0 +1,124 @@
+package io.javarig;
+
+import io.javarig.config.PublisherConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GenerationPublisherTest {
+    private RandomInstanceGenerator randomInstanceGenerator;
+
+    @BeforeEach
+    public void setUp() {
+        randomInstanceGenerator = new RandomInstanceGenerator();
+    }
+
+    @Test
+    public void shouldPublishAllTheInstancesThenComplete() throws InterruptedException {
+        //given
+        Flow.Publisher<String> publisher = randomInstanceGenerator.withSize(3).publisher(String.class, 1000,
+                PublisherConfig.builder().batchSize(16).prefetch(32).build());
+        TestSubscriber<String> subscriber = new TestSubscriber<>(subscription -> subscription.request(Long.MAX_VALUE));
+        //when
+        publisher.subscribe(subscriber);
+        //then
+        assertThat(subscriber.awaitTermination()).isTrue();
+        assertThat(subscriber.error).isNull();
+        assertThat(subscriber.received).hasSize(1000).allSatisfy(string -> assertThat(string).hasSize(3));
+    }
+
+    @Test
+    public void shouldNotPublishMoreThanTheRequestedInstances() throws InterruptedException {
+        //given
+        Flow.Publisher<Integer> publisher = randomInstanceGenerator.publisher(Integer.class);
+        TestSubscriber<Integer> subscriber = new TestSubscriber<>(subscription -> subscription.request(5));
+        //when
+        publisher.subscribe(subscriber);
+        subscriber.awaitReceived(5);
+        Thread.sleep(100);
+        //then
+        assertThat(subscriber.received).hasSize(5);
+        //when
+        subscriber.subscription.request(3);
+        subscriber.awaitReceived(8);
+        subscriber.subscription.cancel();
+        //then
+        assertThat(subscriber.received).hasSize(8);
+    }
+
+    @Test
+    public void shouldCompleteAnEmptyPublisherWithoutRequest() throws InterruptedException {
+        //given
+        TestSubscriber<Integer> subscriber = new TestSubscriber<>(subscription -> {
+        });
+        //when
+        randomInstanceGenerator.<Integer>publisher(Integer.class, 0).subscribe(subscriber);
+        //then
+        assertThat(subscriber.awaitTermination()).isTrue();
+        assertThat(subscriber.received).isEmpty();
+    }
+
+    @Test
+    public void shouldSignalAnErrorGivenANonPositiveRequest() throws InterruptedException {
+        //given
+        TestSubscriber<Integer> subscriber = new TestSubscriber<>(subscription -> subscription.request(0));
+        //when
+        randomInstanceGenerator.<Integer>publisher(Integer.class).subscribe(subscriber);
+        //then
+        assertThat(subscriber.awaitTermination()).isTrue();
+        assertThat(subscriber.error).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static class TestSubscriber<T> implements Flow.Subscriber<T> {
+        private final Consumer<Flow.Subscription> onSubscribe;
+        private final List<T> received = new CopyOnWriteArrayList<>();
+        private final CountDownLatch terminated = new CountDownLatch(1);
+        private volatile Flow.Subscription subscription;
+        private volatile Throwable error;
+
+        TestSubscriber(Consumer<Flow.Subscription> onSubscribe) {
+            this.onSubscribe = onSubscribe;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            onSubscribe.accept(subscription);
+        }
+
+        @Override
+        public void onNext(T item) {
+            received.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+            terminated.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            terminated.countDown();
+        }
+
+        boolean awaitTermination() throws InterruptedException {
+            return terminated.await(10, TimeUnit.SECONDS);
+        }
+
+        void awaitReceived(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (received.size() < count && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+        }
+    }
+}
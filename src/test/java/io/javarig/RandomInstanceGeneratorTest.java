@@ -0,0 +1,251 @@
+package io.javarig;
+
+import io.javarig.config.Configuration;
+import io.javarig.exception.NestedObjectRecursionException;
+import io.javarig.generator.TypeGenerator;
+import io.javarig.listener.GenerationListener;
+import io.javarig.testclasses.NestedClass;
+import io.javarig.testclasses.SelfContainingNestedClassTest;
+import io.javarig.testclasses.TestClass;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Slf4j
+public class RandomInstanceGeneratorTest {
+    private static final int THREADS = 8;
+    private static final int GENERATIONS_PER_TASK = 200;
+    private RandomInstanceGenerator randomInstanceGenerator;
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void setUp() {
+        randomInstanceGenerator = new RandomInstanceGenerator();
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldGenerateObjectsConcurrentlyWithASharedInstance() throws Exception {
+        //given
+        List<Callable<List<TestClass>>> tasks = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            tasks.add(() -> {
+                List<TestClass> generated = new ArrayList<>();
+                for (int j = 0; j < GENERATIONS_PER_TASK; j++) {
+                    generated.add(randomInstanceGenerator.generate(TestClass.class));
+                }
+                return generated;
+            });
+        }
+        //when
+        List<TestClass> generated = new ArrayList<>();
+        for (Future<List<TestClass>> future : executor.invokeAll(tasks)) {
+            generated.addAll(future.get());
+        }
+        //then
+        assertThat(generated).hasSize(THREADS * GENERATIONS_PER_TASK).doesNotContainNull();
+    }
+
+    @Test
+    public void shouldApplyOneTimeConfigsOnlyToTheGenerationsOfTheirThread() throws Exception {
+        //given
+        int size = 2;
+        List<Callable<Boolean>> tasks = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            boolean withSize = i % 2 == 0;
+            tasks.add(() -> {
+                for (int j = 0; j < GENERATIONS_PER_TASK; j++) {
+                    String generated = withSize
+                            ? randomInstanceGenerator.withSize(size).generate(String.class)
+                            : randomInstanceGenerator.generate(String.class);
+                    if (withSize != (generated.length() == size)) {
+                        return false;
+                    }
+                }
+                return true;
+            });
+        }
+        //when
+        List<Boolean> results = new ArrayList<>();
+        for (Future<Boolean> future : executor.invokeAll(tasks)) {
+            results.add(future.get());
+        }
+        //then
+        assertThat(results).containsOnly(true);
+    }
+
+    @Test
+    public void shouldGenerateTheSameObjectsInBulkWhateverTheNumberOfThreads() {
+        //given
+        Configuration configuration = Configuration.builder().seed(42L).build();
+        ExecutorService singleThreadExecutor = Executors.newSingleThreadExecutor();
+        //when
+        List<TestClass> generatedOnOneThread = new RandomInstanceGenerator(configuration)
+                .generateMany(TestClass.class, 1000, singleThreadExecutor);
+        List<TestClass> generatedOnManyThreads = new RandomInstanceGenerator(configuration)
+                .generateMany(TestClass.class, 1000, executor);
+        singleThreadExecutor.shutdownNow();
+        //then
+        assertThat(generatedOnOneThread).hasSize(1000).doesNotContainNull();
+        assertThat(generatedOnManyThreads).usingRecursiveFieldByFieldElementComparator().isEqualTo(generatedOnOneThread);
+    }
+
+    @Test
+    public void shouldKeepGeneratingTheSameObjectsInBulkWhateverTheNumberOfThreadsOfThePreviousGenerations() {
+        //given
+        Configuration configuration = Configuration.builder().seed(42L).build();
+        ExecutorService singleThreadExecutor = Executors.newSingleThreadExecutor();
+        ExecutorService eightThreadsExecutor = Executors.newFixedThreadPool(8);
+        RandomInstanceGenerator generatorOnOneThread = new RandomInstanceGenerator(configuration);
+        RandomInstanceGenerator generatorOnEightThreads = new RandomInstanceGenerator(configuration);
+        generatorOnOneThread.generateMany(Integer.class, 5000, singleThreadExecutor);
+        generatorOnEightThreads.generateMany(Integer.class, 5000, eightThreadsExecutor);
+        //when
+        List<Integer> generatedOnOneThread = generatorOnOneThread.generateMany(Integer.class, 5000, singleThreadExecutor);
+        List<Integer> generatedOnEightThreads = generatorOnEightThreads.generateMany(Integer.class, 5000, eightThreadsExecutor);
+        singleThreadExecutor.shutdownNow();
+        eightThreadsExecutor.shutdownNow();
+        //then
+        assertThat(generatedOnEightThreads).isEqualTo(generatedOnOneThread);
+    }
+
+    @Test
+    public void shouldApplyTheOneTimeConfigToAllTheObjectsGeneratedInBulk() {
+        //given
+        int size = 3;
+        //when
+        List<String> generated = randomInstanceGenerator.withSize(size).generateMany(String.class, 1000);
+        //then
+        assertThat(generated).hasSize(1000).allSatisfy(string -> assertThat(string).hasSize(size));
+        assertThat(randomInstanceGenerator.<String>generate(String.class)).hasSizeGreaterThan(size);
+    }
+
+    @Test
+    public void shouldGenerateASizedStreamThatCanBeRunInParallel() {
+        //when
+        Stream<TestClass> stream = randomInstanceGenerator.stream(TestClass.class, 1000);
+        //then
+        assertThat(stream.spliterator().hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED)).isTrue();
+        assertThat(randomInstanceGenerator.<TestClass>stream(TestClass.class, 1000).parallel().collect(Collectors.toList()))
+                .hasSize(1000)
+                .doesNotContainNull();
+    }
+
+    @Test
+    public void shouldSplitAStreamIntoHalves() {
+        //given
+        Spliterator<String> spliterator = randomInstanceGenerator.<String>stream(String.class, 11).spliterator();
+        //when
+        Spliterator<String> split = spliterator.trySplit();
+        //then
+        assertThat(split).isNotNull();
+        assertThat(split.estimateSize()).isEqualTo(5);
+        assertThat(spliterator.estimateSize()).isEqualTo(6);
+    }
+
+    @Test
+    public void shouldGenerateAnInfiniteStreamLazily() {
+        //when
+        List<String> generated = randomInstanceGenerator.withSize(4).<String>stream(String.class)
+                .parallel()
+                .limit(500)
+                .collect(Collectors.toList());
+        //then
+        assertThat(generated).hasSize(500).allSatisfy(string -> assertThat(string).hasSize(4));
+    }
+
+    @Test
+    public void shouldGenerateTheElementsOfAnIteratorOnDemand() {
+        //when
+        Iterator<Integer> iterator = randomInstanceGenerator.iterator(Integer.class, 3);
+        //then
+        assertThat(iterator).toIterable().hasSize(3).doesNotContainNull();
+        assertThat(randomInstanceGenerator.<Integer>iterator(Integer.class).hasNext()).isTrue();
+    }
+
+    @Test
+    public void shouldNotifyTheGenerationListenerOfTheNestedGenerations() {
+        //given
+        RecordingGenerationListener listener = new RecordingGenerationListener();
+        RandomInstanceGenerator tracedRandomInstanceGenerator = new RandomInstanceGenerator(
+                Configuration.builder().generationListener(listener).build());
+        //when
+        NestedClass generated = tracedRandomInstanceGenerator.generate(NestedClass.class);
+        //then
+        assertThat(listener.started).first().isEqualTo("1 " + NestedClass.class.getTypeName());
+        assertThat(listener.started).contains("2 " + TestClass.class.getTypeName(), "3 int");
+        assertThat(listener.completed).hasSameSizeAs(listener.started)
+                .last().isEqualTo("1 " + NestedClass.class.getTypeName());
+        assertThat(listener.lastCompleted).isSameAs(generated);
+    }
+
+    @Test
+    public void shouldNotNotifyTheGenerationListenerOfTheGenerationsThatAreNotSampled() {
+        //given
+        RecordingGenerationListener listener = new RecordingGenerationListener();
+        RandomInstanceGenerator tracedRandomInstanceGenerator = new RandomInstanceGenerator(
+                Configuration.builder().generationListener(listener).generationListenerSampleRate(0).build());
+        //when
+        tracedRandomInstanceGenerator.generate(NestedClass.class);
+        //then
+        assertThat(listener.started).isEmpty();
+        assertThat(listener.completed).isEmpty();
+    }
+
+    @Test
+    public void shouldNotifyTheGenerationListenerOfTheFailedGenerations() {
+        //given
+        RecordingGenerationListener listener = new RecordingGenerationListener();
+        RandomInstanceGenerator tracedRandomInstanceGenerator = new RandomInstanceGenerator(
+                Configuration.builder().generationListener(listener).build());
+        //when
+        assertThatThrownBy(() -> tracedRandomInstanceGenerator.generate(SelfContainingNestedClassTest.class))
+                .isInstanceOf(NestedObjectRecursionException.class);
+        //then
+        assertThat(listener.failed).last().isEqualTo("1 " + SelfContainingNestedClassTest.class.getTypeName());
+    }
+
+    private static class RecordingGenerationListener implements GenerationListener {
+        private final List<String> started = new ArrayList<>();
+        private final List<String> completed = new ArrayList<>();
+        private final List<String> failed = new ArrayList<>();
+        private Object lastCompleted;
+
+        @Override
+        public void onGenerationStarted(Type type, TypeGenerator generator, int depth) {
+            started.add(depth + " " + type.getTypeName());
+        }
+
+        @Override
+        public void onGenerationCompleted(Type type, TypeGenerator generator, int depth, Object generated, long durationNanos) {
+            completed.add(depth + " " + type.getTypeName());
+            lastCompleted = generated;
+        }
+
+        @Override
+        public void onGenerationFailed(Type type, TypeGenerator generator, int depth, RuntimeException exception) {
+            failed.add(depth + " " + type.getTypeName());
+        }
+    }
+}
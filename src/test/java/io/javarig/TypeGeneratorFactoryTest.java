@@ -0,0 +1,56 @@
+package io.javarig;
+
+import io.javarig.generator.TypeGenerator;
+import io.javarig.testclasses.GenericTestClass;
+import io.javarig.testclasses.TestClass;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Type;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TypeGeneratorFactoryTest {
+    private RandomInstanceGenerator randomInstanceGenerator;
+
+    @BeforeEach
+    public void setUp() {
+        randomInstanceGenerator = new RandomInstanceGenerator();
+    }
+
+    @Test
+    public void shouldReuseTheGeneratorOfAnAlreadyGeneratedType() {
+        //given
+        TypeGeneratorFactory typeGeneratorFactory = randomInstanceGenerator.getTypeGeneratorFactory();
+        //when
+        TypeGenerator first = typeGeneratorFactory.getGenerator(TestClass.class, randomInstanceGenerator);
+        TypeGenerator second = typeGeneratorFactory.getGenerator(TestClass.class, randomInstanceGenerator);
+        //then
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    public void shouldReuseTheGeneratorOfEqualParameterizedTypes() {
+        //given
+        TypeGeneratorFactory typeGeneratorFactory = randomInstanceGenerator.getTypeGeneratorFactory();
+        Type type = new ParameterizedTypeImpl(new Type[]{String.class}, GenericTestClass.class);
+        Type equalType = new ParameterizedTypeImpl(new Type[]{String.class}, GenericTestClass.class);
+        //when
+        TypeGenerator first = typeGeneratorFactory.getGenerator(type, randomInstanceGenerator);
+        TypeGenerator second = typeGeneratorFactory.getGenerator(equalType, randomInstanceGenerator);
+        //then
+        assertThat(equalType).isEqualTo(type).hasSameHashCodeAs(type);
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    public void shouldShareTheGeneratorsWithDerivedInstances() {
+        //when
+        List<String> generated = randomInstanceGenerator.withSize(3).generate(List.class, String.class);
+        //then
+        assertThat(generated).hasSize(3);
+        assertThat(randomInstanceGenerator.withSize(3).getTypeGeneratorFactory())
+                .isSameAs(randomInstanceGenerator.getTypeGeneratorFactory());
+    }
+}
@@ -0,0 +1,112 @@
+package io.javarig;
+
+import io.javarig.testclasses.GenericClass;
+import io.javarig.testclasses.NestedGenericTestClass;
+import io.javarig.testclasses.StringGenericClass;
+import io.javarig.testclasses.TestClass;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TypeTokenTest {
+    private RandomInstanceGenerator randomInstanceGenerator;
+
+    @BeforeEach
+    public void setUp() {
+        randomInstanceGenerator = new RandomInstanceGenerator();
+    }
+
+    @Test
+    public void shouldCaptureTheCanonicalInstanceOfTheType() {
+        //when
+        Type type = new TypeToken<Map<String, List<Integer>>>() {
+        }.getType();
+        //then
+        assertThat(type).isSameAs(ParameterizedTypeImpl.of(Map.class, String.class, ParameterizedTypeImpl.of(List.class, Integer.class)));
+        assertThat(type.getTypeName()).isEqualTo("java.util.Map<java.lang.String, java.util.List<java.lang.Integer>>");
+    }
+
+    @Test
+    public void shouldBeEqualToTheTypesOfTheReflectionApi() throws NoSuchFieldException {
+        //given
+        Type fieldType = TestClass.class.getDeclaredField("m").getGenericType();
+        //when
+        ParameterizedTypeImpl type = ParameterizedTypeImpl.of(Map.class, String.class, String.class);
+        //then
+        assertThat(type).isEqualTo(fieldType).hasSameHashCodeAs(fieldType);
+        assertThat(fieldType).isEqualTo(type);
+    }
+
+    @Test
+    public void shouldNotShareTheArrayOfTheTypeArguments() {
+        //given
+        Type[] typeArguments = {String.class, Integer.class};
+        ParameterizedTypeImpl type = new ParameterizedTypeImpl(typeArguments, Map.class);
+        ParameterizedTypeImpl canonicalType = ParameterizedTypeImpl.of(Map.class, String.class, Integer.class);
+        int hashCode = canonicalType.hashCode();
+        //when
+        typeArguments[0] = Long.class;
+        canonicalType.getActualTypeArguments()[0] = Long.class;
+        //then
+        assertThat(type.getActualTypeArguments()).containsExactly(String.class, Integer.class);
+        assertThat(canonicalType.getActualTypeArguments()).containsExactly(String.class, Integer.class);
+        assertThat(canonicalType.hashCode()).isEqualTo(hashCode);
+        assertThat(canonicalType).isSameAs(ParameterizedTypeImpl.of(Map.class, String.class, Integer.class));
+    }
+
+    @Test
+    public void shouldSetTheOwnerTypeOfNestedClassesAsTheJdkDoes() {
+        //given
+        Type entryType = new TypeToken<Map.Entry<String, Integer>>() {
+        }.getType();
+        //then
+        assertThat(ParameterizedTypeImpl.of(Map.Entry.class, String.class, Integer.class).getOwnerType()).isEqualTo(Map.class);
+        assertThat(entryType).isSameAs(ParameterizedTypeImpl.of(Map.Entry.class, String.class, Integer.class));
+    }
+
+    @Test
+    public void shouldGenerateTheTypeOfTheToken() {
+        //when
+        Map<String, List<Integer>> generated = randomInstanceGenerator.generate(new TypeToken<Map<String, List<Integer>>>() {
+        });
+        //then
+        assertThat(generated).isNotEmpty().allSatisfy((key, value) -> {
+            assertThat(key).isInstanceOf(String.class);
+            assertThat(value).isNotEmpty().allSatisfy(element -> assertThat(element).isInstanceOf(Integer.class));
+        });
+    }
+
+    @Test
+    public void shouldResolveTheTypeVariablesNestedInTheFieldTypes() {
+        //when
+        NestedGenericTestClass<String, Long> generated = randomInstanceGenerator.generate(new TypeToken<NestedGenericTestClass<String, Long>>() {
+        });
+        //then
+        assertThat(generated.getMap()).isNotEmpty().allSatisfy((key, value) -> {
+            assertThat(key).isInstanceOf(String.class);
+            assertThat(value).isNotEmpty().allSatisfy(element -> assertThat(element).isInstanceOf(Long.class));
+        });
+        assertThat(generated.getArray()).isInstanceOf(Long[].class).isNotEmpty();
+    }
+
+    @Test
+    public void shouldResolveTheTypeVariablesOfTheSuperclass() {
+        //when
+        GenericClass<String> generated = randomInstanceGenerator.generate(StringGenericClass.class);
+        //then
+        assertThat(generated.getA()).isInstanceOf(String.class);
+    }
+
+    @SuppressWarnings("rawtypes")
+    @Test
+    public void shouldThrowIllegalStateExceptionWhenTheTypeArgumentIsMissing() {
+        assertThatThrownBy(() -> new TypeToken() {
+        }).isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -3,6 +3,7 @@ package io.javarig.config;
 
 import io.javarig.RandomInstanceGenerator;
 import io.javarig.testclasses.ConfigurationTestClass;
+import io.javarig.testclasses.TestClass;
 import lombok.extern.slf4j.Slf4j;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -115,4 +116,21 @@ public class ConfigurationTest {
             .matches(oneTimeConfig.getRegexPattern())
             .hasSizeBetween(oneTimeConfig.getMinSizeInclusive(), oneTimeConfig.getMaxSizeExclusive() - 1);
     }
+
+    @Test
+    public void shouldGenerateTheSameObjectsGivenTheSameSeed() {
+        // Given
+        Configuration configuration = Configuration.builder()
+            .randomAlgorithm("Xoroshiro128PlusPlus")
+            .seed(42L)
+            .build();
+        RandomInstanceGenerator generator = new RandomInstanceGenerator(configuration);
+        RandomInstanceGenerator sameSeedGenerator = new RandomInstanceGenerator(configuration);
+        // When
+        TestClass generatedObject = generator.generate(TestClass.class);
+        TestClass sameSeedGeneratedObject = sameSeedGenerator.generate(TestClass.class);
+        log.info("shouldGenerateTheSameObjectsGivenTheSameSeed : {}", generatedObject);
+        // Then
+        assertThat(sameSeedGeneratedObject).usingRecursiveComparison().isEqualTo(generatedObject);
+    }
 }
@@ -8,6 +8,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.lang.reflect.Array;
+import java.util.Arrays;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.InstanceOfAssertFactories.ARRAY;
 import static org.assertj.core.api.InstanceOfAssertFactories.DOUBLE_ARRAY;
@@ -78,4 +81,25 @@ public class ArrayGenerationTest {
         assertThat(generated).isInstanceOf(TestClass[].class);
     }
 
+    @ParameterizedTest
+    @ValueSource(classes = {int[].class, long[].class, double[].class, float[].class, short[].class, char[].class,
+            boolean[].class, byte[].class})
+    public void shouldReturnPrimitiveArraysOfAllTypesWithExactSize(Class<?> testClass) {
+        int size = 1000;
+        Object generated = randomInstanceGenerator.withSize(size).generate(testClass);
+        assertThat(generated).isNotNull();
+        assertThat(generated).isInstanceOf(testClass);
+        assertThat(Array.getLength(generated)).isEqualTo(size);
+    }
+
+    @Test
+    public void shouldReturnPrimitiveValuesInTheRangesOfThePrimitiveGenerators() {
+        int size = 1000;
+        double[] generatedDoubles = randomInstanceGenerator.withSize(size).generate(double[].class);
+        float[] generatedFloats = randomInstanceGenerator.withSize(size).generate(float[].class);
+        assertThat(Arrays.stream(generatedDoubles)).allSatisfy(value -> assertThat(value).isBetween(0d, Double.MAX_VALUE));
+        for (float value : generatedFloats) {
+            assertThat(value).isBetween(0f, Float.MAX_VALUE);
+        }
+    }
 }
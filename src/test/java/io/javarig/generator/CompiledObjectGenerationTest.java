@@ -0,0 +1,50 @@
+package io.javarig.generator;
+
+import io.javarig.RandomInstanceGenerator;
+import io.javarig.testclasses.CompiledTestClass;
+import io.javarig.testclasses.NestedClass;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Slf4j
+public class CompiledObjectGenerationTest {
+    private RandomInstanceGenerator randomInstanceGenerator;
+
+    @BeforeEach
+    public void setUp() {
+        randomInstanceGenerator = new RandomInstanceGenerator();
+    }
+
+    @Test
+    public void shouldGenerateAnObjectWithItsCompiledGenerator() {
+        //when
+        CompiledTestClass generated = randomInstanceGenerator.generate(CompiledTestClass.class);
+        //then
+        log.info("shouldGenerateAnObjectWithItsCompiledGenerator : {}", generated);
+        assertThat(generated).isNotNull();
+        assertThat(generated.isGeneratedByCompiledGenerator()).isTrue();
+        assertThat(generated.getS()).isNotNull();
+        assertThat(generated.getI()).isNotNull();
+        assertThat(randomInstanceGenerator.getTypeGeneratorFactory().getGenerator(CompiledTestClass.class, randomInstanceGenerator))
+                .isInstanceOf(CompiledObjectGenerator.class);
+    }
+
+    @Test
+    public void shouldUseTheCompiledGeneratorForNestedObjects() {
+        //when
+        List<CompiledTestClass> generated = randomInstanceGenerator.generate(List.class, CompiledTestClass.class);
+        //then
+        assertThat(generated).isNotEmpty().allMatch(CompiledTestClass::isGeneratedByCompiledGenerator);
+    }
+
+    @Test
+    public void shouldFallBackToTheReflectiveGeneratorForClassesWithoutACompiledGenerator() {
+        assertThat(randomInstanceGenerator.getTypeGeneratorFactory().getGenerator(NestedClass.class, randomInstanceGenerator))
+                .isInstanceOf(ObjectGenerator.class);
+    }
+}
@@ -0,0 +1,149 @@
+package io.javarig.generator;
+
+import io.javarig.RandomInstanceGenerator;
+import io.javarig.testclasses.NestedClass;
+import io.javarig.testclasses.TestClass;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Slf4j
+public class InPlaceGenerationTest {
+    private RandomInstanceGenerator randomInstanceGenerator;
+
+    @BeforeEach
+    public void setUp() {
+        randomInstanceGenerator = new RandomInstanceGenerator();
+    }
+
+    @Test
+    public void shouldReRandomizeNestedInstancesInPlace() {
+        //given
+        NestedClass existing = randomInstanceGenerator.withSize(5).generate(NestedClass.class);
+        TestClass testClass = existing.getTestClass();
+        List<String> list = testClass.getL();
+        Map<String, String> map = testClass.getM();
+        List<String> previousList = List.copyOf(list);
+        String previousString = existing.getString();
+        //when
+        NestedClass regenerated = randomInstanceGenerator.withSize(7).generateInto(existing);
+        //then
+        assertThat(regenerated).isSameAs(existing);
+        assertThat(existing.getTestClass()).isSameAs(testClass);
+        assertThat(testClass.getL()).isSameAs(list).hasSize(7).isNotEqualTo(previousList);
+        assertThat(testClass.getM()).isSameAs(map).hasSize(7);
+        assertThat(existing.getString()).isNotEqualTo(previousString);
+    }
+
+    @Test
+    public void shouldGenerateNullFieldsWhenReRandomizing() {
+        //given
+        NestedClass existing = new NestedClass();
+        //when
+        randomInstanceGenerator.generateInto(existing);
+        //then
+        assertThat(existing.getTestClass()).isNotNull();
+        assertThat(existing.getTestClass().getL()).isNotNull();
+        assertThat(existing.getString()).isNotNull();
+    }
+
+    @Test
+    public void shouldReplaceImmutableCollectionsWhenReRandomizing() {
+        //given
+        TestClass existing = new TestClass();
+        existing.setL(List.of());
+        existing.setM(Map.of());
+        //when
+        randomInstanceGenerator.withSize(3).generateInto(existing);
+        //then
+        assertThat(existing.getL()).hasSize(3);
+        assertThat(existing.getM()).hasSize(3);
+    }
+
+    @Test
+    public void shouldThrowIllegalArgumentExceptionWhenTheTypeCannotBeGeneratedInPlace() {
+        //then
+        assertThatThrownBy(() -> randomInstanceGenerator.generateInto("immutable"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(randomInstanceGenerator.isGeneratedInPlace(String.class)).isFalse();
+        assertThat(randomInstanceGenerator.isGeneratedInPlace(TestClass.class)).isTrue();
+    }
+
+    @Test
+    public void shouldReRandomizeTheElementsOfAnArrayPoolInPlace() {
+        //given
+        TestClass pooled = new TestClass();
+        TestClass[] pool = {pooled, null};
+        //when
+        TestClass[] filled = randomInstanceGenerator.withSize(4).fill(pool);
+        //then
+        assertThat(filled).isSameAs(pool);
+        assertThat(pool[0]).isSameAs(pooled);
+        assertThat(pooled.getL()).hasSize(4);
+        assertThat(pool[1]).isNotNull();
+        assertThat(pool[1].getL()).hasSize(4);
+    }
+
+    @Test
+    public void shouldReplaceTheElementsOfAnArrayWhenTheyCannotBeGeneratedInPlace() {
+        //given
+        String[] strings = randomInstanceGenerator.fill(new String[3]);
+        String[] previousStrings = strings.clone();
+        Integer[] integers = {1, 2};
+        //when
+        String[] refilledStrings = randomInstanceGenerator.withSize(5).fill(strings);
+        Integer[] filledIntegers = randomInstanceGenerator.fill(integers);
+        //then
+        assertThat(refilledStrings).isSameAs(strings).doesNotContainNull()
+                .allSatisfy(string -> assertThat(string).hasSize(5))
+                .isNotEqualTo(previousStrings);
+        assertThat(filledIntegers).isSameAs(integers).doesNotContainNull().isNotEqualTo(new Integer[]{1, 2});
+    }
+
+    @Test
+    public void shouldResizeAListWhenFillingIt() {
+        //given
+        TestClass first = new TestClass();
+        List<TestClass> list = new ArrayList<>(List.of(first, new TestClass(), new TestClass()));
+        //when
+        randomInstanceGenerator.fill(TestClass.class, list, 2);
+        //then
+        assertThat(list).hasSize(2);
+        assertThat(list.get(0)).isSameAs(first);
+        assertThat(first.getL()).isNotNull();
+        //when
+        randomInstanceGenerator.fill(TestClass.class, list, 5);
+        //then
+        assertThat(list).hasSize(5).doesNotContainNull();
+        assertThat(list.get(0)).isSameAs(first);
+    }
+
+    @Test
+    public void shouldClearAndRefillOtherCollections() {
+        //given
+        Set<Integer> set = new HashSet<>(Set.of(-1, -2, -3));
+        //when
+        randomInstanceGenerator.fill(Integer.class, set, 10);
+        //then
+        assertThat(set).hasSize(10).doesNotContain(-1, -2, -3);
+    }
+
+    @Test
+    public void shouldRefillAPrimitiveArrayInPlace() {
+        //given
+        int[] array = new int[50];
+        //when
+        int[] regenerated = randomInstanceGenerator.generateInto(array);
+        //then
+        assertThat(regenerated).isSameAs(array).hasSize(50).isNotEqualTo(new int[50]);
+    }
+}
@@ -1,7 +1,9 @@
 package io.javarig.generator;
 
 import io.javarig.RandomInstanceGenerator;
+import io.javarig.config.Configuration;
 import io.javarig.config.DefaultConfigValues;
+import io.javarig.config.RecursionPolicy;
 import io.javarig.exception.*;
 import io.javarig.testclasses.*;
 import lombok.extern.slf4j.Slf4j;
@@ -238,4 +240,80 @@ public class ObjectGenerationTest {
                 .isNotNull()
                 .isInstanceOf(classParam1);
     }
+
+    @Test
+    public void shouldGenerateSelfContainingClassUpToTheMaxSameTypeDepthWhenTruncating() {
+        //given
+        Configuration config = Configuration.builder()
+                .maxSameTypeDepth(3)
+                .recursionPolicy(RecursionPolicy.TRUNCATE)
+                .build();
+        //when
+        SelfContainingNestedClassTest generated = new RandomInstanceGenerator(config).generate(SelfContainingNestedClassTest.class);
+        //then
+        assertThat(generated.getTempString()).isNotNull();
+        SelfContainingNestedClassTest third = generated.getSelfContainingNestedClassTest().getSelfContainingNestedClassTest();
+        assertThat(third).isNotNull();
+        assertThat(third.getTempString()).isNotNull();
+        assertThat(third.getSelfContainingNestedClassTest()).isNull();
+    }
+
+    @Test
+    public void shouldLeaveTheCollectionsOfSelfReferentialTypesEmptyWhenTruncating() {
+        //given
+        Configuration config = Configuration.builder()
+                .maxSameTypeDepth(2)
+                .recursionPolicy(RecursionPolicy.TRUNCATE)
+                .build();
+        //when
+        TreeNode generated = new RandomInstanceGenerator(config).generate(TreeNode.class);
+        //then
+        assertThat(generated.getChildren()).isNotEmpty().allSatisfy(child -> {
+            assertThat(child.getValue()).isNotNull();
+            assertThat(child.getChildren()).isEmpty();
+        });
+    }
+
+    @Test
+    public void shouldThrowNestedObjectExceptionWhenTheMaxSameTypeDepthIsExceeded() {
+        //given
+        Configuration config = Configuration.builder().maxSameTypeDepth(2).build();
+        //then
+        assertThatThrownBy(() -> new RandomInstanceGenerator(config).generate(TreeNode.class))
+                .isInstanceOf(NestedObjectRecursionException.class);
+    }
+
+    @Test
+    public void shouldNotGenerateTheFieldsDeeperThanTheMaxDepthWhenTruncating() {
+        //given
+        Configuration config = Configuration.builder()
+                .maxDepth(2)
+                .recursionPolicy(RecursionPolicy.TRUNCATE)
+                .build();
+        //when
+        NestedClass generated = new RandomInstanceGenerator(config).generate(NestedClass.class);
+        //then
+        assertThat(generated.getString()).isNotNull();
+        assertThat(generated.getTestClass()).isNotNull();
+        assertThat(generated.getTestClass().getL()).isNull();
+        assertThat(generated.getTestClass().getI()).isZero();
+    }
+
+    @Test
+    public void shouldThrowGenerationDepthExceededExceptionWhenTheMaxDepthIsExceeded() {
+        //given
+        Configuration config = Configuration.builder().maxDepth(2).build();
+        //then
+        assertThatThrownBy(() -> new RandomInstanceGenerator(config).generate(NestedClass.class))
+                .isInstanceOf(GenerationDepthExceededException.class)
+                .hasMessageContaining("max depth 2");
+    }
+
+    @Test
+    public void shouldThrowIllegalArgumentExceptionGivenANonPositiveMaxDepth() {
+        //given
+        Configuration config = Configuration.builder().maxDepth(0).build();
+        //then
+        assertThatThrownBy(() -> new RandomInstanceGenerator(config)).isInstanceOf(IllegalArgumentException.class);
+    }
 }
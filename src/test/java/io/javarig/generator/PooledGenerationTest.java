@@ -0,0 +1,156 @@
+package io.javarig.generator;
+
+import io.javarig.RandomInstanceGenerator;
+import io.javarig.config.Configuration;
+import io.javarig.config.PoolConfig;
+import io.javarig.config.PoolSampling;
+import io.javarig.config.RecursionPolicy;
+import io.javarig.testclasses.MutualTestClassA;
+import io.javarig.testclasses.MutualTestClassB;
+import io.javarig.testclasses.NestedClass;
+import io.javarig.testclasses.TestClass;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Slf4j
+public class PooledGenerationTest {
+
+    @Test
+    public void shouldDrawTheInstancesOfAPooledTypeFromItsPool() {
+        //given
+        RandomInstanceGenerator randomInstanceGenerator = withPool(TestClass.class, PoolConfig.builder().size(4).build());
+        //when
+        List<TestClass> generated = generate(randomInstanceGenerator, TestClass.class, 100);
+        //then
+        assertThat(identities(generated)).hasSizeBetween(1, 4);
+    }
+
+    @Test
+    public void shouldDrawThePooledInstancesInTurnWithRoundRobinSampling() {
+        //given
+        RandomInstanceGenerator randomInstanceGenerator = withPool(TestClass.class,
+                PoolConfig.builder().size(3).sampling(PoolSampling.ROUND_ROBIN).build());
+        //when
+        List<TestClass> generated = generate(randomInstanceGenerator, TestClass.class, 6);
+        //then
+        assertThat(identities(generated)).hasSize(3);
+        assertThat(generated.get(3)).isSameAs(generated.get(0));
+        assertThat(generated.get(5)).isSameAs(generated.get(2));
+    }
+
+    @Test
+    public void shouldDrawNestedInstancesFromTheirPool() {
+        //given
+        RandomInstanceGenerator randomInstanceGenerator = withPool(TestClass.class, PoolConfig.builder().size(2).build());
+        //when
+        List<NestedClass> generated = generate(randomInstanceGenerator, NestedClass.class, 50);
+        //then
+        assertThat(identities(generated)).hasSize(50);
+        assertThat(identities(generated.stream().map(NestedClass::getTestClass).toList())).hasSizeBetween(1, 2);
+    }
+
+    @Test
+    public void shouldGenerateANewInstanceOfAPooledTypeWhenUnpooled() {
+        //given
+        RandomInstanceGenerator randomInstanceGenerator = withPool(TestClass.class, PoolConfig.builder().size(1).build());
+        TestClass pooled = randomInstanceGenerator.generate(TestClass.class);
+        //when
+        TestClass unpooled = randomInstanceGenerator.generateUnpooled(TestClass.class);
+        //then
+        assertThat(unpooled).isNotSameAs(pooled);
+        assertThat(randomInstanceGenerator.<TestClass>generate(TestClass.class)).isSameAs(pooled);
+    }
+
+    @Test
+    public void shouldRefreshAFractionOfThePoolEveryRefreshInterval() {
+        //given
+        List<Runnable> refreshes = new ArrayList<>();
+        RandomInstanceGenerator randomInstanceGenerator = withPool(TestClass.class, PoolConfig.builder()
+                .size(4)
+                .sampling(PoolSampling.ROUND_ROBIN)
+                .refreshFraction(0.5)
+                .refreshInterval(4)
+                .refreshExecutor(refreshes::add)
+                .build());
+        //when
+        List<TestClass> generated = new ArrayList<>(generate(randomInstanceGenerator, TestClass.class, 4));
+        refreshes.forEach(Runnable::run);
+        generated.addAll(generate(randomInstanceGenerator, TestClass.class, 4));
+        //then the first 2 slots are refreshed after the 4th draw
+        assertThat(generated.get(4)).isNotSameAs(generated.get(0));
+        assertThat(generated.get(5)).isNotSameAs(generated.get(1));
+        assertThat(generated.get(6)).isSameAs(generated.get(2));
+        assertThat(generated.get(7)).isSameAs(generated.get(3));
+    }
+
+    @Test
+    public void shouldFillThePoolsOfTypesNestingEachOtherFromDifferentThreads() throws Exception {
+        //given
+        PoolConfig poolConfig = PoolConfig.builder().size(500).build();
+        RandomInstanceGenerator randomInstanceGenerator = new RandomInstanceGenerator(Configuration.builder()
+                .pools(Map.of(MutualTestClassA.class, poolConfig, MutualTestClassB.class, poolConfig))
+                .recursionPolicy(RecursionPolicy.TRUNCATE)
+                .build());
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            //when
+            Future<MutualTestClassA> a = executor.submit(() -> {
+                start.await();
+                return randomInstanceGenerator.generate(MutualTestClassA.class);
+            });
+            Future<MutualTestClassB> b = executor.submit(() -> {
+                start.await();
+                return randomInstanceGenerator.generate(MutualTestClassB.class);
+            });
+            start.countDown();
+            //then
+            assertThat(a.get(10, TimeUnit.SECONDS)).isNotNull();
+            assertThat(b.get(10, TimeUnit.SECONDS)).isNotNull();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldThrowIllegalArgumentExceptionWhenThePoolsExceedTheMaxPooledInstances() {
+        //given
+        Configuration configuration = Configuration.builder()
+                .pools(Map.of(TestClass.class, PoolConfig.builder().size(20).build()))
+                .maxPooledInstances(10)
+                .build();
+        //then
+        assertThatThrownBy(() -> new RandomInstanceGenerator(configuration))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static RandomInstanceGenerator withPool(Class<?> type, PoolConfig poolConfig) {
+        return new RandomInstanceGenerator(Configuration.builder().pools(Map.of(type, poolConfig)).build());
+    }
+
+    private static <T> List<T> generate(RandomInstanceGenerator randomInstanceGenerator, Class<T> type, int n) {
+        return IntStream.range(0, n).mapToObj(i -> randomInstanceGenerator.<T>generate(type)).toList();
+    }
+
+    private static Set<Object> identities(List<?> instances) {
+        Set<Object> identities = Collections.newSetFromMap(new IdentityHashMap<>());
+        identities.addAll(instances);
+        return identities;
+    }
+}
@@ -1,7 +1,9 @@
 package io.javarig.generator;
 
 import io.javarig.RandomInstanceGenerator;
+import io.javarig.config.Configuration;
 import io.javarig.config.DefaultConfigValues;
+import io.javarig.config.RegexEngine;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -92,6 +94,20 @@ public class StringGenerationTest {
         assertThat(generated).asString().matches(temp);
     }
     @Test
+    public void shouldGenerateStringMatchingRegexPatternWithTheUniformRegexEngine() {
+        String regexPattern = "([A-Z]{2}[0-9]{8,12})|(ab(c|d)*)";
+        Configuration configuration = Configuration.builder()
+                .regexPattern(regexPattern)
+                .regexEngine(RegexEngine.UNIFORM)
+                .build();
+        Object generated = randomInstanceGenerator.withOneTimeConfig(configuration).generate(String.class);
+        log.info("shouldGenerateString : {}", generated);
+        assertThat(generated).isNotNull();
+        assertThat(generated).isInstanceOf(String.class);
+        assertThat(generated).asString().hasSizeBetween(DefaultConfigValues.DEFAULT_MIN_SIZE_INCLUSIVE,DefaultConfigValues.DEFAULT_MAX_SIZE_EXCLUSIVE-1);
+        assertThat(generated).asString().matches(regexPattern);
+    }
+    @Test
     public void shouldThrowIllegalArgumentExceptionGivenStringHavingMinSizeGreaterThanMaxSize() {
         int minSize = 40;
         int maxSize = 20;
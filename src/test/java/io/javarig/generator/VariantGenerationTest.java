@@ -0,0 +1,82 @@
+package io.javarig.generator;
+
+import io.javarig.RandomInstanceGenerator;
+import io.javarig.testclasses.NestedClass;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Slf4j
+public class VariantGenerationTest {
+    private RandomInstanceGenerator randomInstanceGenerator;
+
+    @BeforeEach
+    public void setUp() {
+        randomInstanceGenerator = new RandomInstanceGenerator();
+    }
+
+    @Test
+    public void shouldCopyThePrototypeWhenTheMutationRateIsZero() {
+        //given
+        NestedClass prototype = randomInstanceGenerator.generate(NestedClass.class);
+        //when
+        NestedClass variant = randomInstanceGenerator.variant(prototype, 0);
+        //then
+        assertThat(variant).isNotSameAs(prototype);
+        assertThat(variant.getString()).isEqualTo(prototype.getString());
+        assertThat(variant.getA()).isEqualTo(prototype.getA());
+        // nested objects are copied, other values are shared
+        assertThat(variant.getTestClass()).isNotSameAs(prototype.getTestClass());
+        assertThat(variant.getTestClass().getI()).isEqualTo(prototype.getTestClass().getI());
+        assertThat(variant.getTestClass().getL()).isSameAs(prototype.getTestClass().getL());
+    }
+
+    @Test
+    public void shouldReRandomizeEveryFieldWhenTheMutationRateIsOne() {
+        //given
+        NestedClass prototype = randomInstanceGenerator.generate(NestedClass.class);
+        //when
+        NestedClass variant = randomInstanceGenerator.variant(prototype, 1);
+        //then
+        assertThat(variant.getString()).isNotEqualTo(prototype.getString());
+        assertThat(variant.getTestClass().getL()).isNotSameAs(prototype.getTestClass().getL());
+    }
+
+    @Test
+    public void shouldMutateAboutTheGivenFractionOfTheFields() {
+        //given
+        NestedClass prototype = randomInstanceGenerator.generate(NestedClass.class);
+        double mutationRate = 0.25;
+        int numberOfVariants = 4000;
+        //when
+        List<NestedClass> variants = randomInstanceGenerator.variants(prototype, mutationRate).limit(numberOfVariants).toList();
+        //then
+        long mutatedStrings = variants.stream()
+                .filter(variant -> !Objects.equals(variant.getString(), prototype.getString()))
+                .count();
+        long mutatedNestedInts = variants.stream()
+                .filter(variant -> variant.getTestClass().getI() != prototype.getTestClass().getI())
+                .count();
+        log.info("shouldMutateAboutTheGivenFractionOfTheFields : {} strings, {} nested ints mutated", mutatedStrings, mutatedNestedInts);
+        assertThat(mutatedStrings).isBetween(800L, 1200L);
+        // the nested field is mutated with its object, or on its own
+        assertThat(mutatedNestedInts).isBetween(1500L, 2000L);
+    }
+
+    @Test
+    public void shouldThrowIllegalArgumentExceptionWhenTheMutationRateIsNotValid() {
+        //given
+        NestedClass prototype = new NestedClass();
+        //then
+        assertThatThrownBy(() -> randomInstanceGenerator.variant(prototype, 1.5))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> randomInstanceGenerator.variant("immutable", 0.5))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -2,14 +2,18 @@ package io.javarig.generator.collection;
 
 import io.javarig.ParameterizedTypeImpl;
 import io.javarig.RandomInstanceGenerator;
+import io.javarig.config.Configuration;
+import io.javarig.exception.InfeasibleCardinalityException;
 import io.javarig.exception.InvalidGenericParametersNumberException;
 import io.javarig.exception.JavaRIGInternalException;
 import io.javarig.generator.collection.list.ListGenerator;
 import io.javarig.testclasses.FakeList;
+import io.javarig.testclasses.TestEnum;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.MethodSource;
 
 import java.lang.reflect.Type;
@@ -111,6 +115,20 @@ public class CollectionGenerationTest {
         }).isInstanceOf(IllegalArgumentException.class)
                 .hasMessage("Start value must be smaller than end value.");
     }
+    @ParameterizedTest
+    @MethodSource("getImplementedCollectionClasses")
+    public void shouldCreateEmptyInstancesOfTheImplementationTypeWithTheImplementationFactory(Class<?> collectionClass) {
+        //given
+        ParameterizedTypeImpl typeToGenerate = new ParameterizedTypeImpl(new Type[]{String.class}, collectionClass);
+        CollectionGenerator<?> generator = (CollectionGenerator<?>) randomInstanceGenerator.getTypeGeneratorFactory()
+                .getGenerator(typeToGenerate, randomInstanceGenerator);
+        //when
+        Object created = generator.getImplementationFactory().apply(1000);
+        //then
+        assertThat(created).isExactlyInstanceOf(generator.getImplementationType());
+        assertThat(created).asInstanceOf(COLLECTION).isEmpty();
+    }
+
     @SuppressWarnings("rawtypes")
     @Test
     public void shouldThrowNewInstanceCreationExceptionIfAListGeneratorImplementationDoesNotHaveADefaultConstructor() {
@@ -131,4 +149,61 @@ public class CollectionGenerationTest {
                          """);
     }
 
+    @ParameterizedTest
+    @CsvSource({"java.lang.Boolean, 2", "io.javarig.testclasses.TestEnum, 3", "java.lang.Byte, 256",
+            "java.lang.Short, 5000", "java.lang.Character, 100", "java.lang.Integer, 1000"})
+    public void shouldReturnASetWithTheExactSizeWhenExactCardinalityIsEnabled(Class<?> elementType, int size) {
+        //given
+        Configuration config = Configuration.builder().exactCardinality(true).build();
+        RandomInstanceGenerator exactRandomInstanceGenerator = new RandomInstanceGenerator(config);
+        //when
+        Object generated = exactRandomInstanceGenerator.withSize(size).generate(HashSet.class, elementType);
+        //then
+        assertThat(generated).asInstanceOf(COLLECTION).hasSize(size)
+                .allSatisfy(element -> assertThat(element).isInstanceOf(elementType));
+    }
+
+    @Test
+    public void shouldReturnEveryEnumConstantWhenTheExactSizeIsTheDomainSize() {
+        //given
+        Configuration config = Configuration.builder().exactCardinality(true).build();
+        RandomInstanceGenerator exactRandomInstanceGenerator = new RandomInstanceGenerator(config);
+        //when
+        Set<TestEnum> generated = exactRandomInstanceGenerator.withSize(TestEnum.values().length).generate(Set.class, TestEnum.class);
+        //then
+        assertThat(generated).containsExactlyInAnyOrder(TestEnum.values());
+    }
+
+    @Test
+    public void shouldThrowInfeasibleCardinalityExceptionWhenTheSizeIsBiggerThanTheDomain() {
+        //given
+        Configuration config = Configuration.builder().exactCardinality(true).build();
+        RandomInstanceGenerator exactRandomInstanceGenerator = new RandomInstanceGenerator(config);
+        //then
+        assertThatThrownBy(() -> exactRandomInstanceGenerator.withSize(3).generate(Set.class, Boolean.class))
+                .isInstanceOf(InfeasibleCardinalityException.class)
+                .hasMessage("can't generate 3 distinct values of type java.lang.Boolean : it only has 2 values");
+    }
+
+    @Test
+    public void shouldThrowInfeasibleCardinalityExceptionWhenNotEnoughDistinctValuesAreGenerated() {
+        //given
+        Configuration config = Configuration.builder().exactCardinality(true).regexPattern("[ab]").build();
+        RandomInstanceGenerator exactRandomInstanceGenerator = new RandomInstanceGenerator(config);
+        //then
+        assertThatThrownBy(() -> exactRandomInstanceGenerator.withSize(3).generate(Set.class, String.class))
+                .isInstanceOf(InfeasibleCardinalityException.class)
+                .hasMessageStartingWith("can't generate 3 distinct values of type java.lang.String");
+    }
+
+    @Test
+    public void shouldKeepTheDuplicatesOfListsWhenExactCardinalityIsEnabled() {
+        //given
+        Configuration config = Configuration.builder().exactCardinality(true).build();
+        RandomInstanceGenerator exactRandomInstanceGenerator = new RandomInstanceGenerator(config);
+        //when
+        List<Boolean> generated = exactRandomInstanceGenerator.withSize(10).generate(List.class, Boolean.class);
+        //then
+        assertThat(generated).hasSize(10);
+    }
 }
@@ -2,10 +2,13 @@ package io.javarig.generator.map;
 
 import io.javarig.ParameterizedTypeImpl;
 import io.javarig.RandomInstanceGenerator;
+import io.javarig.config.Configuration;
+import io.javarig.exception.InfeasibleCardinalityException;
 import io.javarig.exception.InvalidGenericParametersNumberException;
 import io.javarig.exception.JavaRIGInternalException;
 import io.javarig.generator.map.MapGenerator;
 import io.javarig.testclasses.FakeMap;
+import io.javarig.testclasses.TestEnum;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -117,6 +120,20 @@ public class MapGenerationTest {
                 .hasMessage("invalid number of generic parameters, required %d and %d was found".formatted(required, genericParams.length));
     }
     @SuppressWarnings("rawtypes")
+    @ParameterizedTest
+    @ValueSource(classes = {Map.class, TreeMap.class, HashMap.class})
+    public void shouldCreateEmptyInstancesOfTheImplementationTypeWithTheImplementationFactory(Class<?> mapClass) {
+        //given
+        ParameterizedTypeImpl typeToGenerate = new ParameterizedTypeImpl(new Type[]{String.class, Integer.class}, mapClass);
+        MapGenerator generator = (MapGenerator) randomInstanceGenerator.getTypeGeneratorFactory()
+                .getGenerator(typeToGenerate, randomInstanceGenerator);
+        //when
+        Object created = generator.getImplementationFactory().apply(1000);
+        //then
+        assertThat(created).isExactlyInstanceOf(generator.getImplementationType());
+        assertThat(created).asInstanceOf(MAP).isEmpty();
+    }
+
     @Test
     public void shouldThrowNewInstanceCreationExceptionIfAMapGeneratorImplementationDoesNotHaveDefaultConstructor() {
         final Class<? extends Map> fakeMapClass = FakeMap.class;
@@ -136,4 +153,27 @@ public class MapGenerationTest {
                         """);
     }
 
+    @ParameterizedTest
+    @ValueSource(classes = {HashMap.class, TreeMap.class})
+    public void shouldReturnMapWithExactSizeWhenExactCardinalityIsEnabled(Class<?> mapClass) {
+        //given
+        Configuration config = Configuration.builder().exactCardinality(true).build();
+        RandomInstanceGenerator exactRandomInstanceGenerator = new RandomInstanceGenerator(config);
+        //when
+        Map<TestEnum, String> generated = exactRandomInstanceGenerator.withSize(3).generate(mapClass, TestEnum.class, String.class);
+        //then
+        assertThat(generated).containsOnlyKeys(TestEnum.values());
+        assertThat(generated.values()).allSatisfy(value -> assertThat(value).isNotNull());
+    }
+
+    @Test
+    public void shouldThrowInfeasibleCardinalityExceptionWhenTheSizeIsBiggerThanTheKeyDomain() {
+        //given
+        Configuration config = Configuration.builder().exactCardinality(true).build();
+        RandomInstanceGenerator exactRandomInstanceGenerator = new RandomInstanceGenerator(config);
+        //then
+        assertThatThrownBy(() -> exactRandomInstanceGenerator.withSize(257).generate(Map.class, Byte.class, Integer.class))
+                .isInstanceOf(InfeasibleCardinalityException.class)
+                .hasMessage("can't generate 257 distinct values of type java.lang.Byte : it only has 256 values");
+    }
 }
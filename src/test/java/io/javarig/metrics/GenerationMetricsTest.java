@@ -0,0 +1,126 @@
+package io.javarig.metrics;
+
+import io.javarig.RandomInstanceGenerator;
+import io.javarig.config.Configuration;
+import io.javarig.exception.NestedObjectRecursionException;
+import io.javarig.generator.ObjectGenerator;
+import io.javarig.generator.collection.list.ArrayListGenerator;
+import io.javarig.testclasses.NestedClass;
+import io.javarig.testclasses.SelfContainingNestedClassTest;
+import io.javarig.testclasses.TestClass;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Slf4j
+public class GenerationMetricsTest {
+    private RandomInstanceGenerator randomInstanceGenerator;
+
+    @BeforeEach
+    public void setUp() {
+        randomInstanceGenerator = new RandomInstanceGenerator(Configuration.builder().metricsEnabled(true).build());
+    }
+
+    @Test
+    public void shouldNotHaveMetricsWhenTheyAreDisabled() {
+        assertThat(new RandomInstanceGenerator().getMetrics()).isNull();
+    }
+
+    @Test
+    public void shouldCountTheGenerationsOfEveryType() {
+        //when
+        for (int i = 0; i < 10; i++) {
+            randomInstanceGenerator.generate(NestedClass.class);
+        }
+        //then
+        MetricsSnapshot snapshot = randomInstanceGenerator.getMetrics().snapshot();
+        assertThat(snapshot.types())
+                .filteredOn(type -> type.type().equals(NestedClass.class.getTypeName()))
+                .singleElement()
+                .satisfies(type -> {
+                    assertThat(type.completed()).isEqualTo(10);
+                    assertThat(type.generator()).isEqualTo(ObjectGenerator.class.getName());
+                    assertThat(type.totalNanos()).isPositive();
+                    assertThat(type.p50Nanos()).isLessThanOrEqualTo(type.p99Nanos()).isLessThanOrEqualTo(type.maxNanos());
+                });
+        assertThat(snapshot.types())
+                .filteredOn(type -> type.type().equals(TestClass.class.getTypeName()))
+                .singleElement()
+                .satisfies(type -> assertThat(type.completed()).isEqualTo(10));
+        // nested generations are included in the latency of the top level one
+        assertThat(snapshot.types().get(0).type()).isEqualTo(NestedClass.class.getTypeName());
+    }
+
+    @Test
+    public void shouldCountTheElementsOfTheGeneratedCollections() {
+        //when
+        randomInstanceGenerator.withSize(7).generate(List.class, String.class);
+        randomInstanceGenerator.withSize(3).generate(List.class, String.class);
+        //then
+        assertThat(randomInstanceGenerator.getMetrics().snapshot().types())
+                .filteredOn(type -> type.type().equals("java.util.List<java.lang.String>"))
+                .singleElement()
+                .satisfies(type -> {
+                    assertThat(type.elements()).isEqualTo(10);
+                    assertThat(type.generator()).isEqualTo(ArrayListGenerator.class.getName());
+                });
+    }
+
+    @Test
+    public void shouldCountTheGenerationsAbortedByARecursion() {
+        //when
+        assertThatThrownBy(() -> randomInstanceGenerator.generate(SelfContainingNestedClassTest.class))
+                .isInstanceOf(NestedObjectRecursionException.class);
+        //then
+        assertThat(randomInstanceGenerator.getMetrics().snapshot().types())
+                .filteredOn(type -> type.type().equals(SelfContainingNestedClassTest.class.getTypeName()))
+                .singleElement()
+                .satisfies(type -> {
+                    assertThat(type.aborted()).isEqualTo(1);
+                    assertThat(type.recursionAborts()).isEqualTo(1);
+                    assertThat(type.completed()).isZero();
+                });
+    }
+
+    @Test
+    public void shouldWriteTheMetricsInThePrometheusTextFormat() throws IOException {
+        //given
+        randomInstanceGenerator.generate(TestClass.class);
+        StringBuilder out = new StringBuilder();
+        //when
+        randomInstanceGenerator.getMetrics().writePrometheus(out);
+        //then
+        log.info("prometheus metrics : {}", out);
+        assertThat(out.toString())
+                .contains("# TYPE javarig_generations_total counter")
+                .contains("javarig_generations_total{type=\"" + TestClass.class.getTypeName() + "\",generator=\"" + ObjectGenerator.class.getName() + "\"} 1")
+                .contains("javarig_generation_duration_seconds{type=\"java.util.Map<java.lang.String, java.lang.String>\"")
+                .contains("javarig_regex_cache_hits_total ");
+    }
+
+    @Test
+    public void shouldExposeTheMetricsAsAnMXBean() throws JMException {
+        //given
+        randomInstanceGenerator.generate(TestClass.class);
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        //when
+        ObjectName objectName = randomInstanceGenerator.getMetrics().registerMBean("test");
+        try {
+            //then
+            assertThat(mBeanServer.getAttribute(objectName, "PrometheusText")).asString().contains("javarig_generations_total");
+            assertThat(mBeanServer.getAttribute(objectName, "CompletedGenerations")).isNotNull();
+        } finally {
+            mBeanServer.unregisterMBean(objectName);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package io.javarig.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void shouldPutEveryValueInABucketContainingIt() {
+        LongStream.of(0, 1, 7, 8, 15, 16, 17, 1000, 123_456_789, Long.MAX_VALUE).forEach(value -> {
+            int bucket = LatencyHistogram.bucketIndex(value);
+            assertThat(LatencyHistogram.highestValueOfBucket(bucket)).isGreaterThanOrEqualTo(value);
+            if (bucket > 0) {
+                assertThat(LatencyHistogram.highestValueOfBucket(bucket - 1)).isLessThan(value);
+            }
+        });
+    }
+
+    @Test
+    public void shouldReturnTheValuesAtTheQuantilesWithABoundedRelativeError() {
+        //given
+        LatencyHistogram histogram = new LatencyHistogram();
+        //when
+        for (long value = 1; value <= 10_000; value++) {
+            histogram.record(value);
+        }
+        //then
+        assertThat(histogram.getCount()).isEqualTo(10_000);
+        assertThat(histogram.getMax()).isEqualTo(10_000);
+        assertThat(histogram.getSum()).isEqualTo(50_005_000);
+        assertThat(histogram.getValueAtQuantile(0.5)).isBetween(5_000L, 5_625L);
+        assertThat(histogram.getValueAtQuantile(0.99)).isBetween(9_900L, 10_000L);
+        assertThat(new LatencyHistogram().getValueAtQuantile(0.5)).isZero();
+    }
+}
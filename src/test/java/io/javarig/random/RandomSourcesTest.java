@@ -0,0 +1,59 @@
+package io.javarig.random;
+
+import io.javarig.config.Configuration;
+import org.junit.jupiter.api.Test;
+
+import java.security.SecureRandom;
+import java.util.Random;
+import java.util.random.RandomGenerator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class RandomSourcesTest {
+
+    @Test
+    public void shouldForkTheSameStreamsGivenTheSameSeed() {
+        //given
+        Configuration configuration = Configuration.builder().seed(7L).build();
+        RandomGenerator source = RandomSources.create(configuration);
+        RandomGenerator sameSeedSource = RandomSources.create(configuration);
+        //when
+        Random stream = RandomSources.fork(source);
+        Random sameSeedStream = RandomSources.fork(sameSeedSource);
+        //then
+        assertThat(stream).isInstanceOf(RandomGeneratorAdapter.class);
+        assertThat(stream.ints(20, 0, 100).toArray()).containsExactly(sameSeedStream.ints(20, 0, 100).toArray());
+        assertThat(stream.nextLong(-5, 5)).isEqualTo(sameSeedStream.nextLong(-5, 5));
+    }
+
+    @Test
+    public void shouldForkDifferentStreamsFromAJumpableSource() {
+        //given
+        Configuration configuration = Configuration.builder().randomAlgorithm("Xoroshiro128PlusPlus").seed(7L).build();
+        RandomGenerator source = RandomSources.create(configuration);
+        //when
+        Random stream = RandomSources.fork(source);
+        Random otherStream = RandomSources.fork(source);
+        //then
+        assertThat(stream.longs(4).toArray()).doesNotContain(otherStream.longs(4).toArray());
+    }
+
+    @Test
+    public void shouldShareSecureRandomAsIs() {
+        //given
+        Configuration configuration = Configuration.builder().randomAlgorithm("SecureRandom").build();
+        RandomGenerator source = RandomSources.create(configuration);
+        //then
+        assertThat(RandomSources.fork(source)).isInstanceOf(SecureRandom.class).isSameAs(source);
+    }
+
+    @Test
+    public void shouldThrowIllegalArgumentExceptionGivenAnUnknownAlgorithm() {
+        //given
+        Configuration configuration = Configuration.builder().randomAlgorithm("NotAnAlgorithm").build();
+        //then
+        assertThatThrownBy(() -> RandomSources.create(configuration))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,65 @@
+package io.javarig.regex;
+
+import io.javarig.config.DefaultConfigValues;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Optional;
+import java.util.Random;
+
+import static io.javarig.util.Utils.removeUnsupportedRegexCharacters;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CharacterClassSequenceTest {
+    private final Random random = new Random();
+
+    @Test
+    public void shouldCompileTheDefaultPattern() {
+        //given
+        String regexPattern = removeUnsupportedRegexCharacters(DefaultConfigValues.DEFAULT_REGEX_PATTERN);
+        //when
+        Optional<CharacterClassSequence> sequence = CharacterClassSequence.compile(regexPattern);
+        //then
+        assertThat(sequence).isPresent();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"(ab)*", "a|b", "[a-z]**", "a{3,1}", "[a-z", ".", "<1-100>"})
+    public void shouldNotCompilePatternsThatAreNotCharacterClassSequences(String regexPattern) {
+        assertThat(CharacterClassSequence.compile(regexPattern)).isEmpty();
+    }
+
+    @RepeatedTest(20)
+    public void shouldGenerateStringsMatchingThePatternWithinTheLengthBounds() {
+        //given
+        String regexPattern = "[a-z][A-Z]*[0-9]+x[a(b;c]{2,3}[\u00e9-\u00ea]?";
+        CharacterClassSequence sequence = CharacterClassSequence.compile(regexPattern).orElseThrow();
+        //when
+        String generated = sequence.generate(random, 8, 20);
+        //then
+        assertThat(generated).matches(regexPattern).hasSizeBetween(8, 20);
+    }
+
+    @Test
+    public void shouldGenerateCharactersOutOfLatin1() {
+        //given
+        String regexPattern = "[\u03b1-\u03c9]{10}";
+        CharacterClassSequence sequence = CharacterClassSequence.compile(regexPattern).orElseThrow();
+        //when
+        String generated = sequence.generate(random, 0, 20);
+        //then
+        assertThat(generated).matches(regexPattern);
+    }
+
+    @Test
+    public void shouldUseTheClosestPossibleLengthWhenTheBoundsCannotBeRespected() {
+        //given
+        CharacterClassSequence shortSequence = CharacterClassSequence.compile("[a-z]{2}b?").orElseThrow();
+        CharacterClassSequence longSequence = CharacterClassSequence.compile("[a-z]{30}b*").orElseThrow();
+        //then
+        assertThat(shortSequence.generate(random, 5, 10)).hasSize(3);
+        assertThat(longSequence.generate(random, 5, 10)).hasSize(30);
+    }
+}
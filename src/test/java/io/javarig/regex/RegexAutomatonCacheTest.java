@@ -0,0 +1,57 @@
+package io.javarig.regex;
+
+import dk.brics.automaton.Automaton;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class RegexAutomatonCacheTest {
+
+    @Test
+    public void shouldCompileAPatternOnlyOnce() {
+        //given
+        RegexAutomatonCache cache = new RegexAutomatonCache(10);
+        //when
+        Automaton first = cache.getAutomaton("[a-z]+");
+        Automaton second = cache.getAutomaton("[a-z]+");
+        //then
+        assertThat(second).isSameAs(first);
+        assertThat(cache.getMissCount()).isEqualTo(1);
+        assertThat(cache.getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldShareTheAutomatonOfPatternsHavingTheSameNormalizedForm() {
+        //given
+        RegexAutomatonCache cache = new RegexAutomatonCache(10);
+        //when
+        Automaton anchored = cache.getAutomaton("^[a-z]+$");
+        Automaton notAnchored = cache.getAutomaton("[a-z]+");
+        //then
+        assertThat(notAnchored).isSameAs(anchored);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldEvictAutomataWhenTheCapacityIsReached() {
+        //given
+        RegexAutomatonCache cache = new RegexAutomatonCache(2);
+        //when
+        cache.getAutomaton("a");
+        cache.getAutomaton("b");
+        cache.getAutomaton("c");
+        //then
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.getEvictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldRethrowTheExceptionOfAnInvalidPattern() {
+        //given
+        RegexAutomatonCache cache = new RegexAutomatonCache(10);
+        //then
+        assertThatThrownBy(() -> cache.getAutomaton("[a-z"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
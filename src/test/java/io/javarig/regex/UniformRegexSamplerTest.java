@@ -0,0 +1,80 @@
+package io.javarig.regex;
+
+import dk.brics.automaton.RegExp;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class UniformRegexSamplerTest {
+    private final Random random = new Random();
+
+    private static UniformRegexSampler samplerOf(String regexPattern) {
+        return new UniformRegexSampler(new RegExp(regexPattern).toAutomaton());
+    }
+
+    @RepeatedTest(20)
+    public void shouldSampleStringsMatchingThePatternWithinTheLengthBounds() {
+        //given
+        String regexPattern = "([A-Z]{2}[0-9]{8,12})|(ab(c|d)*)";
+        UniformRegexSampler sampler = samplerOf(regexPattern);
+        //when
+        String sampled = sampler.sample(random, 5, 14);
+        //then
+        assertThat(sampled).matches(regexPattern).hasSizeBetween(5, 14);
+    }
+
+    @Test
+    public void shouldSampleUniformlyOverTheStringsOfThePattern() {
+        //given 4 strings, a random walk would pick "a" half of the time
+        UniformRegexSampler sampler = samplerOf("a|b(c|d|e)");
+        Map<String, Integer> occurrences = new HashMap<>();
+        //when
+        for (int i = 0; i < 4000; i++) {
+            occurrences.merge(sampler.sample(random, 0, 10), 1, Integer::sum);
+        }
+        //then
+        assertThat(occurrences).containsOnlyKeys("a", "bc", "bd", "be");
+        assertThat(occurrences.values()).allSatisfy(count -> assertThat(count).isBetween(850, 1150));
+    }
+
+    @Test
+    public void shouldUseTheClosestPossibleLengthWhenTheBoundsCannotBeRespected() {
+        assertThat(samplerOf("ab|abc").sample(random, 5, 10)).isEqualTo("abc");
+        assertThat(samplerOf("(abcdef)+").sample(random, 2, 4)).isEqualTo("abcdef");
+    }
+
+    @Test
+    public void shouldNotCountTheStringsLongerThanTheMaxCountedLength() {
+        //given
+        String regexPattern = "(ab|c)*";
+        UniformRegexSampler sampler = samplerOf(regexPattern);
+        int minLength = UniformRegexSampler.MAX_COUNTED_LENGTH * 4;
+        //when
+        String sampled = sampler.sample(random, minLength, minLength + 10);
+        //then
+        assertThat(sampled).matches(regexPattern).hasSizeBetween(minLength, minLength + 10);
+        assertThat(sampler.getCountedLengths()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldNotCountBeyondTheMaxCountedLengthToFindTheClosestLength() {
+        //given strings of 300 characters only
+        String regexPattern = "a{300}";
+        UniformRegexSampler sampler = samplerOf(regexPattern);
+        //when
+        String sampled = sampler.sample(random, 2, 10);
+        //then
+        assertThat(sampled).matches(regexPattern);
+        assertThat(sampler.getCountedLengths()).isEqualTo(UniformRegexSampler.MAX_COUNTED_LENGTH + 1);
+    }
+
+    @Test
+    public void shouldReturnAnEmptyStringWhenThePatternHasNoString() {
+        assertThat(samplerOf("#").sample(random, 2, 4)).isEmpty();
+    }
+}
@@ -0,0 +1,267 @@
+package io.javarig.sink;
+
+import io.javarig.RandomInstanceGenerator;
+import io.javarig.config.Configuration;
+import io.javarig.config.DefaultConfigValues;
+import io.javarig.config.DelimitedFormat;
+import io.javarig.config.DelimitedWriterConfig;
+import io.javarig.testclasses.FlatTestClass;
+import io.javarig.testclasses.TestClass;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Slf4j
+public class DelimitedWriterTest {
+    private static final String ROW = "-?\\d+(\\.\\d+)?(E-?\\d+)?%1$s-?\\d+%1$s[a-z]{5}%1$s(true|false)%1$s[ABC]%1$s\\d{4}-\\d{2}-\\d{2}";
+
+    @TempDir
+    private Path directory;
+
+    private final RandomInstanceGenerator randomInstanceGenerator = new RandomInstanceGenerator(Configuration.builder()
+            .regexPattern("[a-z]{5}")
+            .build());
+
+    @Test
+    public void shouldWriteAHeaderAndOneRowPerInstanceWithASingleWorker() throws IOException {
+        //given
+        Path target = directory.resolve("flat.csv");
+        DelimitedWriter writer = new DelimitedWriter(randomInstanceGenerator, DelimitedWriterConfig.builder()
+                .workers(1)
+                .header(true)
+                .build());
+        //when
+        List<Path> written = writer.write(FlatTestClass.class, 100, target);
+        //then
+        assertThat(written).containsExactly(target);
+        List<String> lines = Files.readAllLines(target);
+        log.info("shouldWriteAHeaderAndOneRowPerInstanceWithASingleWorker : {}", lines.get(1));
+        assertThat(lines).hasSize(101);
+        assertThat(lines.get(0)).isEqualTo("inheritedField,id,name,active,testEnum,date");
+        assertThat(lines.subList(1, lines.size())).allSatisfy(line -> assertThat(line).matches(ROW.formatted(",")));
+    }
+
+    @Test
+    public void shouldWriteOneShardPerWorker() throws IOException {
+        //given
+        Path target = directory.resolve("flat.tsv");
+        DelimitedWriter writer = new DelimitedWriter(randomInstanceGenerator, DelimitedWriterConfig.builder()
+                .format(DelimitedFormat.TSV)
+                .workers(4)
+                .header(true)
+                .build());
+        //when
+        List<Path> written = writer.write(FlatTestClass.class, 10, target);
+        //then
+        assertThat(written).extracting(path -> path.getFileName().toString())
+                .containsExactly("flat.tsv.part-00000", "flat.tsv.part-00001", "flat.tsv.part-00002", "flat.tsv.part-00003");
+        assertThat(target).doesNotExist();
+        assertThat(written).extracting(path -> Files.readAllLines(path).size()).containsExactly(4, 4, 3, 3);
+        for (Path shard : written) {
+            List<String> lines = Files.readAllLines(shard);
+            assertThat(lines.get(0)).isEqualTo("inheritedField\tid\tname\tactive\ttestEnum\tdate");
+            assertThat(lines.subList(1, lines.size())).allSatisfy(line -> assertThat(line).matches(ROW.formatted("\t")));
+        }
+    }
+
+    @Test
+    public void shouldMergeTheShardsIntoTheTargetWithASingleHeader() throws IOException {
+        //given
+        Path target = directory.resolve("flat.csv");
+        DelimitedWriter writer = new DelimitedWriter(randomInstanceGenerator, DelimitedWriterConfig.builder()
+                .workers(3)
+                .bufferSize(64)
+                .header(true)
+                .merge(true)
+                .build());
+        //when
+        List<Path> written = writer.write(FlatTestClass.class, 1000, target);
+        //then
+        assertThat(written).containsExactly(target);
+        try (var files = Files.list(directory)) {
+            assertThat(files).containsExactly(target);
+        }
+        List<String> lines = Files.readAllLines(target);
+        assertThat(lines).hasSize(1001);
+        assertThat(lines.get(0)).startsWith("inheritedField,");
+        assertThat(lines.subList(1, lines.size())).allSatisfy(line -> assertThat(line).matches(ROW.formatted(",")));
+    }
+
+    @Test
+    public void shouldWriteTheSameRowsGivenASeedWhateverTheExecutor() throws IOException {
+        //given
+        Path first = directory.resolve("first.csv");
+        Path second = directory.resolve("second.csv");
+        DelimitedWriterConfig config = DelimitedWriterConfig.builder()
+                .workers(4)
+                .merge(true)
+                .build();
+        //when
+        new DelimitedWriter(seededRandomInstanceGenerator(), config).write(FlatTestClass.class, 500, first);
+        new DelimitedWriter(seededRandomInstanceGenerator(), config.withExecutor(Runnable::run)).write(FlatTestClass.class, 500, second);
+        //then
+        assertThat(Files.readAllLines(first)).hasSize(500).isEqualTo(Files.readAllLines(second));
+    }
+
+    @Test
+    public void shouldKeepWritingTheSameRowsGivenASeedWhateverTheExecutorOfThePreviousWrites() throws IOException {
+        //given
+        DelimitedWriterConfig config = DelimitedWriterConfig.builder()
+                .workers(4)
+                .merge(true)
+                .build();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        DelimitedWriter writerOnTheCallingThread = new DelimitedWriter(seededRandomInstanceGenerator(), config.withExecutor(Runnable::run));
+        DelimitedWriter writerOnAPool = new DelimitedWriter(seededRandomInstanceGenerator(), config.withExecutor(executor));
+        //when
+        List<String> firstRowsOnTheCallingThread = writeAndRead(writerOnTheCallingThread, "first-calling-thread.csv");
+        List<String> firstRowsOnAPool = writeAndRead(writerOnAPool, "first-pool.csv");
+        List<String> secondRowsOnTheCallingThread = writeAndRead(writerOnTheCallingThread, "second-calling-thread.csv");
+        List<String> secondRowsOnAPool = writeAndRead(writerOnAPool, "second-pool.csv");
+        executor.shutdownNow();
+        //then
+        assertThat(firstRowsOnAPool).hasSize(500).isEqualTo(firstRowsOnTheCallingThread);
+        assertThat(secondRowsOnAPool).hasSize(500).isEqualTo(secondRowsOnTheCallingThread).isNotEqualTo(firstRowsOnAPool);
+    }
+
+    @Test
+    public void shouldShardTheRowsAcrossAFixedNumberOfWorkersByDefault() {
+        //then
+        assertThat(new DelimitedWriter(seededRandomInstanceGenerator()).getConfig().getWorkers())
+                .isEqualTo(DefaultConfigValues.DEFAULT_DELIMITED_WORKERS);
+    }
+
+    @Test
+    public void shouldApplyTheOneTimeConfigToEveryRowOfTheWrite() throws IOException {
+        //given
+        Path target = directory.resolve("one-time.tsv");
+        DelimitedWriterConfig config = DelimitedWriterConfig.builder()
+                .format(DelimitedFormat.TSV)
+                .workers(4)
+                .merge(true)
+                .build();
+        //when
+        new DelimitedWriter(randomInstanceGenerator.withRegexPattern("[0-9]{3}"), config).write(FlatTestClass.class, 100, target);
+        List<String> oneTimeLines = Files.readAllLines(target);
+        new DelimitedWriter(randomInstanceGenerator, config).write(FlatTestClass.class, 100, target);
+        //then
+        assertThat(oneTimeLines).hasSize(100)
+                .allSatisfy(line -> assertThat(line.split("\t")[2]).matches("[0-9]{3}"));
+        assertThat(Files.readAllLines(target)).hasSize(100)
+                .allSatisfy(line -> assertThat(line.split("\t")[2]).matches("[a-z]{5}"));
+    }
+
+    @Test
+    public void shouldQuoteCsvFields() throws IOException {
+        //given
+        Path target = directory.resolve("quoted.csv");
+        RandomInstanceGenerator quotingRandomInstanceGenerator = new RandomInstanceGenerator(Configuration.builder()
+                .regexPattern("a,[\"]b")
+                .build());
+        DelimitedWriter writer = new DelimitedWriter(quotingRandomInstanceGenerator, DelimitedWriterConfig.builder()
+                .workers(1)
+                .build());
+        //when
+        writer.write(FlatTestClass.class, 10, target);
+        //then
+        assertThat(Files.readAllLines(target)).hasSize(10)
+                .allSatisfy(line -> assertThat(line).contains(",\"a,\"\"b\","));
+    }
+
+    @Test
+    public void shouldEscapeCopyFields() throws IOException {
+        //given
+        Path target = directory.resolve("escaped.copy");
+        RandomInstanceGenerator escapingRandomInstanceGenerator = new RandomInstanceGenerator(Configuration.builder()
+                .regexPattern("a\tb\nc")
+                .build());
+        DelimitedWriter writer = new DelimitedWriter(escapingRandomInstanceGenerator, DelimitedWriterConfig.builder()
+                .format(DelimitedFormat.POSTGRES_COPY)
+                .workers(1)
+                .build());
+        //when
+        writer.write(FlatTestClass.class, 10, target);
+        //then
+        assertThat(Files.readAllLines(target)).hasSize(10)
+                .allSatisfy(line -> assertThat(line).contains("\ta\\tb\\nc\t").matches("([^\t]*\t){5}[^\t]*"));
+    }
+
+    @Test
+    public void shouldThrowIllegalArgumentExceptionWhenTheTypeIsNotFlat() {
+        //given
+        DelimitedWriter writer = new DelimitedWriter(randomInstanceGenerator);
+        //then
+        assertThatThrownBy(() -> writer.write(TestClass.class, 10, directory.resolve("test.csv")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("field m");
+        assertThatThrownBy(() -> writer.write(String.class, 10, directory.resolve("string.csv")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void shouldDeleteThePartialFilesWhenAShardFails() throws IOException {
+        //given
+        Path target = directory.resolve("failed.csv");
+        // the third shard cannot open its file
+        Path blocked = Files.createDirectory(directory.resolve("failed.csv.part-00002"));
+        DelimitedWriter writer = new DelimitedWriter(randomInstanceGenerator, DelimitedWriterConfig.builder()
+                .workers(4)
+                .merge(true)
+                .build());
+        //then
+        assertThatThrownBy(() -> writer.write(FlatTestClass.class, 1000, target))
+                .isInstanceOf(IOException.class);
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files).containsExactly(blocked);
+        }
+    }
+
+    @Test
+    public void shouldDeleteTheWrittenShardsWhenTheExecutorRejectsAShard() throws IOException {
+        //given
+        Path target = directory.resolve("rejected.csv");
+        AtomicInteger submitted = new AtomicInteger();
+        Executor rejectingThirdShard = command -> {
+            if (submitted.incrementAndGet() == 3) {
+                throw new RejectedExecutionException();
+            }
+            command.run();
+        };
+        DelimitedWriter writer = new DelimitedWriter(randomInstanceGenerator, DelimitedWriterConfig.builder()
+                .workers(4)
+                .executor(rejectingThirdShard)
+                .build());
+        //then
+        assertThatThrownBy(() -> writer.write(FlatTestClass.class, 1000, target))
+                .isInstanceOf(RejectedExecutionException.class);
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    private List<String> writeAndRead(DelimitedWriter writer, String fileName) throws IOException {
+        Path target = directory.resolve(fileName);
+        writer.write(FlatTestClass.class, 500, target);
+        return Files.readAllLines(target);
+    }
+
+    private static RandomInstanceGenerator seededRandomInstanceGenerator() {
+        return new RandomInstanceGenerator(Configuration.builder()
+                .seed(42L)
+                .build());
+    }
+}
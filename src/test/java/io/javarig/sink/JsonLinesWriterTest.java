@@ -0,0 +1,137 @@
+package io.javarig.sink;
+
+import io.javarig.RandomInstanceGenerator;
+import io.javarig.TypeToken;
+import io.javarig.config.Configuration;
+import io.javarig.config.RecursionPolicy;
+import io.javarig.exception.GenerationDepthExceededException;
+import io.javarig.exception.NestedObjectRecursionException;
+import io.javarig.testclasses.NestedClass;
+import io.javarig.testclasses.TestClass;
+import io.javarig.testclasses.TreeNode;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Slf4j
+public class JsonLinesWriterTest {
+    private static final String STRING = "\"[a-z]{5}\"";
+
+    private final RandomInstanceGenerator randomInstanceGenerator = new RandomInstanceGenerator(Configuration.builder()
+            .regexPattern("[a-z]{5}")
+            .minSizeInclusive(3)
+            .maxSizeExclusive(4)
+            .build());
+
+    @Test
+    public void shouldWriteOneObjectPerLine() throws IOException {
+        //given
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        //when
+        try (JsonLinesWriter writer = new JsonLinesWriter(randomInstanceGenerator, outputStream, 64)) {
+            writer.write(TestClass.class, 100);
+        }
+        //then
+        List<String> lines = outputStream.toString(StandardCharsets.UTF_8).lines().toList();
+        log.info("shouldWriteOneObjectPerLine : {}", lines.get(0));
+        assertThat(lines).hasSize(100).allSatisfy(line -> assertThat(line)
+                .startsWith("{").endsWith("}")
+                .containsPattern("\"b\":(true|false)")
+                .containsPattern("\"s\":-?\\d+")
+                .containsPattern("\"i\":-?\\d+")
+                .containsPattern("\"l\":\\[%s,%s,%s]".formatted(STRING, STRING, STRING))
+                .containsPattern("\"m\":\\{%s:%s,%s:%s,%s:%s}".formatted(STRING, STRING, STRING, STRING, STRING, STRING)));
+    }
+
+    @Test
+    public void shouldWriteNestedObjectsAndGenericTypesToAChannel() throws IOException {
+        //given
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        //when
+        try (JsonLinesWriter writer = new JsonLinesWriter(randomInstanceGenerator, Channels.newChannel(outputStream), 1024)) {
+            writer.write(NestedClass.class);
+            writer.write(new TypeToken<Map<Integer, List<Boolean>>>() {}, 1);
+        }
+        //then
+        List<String> lines = outputStream.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(0)).containsPattern("\"string\":" + STRING).containsPattern("\"testClass\":\\{.*\"i\":");
+        assertThat(lines.get(1)).matches("\\{(\"-?\\d+\":\\[(true|false),(true|false),(true|false)],?){3}}");
+    }
+
+    @Test
+    public void shouldLeaveOutTheTruncatedValues() throws IOException {
+        //given
+        RandomInstanceGenerator truncating = new RandomInstanceGenerator(Configuration.builder()
+                .regexPattern("[a-z]{5}")
+                .maxSameTypeDepth(2)
+                .recursionPolicy(RecursionPolicy.TRUNCATE)
+                .minSizeInclusive(1)
+                .maxSizeExclusive(2)
+                .build());
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        //when
+        try (JsonLinesWriter writer = new JsonLinesWriter(truncating, outputStream)) {
+            writer.write(TreeNode.class);
+        }
+        //then
+        String line = outputStream.toString(StandardCharsets.UTF_8);
+        assertThat(line).matches("\\{(?=.*\"children\":\\[\\{(?=.*\"children\":\\[]).*}]).*}\n");
+    }
+
+    @Test
+    public void shouldFailOnRecursiveTypesLikeTheGenerators() {
+        //given
+        JsonLinesWriter writer = new JsonLinesWriter(randomInstanceGenerator, new ByteArrayOutputStream());
+        //then
+        assertThatThrownBy(() -> writer.write(TreeNode.class))
+                .isInstanceOf(NestedObjectRecursionException.class);
+    }
+
+    @Test
+    public void shouldApplyTheOneTimeConfigToEveryLineOfTheWrite() throws IOException {
+        //given
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        String string = "\"[0-9]{2}\"";
+        RandomInstanceGenerator oneTime = randomInstanceGenerator.withOneTimeConfig(randomInstanceGenerator.getGeneralConfig()
+                .withMinSizeInclusive(2)
+                .withMaxSizeExclusive(3)
+                .withRegexPattern("[0-9]{2}"));
+        //when
+        try (JsonLinesWriter writer = new JsonLinesWriter(oneTime, outputStream)) {
+            writer.write(new TypeToken<List<String>>() {}, 11);
+            writer.write(new TypeToken<List<String>>() {}, 1);
+        }
+        //then
+        List<String> lines = outputStream.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(lines).hasSize(12);
+        assertThat(lines.subList(0, 11)).allSatisfy(line -> assertThat(line).matches("\\[%s,%s]".formatted(string, string)));
+        assertThat(lines.get(11)).matches("\\[%s,%s,%s]".formatted(STRING, STRING, STRING));
+    }
+
+    @Test
+    public void shouldNestTheKeysOfMapsInTheDepthLimitsLikeTheGenerators() {
+        //given
+        RandomInstanceGenerator limited = new RandomInstanceGenerator(Configuration.builder()
+                .maxDepth(4)
+                .build());
+        JsonLinesWriter writer = new JsonLinesWriter(limited, new ByteArrayOutputStream());
+        TypeToken<Map<NestedClass, Integer>> mapType = new TypeToken<>() {};
+        //then
+        assertThatCode(() -> writer.write(NestedClass.class)).doesNotThrowAnyException();
+        assertThatThrownBy(() -> limited.generate(mapType))
+                .isInstanceOf(GenerationDepthExceededException.class);
+        assertThatThrownBy(() -> writer.write(mapType, 1))
+                .isInstanceOf(GenerationDepthExceededException.class);
+    }
+}
@@ -0,0 +1,81 @@
+package io.javarig.sink;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JsonOutputTest {
+
+    @ParameterizedTest
+    @ValueSource(longs = {0, 7, -7, 1234567890123L, Long.MAX_VALUE, Long.MIN_VALUE})
+    public void shouldWriteLongsLikeLongToString(long value) throws IOException {
+        //when
+        String written = write(output -> output.writeLong(value), 32);
+        //then
+        assertThat(written).isEqualTo(Long.toString(value));
+    }
+
+    @Test
+    public void shouldEscapeAndEncodeStrings() throws IOException {
+        //given
+        String value = "a\"b\\c\nd\te\u0001f\u00e9\u20ac\ud83d\ude00";
+        //when
+        String written = write(output -> output.writeString(value), 32);
+        //then
+        assertThat(written).isEqualTo("\"a\\\"b\\\\c\\nd\\te\\u0001f\u00e9\u20ac\ud83d\ude00\"");
+    }
+
+    @Test
+    public void shouldReplaceLoneSurrogates() throws IOException {
+        //when
+        String written = write(output -> output.writeString("a\ud83db"), 32);
+        //then
+        assertThat(written).isEqualTo("\"a?b\"");
+    }
+
+    @Test
+    public void shouldWriteNonFiniteNumbersAsNull() throws IOException {
+        //when
+        String written = write(output -> {
+            output.writeDouble(Double.NaN);
+            output.writeByte(',');
+            output.writeFloat(Float.POSITIVE_INFINITY);
+            output.writeByte(',');
+            output.writeDouble(1.5);
+        }, 32);
+        //then
+        assertThat(written).isEqualTo("null,null,1.5");
+    }
+
+    @Test
+    public void shouldWriteValuesLargerThanTheBuffer() throws IOException {
+        //given
+        String value = "\u00e9".repeat(100);
+        byte[] raw = "x".repeat(100).getBytes(StandardCharsets.US_ASCII);
+        //when
+        String written = write(output -> {
+            output.writeString(value);
+            output.writeRaw(raw);
+        }, 32);
+        //then
+        assertThat(written).isEqualTo("\"" + value + "\"" + "x".repeat(100));
+    }
+
+    private static String write(JsonWrite write, int bufferSize) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (JsonOutput output = JsonOutput.of(outputStream, bufferSize)) {
+            write.write(output);
+        }
+        return outputStream.toString(StandardCharsets.UTF_8);
+    }
+
+    private interface JsonWrite {
+        void write(JsonOutput output) throws IOException;
+    }
+}
@@ -0,0 +1,16 @@
+package io.javarig.testclasses;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@NoArgsConstructor
+@Setter
+@Getter
+@ToString
+public class CompiledTestClass {
+    private String s;
+    private Integer i;
+    private boolean generatedByCompiledGenerator;
+}
@@ -0,0 +1,27 @@
+package io.javarig.testclasses;
+
+import io.javarig.RandomInstanceGenerator;
+import io.javarig.spi.CompiledGenerator;
+
+/**
+ * a hand written equivalent of the generators emitted by the javarig-processor annotation processor
+ */
+public class CompiledTestClassGenerator implements CompiledGenerator<CompiledTestClass> {
+    @Override
+    public Class<CompiledTestClass> getGeneratedType() {
+        return CompiledTestClass.class;
+    }
+
+    @Override
+    public CompiledTestClass generate(RandomInstanceGenerator randomInstanceGenerator) {
+        CompiledTestClass generated = new CompiledTestClass();
+        if (!randomInstanceGenerator.isTruncated(String.class)) {
+            generated.setS(randomInstanceGenerator.generate(String.class));
+        }
+        if (!randomInstanceGenerator.isTruncated(Integer.class)) {
+            generated.setI(randomInstanceGenerator.generate(Integer.class));
+        }
+        generated.setGeneratedByCompiledGenerator(true);
+        return generated;
+    }
+}
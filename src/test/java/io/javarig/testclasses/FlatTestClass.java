@@ -0,0 +1,18 @@
+package io.javarig.testclasses;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+@NoArgsConstructor
+@Setter
+@Getter
+public class FlatTestClass extends SuperClass {
+    private int id;
+    private String name;
+    private boolean active;
+    private TestEnum testEnum;
+    private LocalDate date;
+}
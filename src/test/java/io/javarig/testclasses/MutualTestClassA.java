@@ -0,0 +1,16 @@
+package io.javarig.testclasses;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * a type nesting MutualTestClassB, that nests it back
+ */
+@Setter
+@Getter
+@NoArgsConstructor
+public class MutualTestClassA {
+    private String value;
+    private MutualTestClassB other;
+}
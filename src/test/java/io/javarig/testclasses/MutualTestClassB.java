@@ -0,0 +1,16 @@
+package io.javarig.testclasses;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * a type nesting MutualTestClassA, that nests it back
+ */
+@Setter
+@Getter
+@NoArgsConstructor
+public class MutualTestClassB {
+    private String value;
+    private MutualTestClassA other;
+}
@@ -0,0 +1,16 @@
+package io.javarig.testclasses;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.Map;
+
+@NoArgsConstructor
+@Getter
+@Setter
+public class NestedGenericTestClass<K, V> {
+    private Map<K, List<V>> map;
+    private V[] array;
+}
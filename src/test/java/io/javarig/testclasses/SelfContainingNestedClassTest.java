@@ -1,10 +1,12 @@
 package io.javarig.testclasses;
 
+import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
 
 @NoArgsConstructor
+@Getter
 @Setter
 @ToString
 public class SelfContainingNestedClassTest {
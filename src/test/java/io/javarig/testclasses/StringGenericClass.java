@@ -0,0 +1,7 @@
+package io.javarig.testclasses;
+
+/**
+ * a raw class binding the type variable of its generic superclass
+ */
+public class StringGenericClass extends GenericClass<String> {
+}
@@ -0,0 +1,18 @@
+package io.javarig.testclasses;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * a self-referential type, through a collection
+ */
+@Setter
+@Getter
+@NoArgsConstructor
+public class TreeNode {
+    private String value;
+    private List<TreeNode> children;
+}
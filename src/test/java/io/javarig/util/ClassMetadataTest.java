@@ -0,0 +1,52 @@
+package io.javarig.util;
+
+import io.javarig.testclasses.BaseClass;
+import io.javarig.testclasses.ClassWithNoFieldAssociatedToSetter;
+import io.javarig.testclasses.GenericTestClass;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.ParameterizedType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+public class ClassMetadataTest {
+
+    @Test
+    public void shouldIntrospectAClassOnlyOnce() {
+        assertThat(ClassMetadata.of(BaseClass.class)).isSameAs(ClassMetadata.of(BaseClass.class));
+    }
+
+    @Test
+    public void shouldBindTheSettersToTheOwnAndInheritedFields() {
+        //when
+        ClassMetadata metadata = ClassMetadata.of(BaseClass.class);
+        //then
+        assertThat(metadata.getSetterBindings())
+                .extracting(ClassMetadata.SetterBinding::setterName, ClassMetadata.SetterBinding::fieldType)
+                .containsExactlyInAnyOrder(
+                        tuple("setBaseField", int.class),
+                        tuple("setInheritedField", Float.class));
+    }
+
+    @Test
+    public void shouldLeaveOutTheSettersHavingNoField() {
+        //when
+        ClassMetadata metadata = ClassMetadata.of(ClassWithNoFieldAssociatedToSetter.class);
+        //then
+        assertThat(metadata.getSetterBindings())
+                .extracting(ClassMetadata.SetterBinding::setterName)
+                .containsExactly("setA");
+    }
+
+    @Test
+    public void shouldKeepTheGenericTypesOfTheFieldsUnresolved() {
+        //when
+        ClassMetadata metadata = ClassMetadata.of(GenericTestClass.class);
+        //then
+        assertThat(metadata.getSetterBindings()).singleElement()
+                .extracting(ClassMetadata.SetterBinding::fieldType)
+                .isInstanceOfSatisfying(ParameterizedType.class, type ->
+                        assertThat(type.getActualTypeArguments()[0].getTypeName()).isEqualTo("T"));
+    }
+}
@@ -0,0 +1,72 @@
+package io.javarig.util;
+
+import io.javarig.testclasses.ClassWithSomeNonPublicSetters;
+import io.javarig.testclasses.TestClass;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class LambdaAccessorsTest {
+
+    @Test
+    public void shouldCompileASetterTakingAPrimitiveIntoALambda() throws ReflectiveOperationException {
+        //given
+        Method setter = TestClass.class.getMethod("setI", int.class);
+        TestClass testClass = new TestClass();
+        //when
+        BiConsumer<Object, Object> compiledSetter = LambdaAccessors.compileSetter(TestClass.class, setter);
+        compiledSetter.accept(testClass, 42);
+        //then
+        assertThat(compiledSetter.getClass().isHidden()).isTrue();
+        assertThat(testClass.getI()).isEqualTo(42);
+    }
+
+    @Test
+    public void shouldFallBackToAMethodHandleWhenTheClassCannotBeLookedUpPrivately() throws ReflectiveOperationException {
+        //given
+        Method method = ArrayList.class.getMethod("add", Object.class);
+        ArrayList<Object> list = new ArrayList<>();
+        //when
+        BiConsumer<Object, Object> compiledSetter = LambdaAccessors.compileSetter(ArrayList.class, method);
+        compiledSetter.accept(list, "value");
+        //then
+        assertThat(list).containsExactly("value");
+    }
+
+    @Test
+    public void shouldThrowIllegalAccessExceptionWhenTheSetterIsNotPublic() throws ReflectiveOperationException {
+        //given
+        Method setter = ClassWithSomeNonPublicSetters.class.getDeclaredMethod("setIntegerWithProtectedSetter", Integer.class);
+        //then
+        assertThatThrownBy(() -> LambdaAccessors.compileSetter(ClassWithSomeNonPublicSetters.class, setter))
+                .isInstanceOf(IllegalAccessException.class);
+    }
+
+    @Test
+    public void shouldCompileAGetterReturningAPrimitiveIntoALambda() throws ReflectiveOperationException {
+        //given
+        Method getter = TestClass.class.getMethod("getI");
+        TestClass testClass = new TestClass();
+        testClass.setI(42);
+        //when
+        Function<Object, Object> compiledGetter = LambdaAccessors.compileGetter(TestClass.class, getter);
+        //then
+        assertThat(compiledGetter.apply(testClass)).isEqualTo(42);
+    }
+
+    @Test
+    public void shouldCompileADefaultConstructorIntoASupplier() throws ReflectiveOperationException {
+        //when
+        Supplier<Object> constructor = LambdaAccessors.compileConstructor(TestClass.class.getConstructor());
+        //then
+        assertThat(constructor.get()).isInstanceOf(TestClass.class);
+        assertThat(constructor.get()).isNotSameAs(constructor.get());
+    }
+}